@@ -0,0 +1,122 @@
+package com.example;
+
+import com.example.controller.BaselineComparison;
+import com.example.controller.BenchmarkEnvironment;
+import com.example.logger.ResultsFile;
+import com.example.model.BenchmarkResult;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Сохранение базового запуска замеров и сравнение с ним.
+ * <pre>
+ * save    [results.csv] [baseline.csv] [commit]     — сохраняет последний запуск (на коммите) как базовый
+ * compare [results.csv] [baseline.csv] [threshold%] — сравнивает последний запуск с базовым
+ * </pre>
+ * Команда {@code compare} завершается с кодом 1, если пропускная способность хотя бы одного замера
+ * упала больше порога (по умолчанию {@value #DEFAULT_THRESHOLD_PERCENT}%), и с кодом 2 при ошибке.
+ */
+public class BenchmarkBaseline {
+    public static final String DEFAULT_RESULTS = "benchmark_results.csv";
+    public static final String DEFAULT_BASELINE = "benchmark_baseline.csv";
+    public static final int DEFAULT_THRESHOLD_PERCENT = 10;
+
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            usage();
+        }
+        ResultsFile results = new ResultsFile(args.length > 1 ? args[1] : DEFAULT_RESULTS);
+        ResultsFile baseline = new ResultsFile(args.length > 2 ? args[2] : DEFAULT_BASELINE);
+        switch (args[0]) {
+            case "save" -> save(results, baseline, args.length > 3 ? args[3] : "");
+            case "compare" -> {
+                double threshold = args.length > 3 ? parseThreshold(args[3]) : DEFAULT_THRESHOLD_PERCENT;
+                System.exit(compare(results, baseline, threshold / 100) ? 1 : 0);
+            }
+            default -> usage();
+        }
+    }
+
+    /**
+     * Разбирает порог в процентах. Ошибка завершает программу с кодом 2, а не 1,
+     * чтобы опечатка в аргументах не выглядела как найденная регрессия.
+     */
+    private static double parseThreshold(String value) {
+        double threshold;
+        try {
+            threshold = Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            threshold = Double.NaN;
+        }
+        if (!(threshold >= 0)) {
+            fail("Invalid threshold: " + value);
+        }
+        return threshold;
+    }
+
+    private static void save(ResultsFile results, ResultsFile baseline, String commit) {
+        List<BenchmarkResult> run = BaselineComparison.latestRun(results.readAll(), commit);
+        if (run.isEmpty()) {
+            fail("No runs in " + results.getFilePath() + (commit.isEmpty() ? "" : " for commit " + commit));
+        }
+        try {
+            baseline.write(run);
+        } catch (IOException e) {
+            fail("Failed to write baseline: " + e.getMessage());
+        }
+        BenchmarkResult first = run.getFirst();
+        System.out.printf("Saved run %s (commit %s, %d results) to %s\n",
+                first.runId(), first.commit(), run.size(), baseline.getFilePath());
+    }
+
+    /**
+     * Сравнивает последний запуск с базовым и выводит таблицу различий.
+     *
+     * @return {@code true}, если найдена регрессия.
+     */
+    private static boolean compare(ResultsFile results, ResultsFile baseline, double threshold) {
+        List<BenchmarkResult> base = baseline.readAll();
+        List<BenchmarkResult> current = BaselineComparison.latestRun(results.readAll());
+        if (base.isEmpty() || current.isEmpty()) {
+            fail("Nothing to compare: run the benchmark and save a baseline first");
+        }
+
+        BenchmarkEnvironment baseEnvironment = BaselineComparison.environmentOf(base.getFirst());
+        BenchmarkEnvironment currentEnvironment = BaselineComparison.environmentOf(current.getFirst());
+        System.out.printf("Baseline: %s (commit %s)\nCurrent:  %s (commit %s)\n",
+                base.getFirst().runId(), baseEnvironment.commit(),
+                current.getFirst().runId(), currentEnvironment.commit());
+        if (!baseEnvironment.comparableWith(currentEnvironment)) {
+            System.out.printf("WARNING: different environment\n  baseline: %s; %s\n  current:  %s; %s\n",
+                    baseEnvironment.jvm(), baseEnvironment.hardware(),
+                    currentEnvironment.jvm(), currentEnvironment.hardware());
+        }
+
+        List<BaselineComparison.Difference> differences = BaselineComparison.compare(base, current, threshold);
+        System.out.printf("%-16s %-7s %9s %14s %14s %8s\n", "list", "op", "elements", "base ops/s", "ops/s", "change");
+        int regressions = 0;
+        for (BaselineComparison.Difference difference : differences) {
+            BenchmarkResult result = difference.current();
+            System.out.printf("%-16s %-7s %9d %14.0f %14.0f %+7.1f%%%s\n", result.list(), result.operation(),
+                    result.elements(), difference.baseline().opsPerSecond(), result.opsPerSecond(),
+                    difference.change() * 100, difference.regression() ? "  REGRESSION" : "");
+            if (difference.regression()) {
+                regressions++;
+            }
+        }
+        System.out.printf("%d of %d cases regressed by more than %.0f%%\n",
+                regressions, differences.size(), threshold * 100);
+        return regressions > 0;
+    }
+
+    private static void usage() {
+        fail("Usage: BenchmarkBaseline save [results.csv] [baseline.csv] [commit]\n"
+                + "       BenchmarkBaseline compare [results.csv] [baseline.csv] [threshold%]");
+    }
+
+    private static void fail(String message) {
+        System.err.println(message);
+        System.exit(2);
+    }
+}
@@ -0,0 +1,72 @@
+package com.example;
+
+import com.example.controller.FootprintMeter;
+import com.example.model.CustomArrayList;
+import com.example.model.GrowthPolicy;
+
+import java.util.function.IntFunction;
+
+/**
+ * Сравнение стратегий увеличения емкости {@link CustomArrayList} при заполнении списка.
+ * Для каждой стратегии и размера выводит количество расширений массива, количество скопированных элементов
+ * на один добавленный, неиспользуемый хвост массива, выделенную память и лучшее время заполнения.
+ * <pre>
+ * java -classpath bin com.example.GrowthPolicyBenchmark [размер...]
+ * </pre>
+ */
+public class GrowthPolicyBenchmark {
+    private static final int[] DEFAULT_SIZES = {1_000, 100_000, 1_000_000};
+    private static final int REPETITIONS = 3;
+    private static final int CHUNK = 1024;
+
+    private record Strategy(String name, IntFunction<CustomArrayList<Integer>> factory) {
+    }
+
+    public static void main(String[] args) {
+        int[] sizes = DEFAULT_SIZES;
+        if (args.length > 0) {
+            sizes = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                sizes[i] = Integer.parseInt(args[i]);
+            }
+        }
+
+        Strategy[] strategies = {
+                new Strategy("1.5x", size -> new CustomArrayList<>(GrowthPolicy.ONE_AND_HALF)),
+                new Strategy("2x", size -> new CustomArrayList<>(GrowthPolicy.DOUBLE)),
+                new Strategy("chunk " + CHUNK, size -> new CustomArrayList<>(GrowthPolicy.chunked(CHUNK))),
+                new Strategy("presized", CustomArrayList::new)
+        };
+
+        System.out.printf("%-12s %10s %8s %14s %9s %14s %10s\n",
+                "policy", "elements", "grows", "copied/elem", "unused", "alloc B/elem", "best ms");
+        for (int size : sizes) {
+            for (Strategy strategy : strategies) {
+                run(strategy, size);
+            }
+        }
+    }
+
+    private static void run(Strategy strategy, int size) {
+        Integer element = 1;
+        CustomArrayList<Integer> list = null;
+        long bestNanos = Long.MAX_VALUE;
+        long allocated = 0;
+        for (int repetition = 0; repetition < REPETITIONS; repetition++) {
+            long allocatedBefore = FootprintMeter.allocatedBytes();
+            long startTime = System.nanoTime();
+            list = strategy.factory().apply(size);
+            for (int i = 0; i < size; i++) {
+                list.add(element);
+            }
+            bestNanos = Math.min(bestNanos, System.nanoTime() - startTime);
+            allocated = FootprintMeter.allocatedBytes() - allocatedBefore;
+        }
+
+        System.out.printf("%-12s %10d %8d %14.2f %8.1f%% %14.1f %10.2f\n", strategy.name(), size,
+                list.getGrowCount(), (double) list.getCopiedElements() / size,
+                100.0 * (list.getCapacity() - size) / size,
+                FootprintMeter.isAllocationCounterSupported() ? (double) allocated / size : Double.NaN,
+                bestNanos / 1e6);
+    }
+}
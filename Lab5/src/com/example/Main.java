@@ -2,6 +2,7 @@ package com.example;
 
 import com.example.controller.TestController;
 import com.example.logger.Logger;
+import com.example.logger.ResultsFile;
 import com.example.view.CollectionPerformanceVisualizer;
 
 import javax.swing.*;
@@ -13,24 +14,30 @@ import java.util.stream.IntStream;
  * Класс {@code Main} является точкой входа в приложение.
  */
 public class Main {
+    /**
+     * Количество элементов в замерах: по две точки на порядок для логарифмической оси графиков.
+     */
+    private static final int[] ELEMENT_COUNTS = {10, 30, 100, 300, 1_000, 3_000, 10_000, 30_000, 100_000};
+
     public static void main(String[] args) {
         var formatter = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm:ss");
         Logger logger = new Logger("performance_logs.txt");
-        var testController = new TestController(logger);
+        ResultsFile results = new ResultsFile("benchmark_results.csv");
+        var testController = new TestController(logger, results);
 
         System.out.printf("Start program: %s\n", LocalDateTime.now().format(formatter));
 
-        IntStream.range(1, 6).forEach(i -> {
-            var numOfElements = (int) Math.pow(10, i);
+        IntStream.of(ELEMENT_COUNTS).forEach(numOfElements -> {
             System.out.printf("\n---------- TEST WITH %d ELEMENTS----------\n", numOfElements);
             logger.log(String.format("\n---------- TEST WITH %d ELEMENTS----------\n",  numOfElements));
             testController.testArrayList(numOfElements);
             testController.testLinkedList(numOfElements);
+            testController.testCustomArrayList(numOfElements);
         });
 
         SwingUtilities.invokeLater(() -> {
             CollectionPerformanceVisualizer visualizer = new CollectionPerformanceVisualizer();
-            visualizer.parseLogFile("performance_logs.txt");
+            visualizer.loadResults(results);
             visualizer.setVisible(true);
         });
 
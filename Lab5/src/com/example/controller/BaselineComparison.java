@@ -0,0 +1,105 @@
+package com.example.controller;
+
+import com.example.model.BenchmarkResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Сравнение результатов запуска замеров с базовым запуском.
+ * <p>
+ * Для каждого списка, операции и количества элементов сравнивается пропускная способность
+ * (операций в секунду по среднему времени операции). Регрессией считается падение больше порога,
+ * если при этом 95% доверительные интервалы запусков не пересекаются, — иначе разница
+ * не отличима от шума.
+ * </p>
+ */
+public class BaselineComparison {
+    /**
+     * Результат сравнения одного замера.
+     *
+     * @param baseline   результат базового запуска.
+     * @param current    результат текущего запуска.
+     * @param change     относительное изменение пропускной способности (-0.1 — падение на 10%).
+     * @param regression {@code true}, если падение превышает порог и не объясняется шумом.
+     */
+    public record Difference(BenchmarkResult baseline, BenchmarkResult current, double change,
+                             boolean regression) {
+    }
+
+    private BaselineComparison() {
+    }
+
+    /**
+     * Возвращает результаты последнего запуска.
+     *
+     * @param results все результаты в порядке записи.
+     * @return результаты с {@code runId} последней записи.
+     */
+    public static List<BenchmarkResult> latestRun(List<BenchmarkResult> results) {
+        return latestRun(results, "");
+    }
+
+    /**
+     * Возвращает результаты последнего запуска на указанном коммите.
+     *
+     * @param results все результаты в порядке записи.
+     * @param commit  начало хэша коммита; пустая строка подходит к любому коммиту.
+     * @return результаты запуска или пустой список, если подходящих запусков нет.
+     */
+    public static List<BenchmarkResult> latestRun(List<BenchmarkResult> results, String commit) {
+        String runId = null;
+        for (BenchmarkResult result : results) {
+            if (result.commit().startsWith(commit)) {
+                runId = result.runId();
+            }
+        }
+        List<BenchmarkResult> run = new ArrayList<>();
+        for (BenchmarkResult result : results) {
+            if (result.runId().equals(runId)) {
+                run.add(result);
+            }
+        }
+        return run;
+    }
+
+    /**
+     * Возвращает окружение, в котором получен результат.
+     *
+     * @param result результат замера.
+     * @return окружение.
+     */
+    public static BenchmarkEnvironment environmentOf(BenchmarkResult result) {
+        return new BenchmarkEnvironment(result.commit(), result.jvm(), result.hardware());
+    }
+
+    /**
+     * Сравнивает текущий запуск с базовым. Замеры, которых нет в базовом запуске, пропускаются.
+     *
+     * @param baseline  результаты базового запуска.
+     * @param current   результаты текущего запуска.
+     * @param threshold допустимое падение пропускной способности (0.1 — 10%).
+     * @return различия в порядке текущего запуска.
+     */
+    public static List<Difference> compare(List<BenchmarkResult> baseline, List<BenchmarkResult> current,
+                                           double threshold) {
+        List<Difference> differences = new ArrayList<>();
+        for (BenchmarkResult result : current) {
+            BenchmarkResult base = baseline.stream().filter(result::sameCase).findFirst().orElse(null);
+            if (base == null) {
+                continue;
+            }
+            double change = result.opsPerSecond() / base.opsPerSecond() - 1;
+            boolean regression = change < -threshold && !overlaps(base, result);
+            differences.add(new Difference(base, result, change, regression));
+        }
+        return differences;
+    }
+
+    private static boolean overlaps(BenchmarkResult baseline, BenchmarkResult current) {
+        if (Double.isNaN(baseline.ci95Ns()) || Double.isNaN(current.ci95Ns())) {
+            return false;
+        }
+        return current.meanNs() - current.ci95Ns() <= baseline.meanNs() + baseline.ci95Ns();
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.controller;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Окружение, в котором выполнен замер: коммит git, JVM и машина.
+ * Результаты замеров сравнимы только при одинаковых JVM и машине.
+ *
+ * @param commit   короткий хэш коммита git или {@code unknown}, если он недоступен.
+ * @param jvm      название и версия JVM.
+ * @param hardware описание машины.
+ */
+public record BenchmarkEnvironment(String commit, String jvm, String hardware) {
+    private static final String UNKNOWN = "unknown";
+
+    /**
+     * Определяет окружение текущего процесса.
+     *
+     * @return окружение.
+     */
+    public static BenchmarkEnvironment detect() {
+        String jvm = System.getProperty("java.vm.name") + " " + System.getProperty("java.runtime.version");
+        String hardware = String.format("%s %s, %s, %d cpu, %d MB heap",
+                System.getProperty("os.name"), System.getProperty("os.arch"), cpuModel(),
+                Runtime.getRuntime().availableProcessors(), Runtime.getRuntime().maxMemory() / (1024 * 1024));
+        return new BenchmarkEnvironment(gitCommit(), jvm, hardware);
+    }
+
+    /**
+     * Проверяет, что замеры в двух окружениях можно сравнивать.
+     *
+     * @param other другое окружение.
+     * @return {@code true}, если совпадают JVM и машина.
+     */
+    public boolean comparableWith(BenchmarkEnvironment other) {
+        return jvm.equals(other.jvm) && hardware.equals(other.hardware);
+    }
+
+    private static String gitCommit() {
+        try {
+            Process process = new ProcessBuilder("git", "rev-parse", "--short", "HEAD")
+                    .redirectErrorStream(true)
+                    .start();
+            String line;
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                line = reader.readLine();
+            }
+            if (process.waitFor(5, TimeUnit.SECONDS) && process.exitValue() == 0 && line != null) {
+                return line.trim();
+            }
+        } catch (IOException e) {
+            // git не установлен
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return UNKNOWN;
+    }
+
+    private static String cpuModel() {
+        String identifier = System.getenv("PROCESSOR_IDENTIFIER");
+        if (identifier != null) {
+            return identifier.trim();
+        }
+        Path cpuInfo = Path.of("/proc/cpuinfo");
+        if (Files.isReadable(cpuInfo)) {
+            try (Stream<String> lines = Files.lines(cpuInfo)) {
+                return lines.filter(line -> line.startsWith("model name"))
+                        .map(line -> line.substring(line.indexOf(':') + 1).trim())
+                        .findFirst()
+                        .orElse(UNKNOWN);
+            } catch (IOException e) {
+                return UNKNOWN;
+            }
+        }
+        return UNKNOWN;
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.controller;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.ref.Reference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Замер расхода памяти реализациями списков.
+ * <p>
+ * Удерживаемый объем — прирост занятой кучи после сборки мусора при заполнении новых списков
+ * заранее созданными элементами, то есть память самой структуры списка без элементов.
+ * Для небольших списков создается несколько копий, чтобы прирост был заметно больше погрешности
+ * измерения кучи. Объем замеряется дважды — как прирост при заполнении и как освобождение после очистки —
+ * и берется большее значение: мусор предыдущих замеров, который сборщик иногда освобождает не сразу,
+ * занижает только одну из двух оценок.
+ * </p>
+ * <p>
+ * Выделение памяти считается счетчиком потока {@link com.sun.management.ThreadMXBean}. При заполнении
+ * новых списков в него попадают и промежуточные массивы, отброшенные при росте емкости.
+ * </p>
+ */
+public class FootprintMeter {
+    /**
+     * Минимальное суммарное количество элементов во всех копиях списка при замере удерживаемого объема.
+     */
+    public static final int MIN_MEASURED_ELEMENTS = 100_000;
+
+    private static final com.sun.management.ThreadMXBean THREADS = allocationCounter();
+
+    /**
+     * Расход памяти списком.
+     *
+     * @param retainedBytesPerElement объем кучи, удерживаемый заполненным списком, на один элемент.
+     * @param allocatedBytesPerElement память, выделенная при заполнении нового списка, на один элемент,
+     *                                 или {@link Double#NaN}, если счетчик выделения не поддерживается.
+     */
+    public record Footprint(double retainedBytesPerElement, double allocatedBytesPerElement) {
+    }
+
+    private FootprintMeter() {
+    }
+
+    /**
+     * Проверяет, что JVM поддерживает счетчик выделенной потоком памяти.
+     *
+     * @return {@code true}, если {@link #allocatedBytes()} возвращает значения.
+     */
+    public static boolean isAllocationCounterSupported() {
+        return THREADS != null;
+    }
+
+    /**
+     * Возвращает объем памяти, выделенной текущим потоком с его запуска.
+     *
+     * @return количество байт или -1, если счетчик не поддерживается.
+     */
+    public static long allocatedBytes() {
+        return THREADS == null ? -1 : THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    /**
+     * Возвращает объем памяти, выделенной текущим потоком после предыдущего замера.
+     *
+     * @param before значение {@link #allocatedBytes()} в начале замера.
+     * @return количество байт или -1, если счетчик не поддерживается.
+     */
+    public static long allocatedSince(long before) {
+        return THREADS == null ? -1 : THREADS.getCurrentThreadAllocatedBytes() - before;
+    }
+
+    /**
+     * Измеряет память, удерживаемую структурой списка и выделяемую при его заполнении.
+     *
+     * @param factory  создает пустой список.
+     * @param elements элементы, которыми заполняется список.
+     * @param <E>      тип элементов.
+     * @return расход памяти на один элемент.
+     */
+    public static <E> Footprint measure(Supplier<List<E>> factory, E[] elements) {
+        if (elements.length == 0) {
+            return new Footprint(Double.NaN, Double.NaN);
+        }
+        int copies = Math.max(1, MIN_MEASURED_ELEMENTS / elements.length);
+        List<List<E>> lists = new ArrayList<>(copies);
+
+        long before = usedMemory();
+        long allocatedBefore = allocatedBytes();
+        for (int copy = 0; copy < copies; copy++) {
+            List<E> list = factory.get();
+            for (E element : elements) {
+                list.add(element);
+            }
+            lists.add(list);
+        }
+        long allocated = allocatedSince(allocatedBefore);
+        long after = usedMemory();
+        Reference.reachabilityFence(lists);
+        lists.clear();
+        long released = after - usedMemory();
+        Reference.reachabilityFence(elements);
+
+        // Массив ссылок на копии тоже попадает в прирост, но на фоне копий он пренебрежимо мал
+        double measured = (double) copies * elements.length;
+        return new Footprint(Math.max(after - before, released) / measured,
+                isAllocationCounterSupported() ? allocated / measured : Double.NaN);
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean counter
+                && counter.isThreadAllocatedMemorySupported()) {
+            if (!counter.isThreadAllocatedMemoryEnabled()) {
+                counter.setThreadAllocatedMemoryEnabled(true);
+            }
+            return counter;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.controller;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Событие JDK Flight Recorder: этап замера списка в {@link TestController}
+ * (заполнение или удаление всех элементов).
+ */
+@Name("com.example.ListBenchmarkPhase")
+@Label("ListBenchmarkPhase")
+@Category({"Lab5", "Benchmark"})
+@Description("Этап замера производительности списка")
+@StackTrace(false)
+public class ListBenchmarkPhaseEvent extends jdk.jfr.Event {
+    @Label("Список")
+    String listType;
+
+    @Label("Этап")
+    String phase;
+
+    @Label("Элементов")
+    int elements;
+
+    @Label("Суммарное время операций, нс")
+    long operationsNanos;
+
+    @Label("Выделено памяти")
+    @DataAmount
+    long allocatedBytes;
+}
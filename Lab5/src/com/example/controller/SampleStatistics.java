@@ -0,0 +1,152 @@
+package com.example.controller;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Статистика времени отдельных операций замера.
+ * <p>
+ * Хранит все замеры в отсортированном виде, поэтому процентили считаются точно (метод ближайшего ранга),
+ * а не по среднему. Выбросами считаются замеры выше «дальней» границы Тьюки {@code Q3 + 3 * IQR},
+ * но не быстрее {@link #OUTLIER_MEDIANS} медиан: отдельные операции занимают десятки наносекунд,
+ * и без второго условия выбросами становится шум таймера. Отдельно подсчитываются выбросы,
+ * во время которых прошла сборка мусора.
+ * </p>
+ */
+public class SampleStatistics {
+    /**
+     * Во сколько раз выброс должен быть медленнее медианы.
+     */
+    public static final int OUTLIER_MEDIANS = 10;
+
+    /**
+     * Квантили t-распределения Стьюдента для двустороннего 95% интервала, индекс — число степеней свободы.
+     */
+    private static final double[] T_95 = {Double.NaN,
+            12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262, 2.228,
+            2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086,
+            2.080, 2.074, 2.069, 2.064, 2.060, 2.056, 2.052, 2.048, 2.045, 2.042};
+
+    private final long[] sorted;
+    private final long total;
+    private final double mean;
+    private final double stdDev;
+    private final int outliers;
+    private final int gcOutliers;
+
+    /**
+     * Считает статистику по замерам.
+     *
+     * @param samples    время операций в наносекундах.
+     * @param gcAffected номера замеров, во время которых прошла сборка мусора.
+     */
+    public SampleStatistics(long[] samples, BitSet gcAffected) {
+        if (samples.length == 0) {
+            throw new IllegalArgumentException("Нет замеров");
+        }
+        sorted = samples.clone();
+        Arrays.sort(sorted);
+
+        long sum = 0;
+        for (long sample : samples) {
+            sum += sample;
+        }
+        total = sum;
+        mean = (double) sum / samples.length;
+
+        double squares = 0;
+        for (long sample : samples) {
+            squares += (sample - mean) * (sample - mean);
+        }
+        stdDev = samples.length > 1 ? Math.sqrt(squares / (samples.length - 1)) : 0;
+
+        long q1 = getPercentile(25);
+        long q3 = getPercentile(75);
+        long fence = Math.max(q3 + 3 * (q3 - q1), OUTLIER_MEDIANS * getMedian());
+        int outlierCount = 0;
+        int gcCount = 0;
+        for (int i = 0; i < samples.length; i++) {
+            if (samples[i] > fence) {
+                outlierCount++;
+                if (gcAffected.get(i)) {
+                    gcCount++;
+                }
+            }
+        }
+        outliers = outlierCount;
+        gcOutliers = gcCount;
+    }
+
+    /**
+     * Возвращает значение процентиля методом ближайшего ранга.
+     *
+     * @param percentile процентиль от 0 до 100.
+     * @return время операции в наносекундах.
+     */
+    public long getPercentile(double percentile) {
+        int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+        return sorted[Math.clamp(rank - 1, 0, sorted.length - 1)];
+    }
+
+    public int getCount() {
+        return sorted.length;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public long getMedian() {
+        return getPercentile(50);
+    }
+
+    public long getMax() {
+        return sorted[sorted.length - 1];
+    }
+
+    /**
+     * Возвращает выборочное стандартное отклонение.
+     *
+     * @return стандартное отклонение в наносекундах.
+     */
+    public double getStdDev() {
+        return stdDev;
+    }
+
+    public int getOutliers() {
+        return outliers;
+    }
+
+    /**
+     * Возвращает количество выбросов, во время которых прошла сборка мусора.
+     *
+     * @return количество выбросов.
+     */
+    public int getGcOutliers() {
+        return gcOutliers;
+    }
+
+    /**
+     * Считает полуширину 95% доверительного интервала среднего по t-распределению Стьюдента.
+     * Применяется к результатам повторных прогонов, которые, в отличие от отдельных операций,
+     * можно считать независимыми.
+     *
+     * @param values результаты прогонов.
+     * @return полуширина интервала или {@link Double#NaN}, если прогонов меньше двух.
+     */
+    public static double confidenceHalfWidth(double[] values) {
+        int n = values.length;
+        if (n < 2) {
+            return Double.NaN;
+        }
+        double mean = Arrays.stream(values).average().orElse(0);
+        double squares = Arrays.stream(values).map(value -> (value - mean) * (value - mean)).sum();
+        double stdDev = Math.sqrt(squares / (n - 1));
+        double t = n - 1 < T_95.length ? T_95[n - 1] : 1.96;
+        return t * stdDev / Math.sqrt(n);
+    }
+}
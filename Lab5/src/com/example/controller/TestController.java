@@ -2,23 +2,56 @@ package com.example.controller;
 
 
 import com.example.logger.Logger;
+import com.example.logger.ResultsFile;
+import com.example.model.BenchmarkResult;
 import com.example.model.CustomArrayList;
 import com.example.model.Subject;
 import com.example.model.Teacher;
 
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicLong;
-import java.util.stream.IntStream;
+import java.util.function.Supplier;
 
 /**
  * Контроллер для тестирования различных реализаций списков (ArrayList, LinkedList, CustomArrayList).
  * Выполняет добавление и удаление объектов типа {@link Teacher} в списках и выводит результаты с замером времени.
+ * <p>
+ * Каждый замер повторяется несколько раз после прогревочных прогонов. Время каждой операции сохраняется,
+ * и по всем замерам выводятся процентили, стандартное отклонение и выбросы ({@link SampleStatistics}),
+ * а по средним значениям прогонов — 95% доверительный интервал. Каждый этап замера отмечается
+ * событием JFR {@link ListBenchmarkPhaseEvent}. Вместе со временем выводится выделение памяти на операцию,
+ * а также объем кучи, удерживаемый новым списком на один элемент, и выделение памяти при его заполнении
+ * ({@link FootprintMeter}): замеряемые списки переиспользуются, и после прогрева списки на массиве
+ * уже не расширяются. Если задан {@link ResultsFile}, статистика каждой
+ * операции также записывается в него как {@link BenchmarkResult}.
+ * </p>
  */
 public class TestController {
+    /**
+     * Количество прогревочных прогонов по умолчанию, результаты которых не учитываются.
+     */
+    public static final int DEFAULT_WARMUP_RUNS = 1;
+
+    /**
+     * Количество учитываемых прогонов по умолчанию.
+     */
+    public static final int DEFAULT_RUNS = 5;
+
+    private static final GarbageCollectorMXBean[] GARBAGE_COLLECTORS =
+            ManagementFactory.getGarbageCollectorMXBeans().toArray(new GarbageCollectorMXBean[0]);
 
     private final Logger logger;
+    private final ResultsFile results;
+    private final String runId = LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+    private final BenchmarkEnvironment environment;
+    private final int warmupRuns;
+    private final int runs;
 
     /**
      * Список типа ArrayList для хранения объектов {@link Teacher}.
@@ -36,7 +69,36 @@ public class TestController {
     private final List<Teacher> teachersLinkedList = new LinkedList<>();
 
     public TestController(Logger logger){
+        this(logger, null, DEFAULT_WARMUP_RUNS, DEFAULT_RUNS);
+    }
+
+    /**
+     * Создает контроллер, записывающий результаты в CSV-файл.
+     *
+     * @param logger  логгер результатов.
+     * @param results файл результатов.
+     */
+    public TestController(Logger logger, ResultsFile results) {
+        this(logger, results, DEFAULT_WARMUP_RUNS, DEFAULT_RUNS);
+    }
+
+    /**
+     * Создает контроллер с заданным количеством прогонов.
+     *
+     * @param logger     логгер результатов.
+     * @param results    файл результатов или {@code null}, если результаты только выводятся.
+     * @param warmupRuns количество прогревочных прогонов.
+     * @param runs       количество учитываемых прогонов.
+     */
+    public TestController(Logger logger, ResultsFile results, int warmupRuns, int runs) {
+        if (warmupRuns < 0 || runs < 1) {
+            throw new IllegalArgumentException("Некорректное количество прогонов");
+        }
         this.logger = logger;
+        this.results = results;
+        this.environment = results == null ? null : BenchmarkEnvironment.detect();
+        this.warmupRuns = warmupRuns;
+        this.runs = runs;
     }
 
     /**
@@ -45,10 +107,7 @@ public class TestController {
      * @param num Количество элементов для добавления и удаления.
      */
     public void testArrayList(int num) {
-        System.out.println("\nArrayList");
-        logger.log("\nArrayList");
-        fillWithGeneratedList(teachersArrayList, num);
-        removeElementsOfList(teachersArrayList, num);
+        testList("ArrayList", teachersArrayList, ArrayList::new, num);
     }
 
     /**
@@ -57,10 +116,7 @@ public class TestController {
      * @param num Количество элементов для добавления и удаления.
      */
     public void testLinkedList(int num) {
-        System.out.println("\nLinkedList");
-        logger.log("\nLinkedList");
-        fillWithGeneratedList(teachersLinkedList, num);
-        removeElementsOfList(teachersLinkedList, num);
+        testList("LinkedList", teachersLinkedList, LinkedList::new, num);
     }
 
     /**
@@ -69,75 +125,199 @@ public class TestController {
      * @param num Количество элементов для добавления и удаления.
      */
     public void testCustomArrayList(int num) {
-        System.out.println("\nCustomArrayList");
-        fillWithGeneratedList(customArrayList, num);
-        removeElementsOfList(customArrayList, num);
+        testList("CustomArrayList", customArrayList, CustomArrayList::new, num);
     }
 
     /**
-     * Заполняет список случайно сгенерированными объектами {@link Teacher} и измеряет время выполнения операции.
+     * Выполняет прогревочные и учитываемые прогоны заполнения и очистки списка, замеряет
+     * удерживаемый объем кучи на новых списках и выводит статистику.
      *
-     * @param list Список для заполнения.
-     * @param num  Количество элементов для добавления.
-     */
-    private void fillWithGeneratedList(List<Teacher> list, int num) {
-        var sum = new AtomicLong();
-        IntStream.range(0, num).forEach(
-                i -> {
-                    try {
-                        var startTime = System.nanoTime();
-                        list.add(generateTeacher(i));
-                        var stopTime = System.nanoTime();
-
-                        var diff = stopTime - startTime;
-                        sum.addAndGet(diff);
-                        if (i < 2 || i >= num - 2) {
-                            System.out.printf("add, ID=%d, %d (ns)\n", i, diff);
-                        }
-                    } catch (Exception e) {
-                        throw new RuntimeException(e.getMessage(), e.getCause());
-                    }
-                }
-        );
-        System.out.printf("addTotalCount=%d\n", num);
-        logger.log(String.format("addTotalCount=%d\n", num));
-        System.out.printf("addTotalTime=%d (ns), %d (ms)\n", sum.get(), sum.get() / 1_000_000);
-        logger.log(String.format("addTotalTime=%d (ns), %d (ms)\n", sum.get(), sum.get() / 1_000_000));
-        System.out.printf("addMedianTime=%d (ns)\n", sum.get() / num);
-        logger.log(String.format("addMedianTime=%d (ns)\n", sum.get() / num));
+     * @param name    название списка.
+     * @param list    список.
+     * @param factory создает новый пустой список той же реализации.
+     * @param num     количество элементов.
+     */
+    private void testList(String name, List<Teacher> list, Supplier<List<Teacher>> factory, int num) {
+        System.out.println("\n" + name);
+        logger.log("\n" + name);
+
+        // Элементы создаются заранее, чтобы в замеры времени и памяти попадала только работа списка
+        Teacher[] teachers = new Teacher[num];
+        for (int i = 0; i < num; i++) {
+            teachers[i] = generateTeacher(i);
+        }
+
+        Samples add = new Samples(num * runs);
+        Samples remove = new Samples(num * runs);
+        double[] addRunMeans = new double[runs];
+        double[] removeRunMeans = new double[runs];
+        for (int run = 0; run < warmupRuns + runs; run++) {
+            int measured = run - warmupRuns;
+            long addTotal = fillWithGeneratedList(list, teachers, measured < 0 ? null : add);
+            long removeTotal = removeElementsOfList(list, num, measured < 0 ? null : remove);
+            if (measured >= 0) {
+                addRunMeans[measured] = (double) addTotal / num;
+                removeRunMeans[measured] = (double) removeTotal / num;
+            }
+        }
+
+        FootprintMeter.Footprint footprint = FootprintMeter.measure(factory, teachers);
+        print(String.format("retainedHeap=%.1f (bytes/element)", footprint.retainedBytesPerElement()));
+        print(String.format("newListFillAllocated=%.1f (bytes/element)", footprint.allocatedBytesPerElement()));
+
+        report(name, "add", num, add, addRunMeans, footprint);
+        report(name, "remove", num, remove, removeRunMeans, footprint);
     }
 
     /**
-     * Удаляет элементы из начала списка и измеряет время выполнения операции.
+     * Заполняет список сгенерированными объектами {@link Teacher} и измеряет время каждой операции.
      *
-     * @param list Список, из которого будут удаляться элементы.
-     * @param num  Количество элементов для удаления.
-     */
-    private void removeElementsOfList(List<Teacher> list, int num) {
-        AtomicLong sum = new AtomicLong();
-        IntStream.range(0, num).forEach(
-                i -> {
-                    try {
-                        var startTime = System.nanoTime();
-                        list.removeFirst();
-                        var stopTime = System.nanoTime();
-
-                        var diff = stopTime - startTime;
-                        sum.addAndGet(diff);
-                        if (i < 2 || i >= num - 2) {
-                            System.out.printf("remove, ID=%d, %d (ns)\n", i, diff);
-                        }
-                    } catch (Exception e) {
-                        throw new RuntimeException(e.getMessage(), e.getCause());
-                    }
-                }
-        );
-        System.out.printf("removeTotalCount=%d\n", num);
-        logger.log(String.format("removeTotalCount=%d\n", num));
-        System.out.printf("removeTotalTime=%d (ns), %d (ms)\n", sum.get(), sum.get() / 1_000_000);
-        logger.log(String.format("removeTotalTime=%d (ns), %d (ms)\n", sum.get(), sum.get() / 1_000_000));
-        System.out.printf("removeMedianTime=%d (ns)\n", sum.get() / num);
-        logger.log(String.format("removeMedianTime=%d (ns)\n", sum.get() / num));
+     * @param list     Список для заполнения.
+     * @param teachers Элементы для добавления.
+     * @param samples  замеры, в которые добавляется время операций, или {@code null} для прогревочного прогона.
+     * @return суммарное время операций в наносекундах.
+     */
+    private long fillWithGeneratedList(List<Teacher> list, Teacher[] teachers, Samples samples) {
+        var phaseEvent = new ListBenchmarkPhaseEvent();
+        phaseEvent.begin();
+        int num = teachers.length;
+        long sum = 0;
+        long gcCount = gcCount();
+        long allocatedBefore = FootprintMeter.allocatedBytes();
+        for (int i = 0; i < num; i++) {
+            var startTime = System.nanoTime();
+            list.add(teachers[i]);
+            var stopTime = System.nanoTime();
+
+            long currentGcCount = gcCount();
+            sum += stopTime - startTime;
+            if (samples != null) {
+                samples.add(stopTime - startTime, currentGcCount != gcCount);
+            }
+            gcCount = currentGcCount;
+        }
+        long allocated = FootprintMeter.allocatedSince(allocatedBefore);
+        if (samples != null && allocated >= 0) {
+            samples.allocatedBytes += allocated;
+        }
+        commitPhase(phaseEvent, list, "add", num, sum, allocated);
+        return sum;
+    }
+
+    /**
+     * Удаляет элементы из начала списка и измеряет время каждой операции.
+     *
+     * @param list    Список, из которого будут удаляться элементы.
+     * @param num     Количество элементов для удаления.
+     * @param samples замеры, в которые добавляется время операций, или {@code null} для прогревочного прогона.
+     * @return суммарное время операций в наносекундах.
+     */
+    private long removeElementsOfList(List<Teacher> list, int num, Samples samples) {
+        var phaseEvent = new ListBenchmarkPhaseEvent();
+        phaseEvent.begin();
+        long sum = 0;
+        long gcCount = gcCount();
+        long allocatedBefore = FootprintMeter.allocatedBytes();
+        for (int i = 0; i < num; i++) {
+            var startTime = System.nanoTime();
+            list.removeFirst();
+            var stopTime = System.nanoTime();
+
+            long currentGcCount = gcCount();
+            sum += stopTime - startTime;
+            if (samples != null) {
+                samples.add(stopTime - startTime, currentGcCount != gcCount);
+            }
+            gcCount = currentGcCount;
+        }
+        long allocated = FootprintMeter.allocatedSince(allocatedBefore);
+        if (samples != null && allocated >= 0) {
+            samples.allocatedBytes += allocated;
+        }
+        commitPhase(phaseEvent, list, "remove", num, sum, allocated);
+        return sum;
+    }
+
+    /**
+     * Выводит статистику операции в консоль и в лог и записывает ее в файл результатов.
+     *
+     * @param list      название списка.
+     * @param operation название операции ({@code add} или {@code remove}).
+     * @param num       количество элементов.
+     * @param samples   все учитываемые замеры.
+     * @param runMeans  среднее время операции в каждом прогоне.
+     * @param footprint расход памяти новым списком.
+     */
+    private void report(String list, String operation, int num, Samples samples, double[] runMeans,
+                        FootprintMeter.Footprint footprint) {
+        SampleStatistics stats = samples.statistics();
+        double allocatedPerOp = FootprintMeter.isAllocationCounterSupported()
+                ? (double) samples.allocatedBytes / stats.getCount() : Double.NaN;
+        long totalPerRun = stats.getTotal() / runs;
+        double halfWidth = SampleStatistics.confidenceHalfWidth(runMeans);
+        String interval = Double.isNaN(halfWidth) ? "" : String.format(" +/- %.1f (95%% CI)", halfWidth);
+
+        print(String.format("%sTotalCount=%d (%d runs)", operation, stats.getCount() / runs, runs));
+        print(String.format("%sTotalTime=%d (ns), %d (ms)", operation, totalPerRun, totalPerRun / 1_000_000));
+        print(String.format("%sMeanTime=%.1f (ns)%s", operation, stats.getMean(), interval));
+        print(String.format("%sMedianTime=%d (ns)", operation, stats.getMedian()));
+        print(String.format("%sPercentiles p90=%d p99=%d p99.9=%d max=%d (ns)", operation,
+                stats.getPercentile(90), stats.getPercentile(99), stats.getPercentile(99.9), stats.getMax()));
+        print(String.format("%sStdDev=%.1f (ns)", operation, stats.getStdDev()));
+        print(String.format("%sOutliers=%d, with GC=%d", operation, stats.getOutliers(), stats.getGcOutliers()));
+        print(String.format("%sAllocated=%.1f (bytes/op), %.1f (MB/s)", operation, allocatedPerOp,
+                allocatedPerOp / stats.getMean() * 1e9 / (1024 * 1024)));
+
+        if (results != null) {
+            results.append(new BenchmarkResult(runId, environment.commit(), environment.jvm(),
+                    environment.hardware(), list, operation, num, runs, totalPerRun, stats.getMean(),
+                    halfWidth, stats.getMedian(), stats.getPercentile(90), stats.getPercentile(99),
+                    stats.getPercentile(99.9), stats.getMax(), stats.getStdDev(), stats.getOutliers(),
+                    stats.getGcOutliers(), allocatedPerOp, footprint.retainedBytesPerElement(),
+                    footprint.allocatedBytesPerElement()));
+        }
+    }
+
+    private void print(String line) {
+        System.out.println(line);
+        logger.log(line);
+    }
+
+    /**
+     * Возвращает суммарное количество сборок мусора с начала работы JVM.
+     * Вызывается после каждой операции, поэтому не создает итератор и не искажает замер выделения памяти.
+     *
+     * @return количество сборок мусора.
+     */
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean collector : GARBAGE_COLLECTORS) {
+            count += Math.max(0, collector.getCollectionCount());
+        }
+        return count;
+    }
+
+    /**
+     * Завершает событие JFR этапа замера.
+     *
+     * @param event           начатое событие.
+     * @param list            замеряемый список.
+     * @param phase           название этапа.
+     * @param num             количество элементов.
+     * @param operationsNanos суммарное время операций без накладных расходов цикла.
+     * @param allocatedBytes  память, выделенная потоком за этап, или -1, если счетчик не поддерживается.
+     */
+    private void commitPhase(ListBenchmarkPhaseEvent event, List<Teacher> list, String phase, int num,
+                             long operationsNanos, long allocatedBytes) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.listType = list.getClass().getSimpleName();
+            event.phase = phase;
+            event.elements = num;
+            event.operationsNanos = operationsNanos;
+            event.allocatedBytes = allocatedBytes;
+            event.commit();
+        }
     }
 
     /**
@@ -151,4 +331,30 @@ public class TestController {
                 "Name-".concat(String.valueOf(i)),
                 new Subject("subject-".concat(String.valueOf(i))));
     }
+
+    /**
+     * Время операций учитываемых прогонов, отметки о сборке мусора во время операции
+     * и память, выделенная за все прогоны.
+     */
+    private static class Samples {
+        private final long[] nanos;
+        private final BitSet gcAffected = new BitSet();
+        private int size;
+        private long allocatedBytes;
+
+        Samples(int capacity) {
+            nanos = new long[capacity];
+        }
+
+        void add(long duration, boolean gc) {
+            if (gc) {
+                gcAffected.set(size);
+            }
+            nanos[size++] = duration;
+        }
+
+        SampleStatistics statistics() {
+            return new SampleStatistics(nanos, gcAffected);
+        }
+    }
 }
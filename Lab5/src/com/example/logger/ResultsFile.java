@@ -0,0 +1,168 @@
+package com.example.logger;
+
+import com.example.model.BenchmarkResult;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CSV-файл с результатами замеров ({@link BenchmarkResult}).
+ * <p>
+ * Новые результаты дописываются в конец файла. Перед ними записывается заголовок, если файл пуст
+ * или последний заголовок в нем отличается от текущего набора столбцов {@link BenchmarkResult#COLUMNS}
+ * (файл записан старой версией программы). Заголовок файла проверяется один раз за время жизни
+ * объекта, поэтому дописывать в файл в это время должен только он.
+ * При чтении значения сопоставляются столбцам по заголовку, поэтому файлы разных запусков
+ * и машин можно объединять простым склеиванием. Любая строка, первое значение которой
+ * равно {@code runId}, считается заголовком и задает столбцы для следующих строк, так что
+ * склеенные файлы могут иметь разные наборы столбцов.
+ * </p>
+ */
+public class ResultsFile {
+    private final String filePath;
+
+    /**
+     * Последний заголовок файла уже совпадает с {@link BenchmarkResult#COLUMNS}.
+     */
+    private boolean headerCurrent;
+
+    /**
+     * Создает файл результатов.
+     *
+     * @param filePath путь к CSV-файлу.
+     */
+    public ResultsFile(String filePath) {
+        this.filePath = filePath;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    /**
+     * Дописывает результат в файл.
+     *
+     * @param result результат замера.
+     */
+    public synchronized void append(BenchmarkResult result) {
+        if (!headerCurrent) {
+            try {
+                // Файл читается целиком только при первой записи, дальше заголовок уже известен
+                headerCurrent = BenchmarkResult.COLUMNS.equals(lastHeader());
+            } catch (IOException e) {
+                System.err.println("Ошибка при чтении результатов: " + e.getMessage());
+                return;
+            }
+        }
+        try (FileWriter fileWriter = new FileWriter(filePath, StandardCharsets.UTF_8, true);
+             PrintWriter printWriter = new PrintWriter(fileWriter)) {
+            if (!headerCurrent) {
+                printWriter.println(BenchmarkResult.joinCsv(BenchmarkResult.COLUMNS));
+            }
+            printWriter.println(BenchmarkResult.joinCsv(result.toValues()));
+            headerCurrent = !printWriter.checkError();
+        } catch (IOException e) {
+            System.err.println("Ошибка при записи результатов: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Находит заголовок, по которому читаются последние строки файла.
+     *
+     * @return столбцы последнего заголовка или {@code null}, если файла или заголовка нет.
+     * @throws IOException если файл не удалось прочитать.
+     */
+    private List<String> lastHeader() throws IOException {
+        if (!Files.exists(Path.of(filePath))) {
+            return null;
+        }
+        List<String> header = null;
+        try (BufferedReader reader = new BufferedReader(new FileReader(filePath, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(BenchmarkResult.COLUMNS.get(0))) {
+                    List<String> values = BenchmarkResult.splitCsv(line);
+                    if (isHeader(values)) {
+                        header = values;
+                    }
+                }
+            }
+        }
+        return header;
+    }
+
+    /**
+     * Перезаписывает файл указанными результатами, например при сохранении базового запуска.
+     *
+     * @param results результаты замеров.
+     * @throws IOException если файл не удалось записать.
+     */
+    public synchronized void write(List<BenchmarkResult> results) throws IOException {
+        headerCurrent = false;
+        try (FileWriter fileWriter = new FileWriter(filePath, StandardCharsets.UTF_8, false);
+             PrintWriter printWriter = new PrintWriter(fileWriter)) {
+            printWriter.println(BenchmarkResult.joinCsv(BenchmarkResult.COLUMNS));
+            for (BenchmarkResult result : results) {
+                printWriter.println(BenchmarkResult.joinCsv(result.toValues()));
+            }
+            headerCurrent = !printWriter.checkError();
+        }
+    }
+
+    /**
+     * Читает все результаты из файла. Некорректные строки и строки до первого заголовка пропускаются.
+     *
+     * @return результаты в порядке записи или пустой список, если файла нет.
+     */
+    public List<BenchmarkResult> readAll() {
+        List<BenchmarkResult> results = new ArrayList<>();
+        if (!Files.exists(Path.of(filePath))) {
+            return results;
+        }
+        try (BufferedReader reader = new BufferedReader(new FileReader(filePath, StandardCharsets.UTF_8))) {
+            List<String> columns = null;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                List<String> values = BenchmarkResult.splitCsv(line);
+                if (isHeader(values)) {
+                    // Новый заголовок появляется при склеивании файлов, в том числе с другим набором столбцов
+                    columns = values;
+                    continue;
+                }
+                if (columns == null) {
+                    System.err.println("Строка результатов без заголовка: " + line);
+                    continue;
+                }
+                Map<String, String> row = new HashMap<>();
+                for (int i = 0; i < columns.size() && i < values.size(); i++) {
+                    row.put(columns.get(i), values.get(i));
+                }
+                try {
+                    results.add(BenchmarkResult.fromValues(row));
+                } catch (NumberFormatException e) {
+                    System.err.println("Некорректная строка результатов: " + line);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Ошибка при чтении результатов: " + e.getMessage());
+        }
+        return results;
+    }
+
+    private static boolean isHeader(List<String> values) {
+        return !values.isEmpty() && values.get(0).equals(BenchmarkResult.COLUMNS.get(0));
+    }
+}
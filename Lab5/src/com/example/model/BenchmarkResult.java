@@ -0,0 +1,185 @@
+package com.example.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Результат замера одной операции над одним списком для одного количества элементов.
+ * <p>
+ * Результаты хранятся в CSV-файле по строке на запись (см. {@link com.example.logger.ResultsFile}).
+ * Значения читаются по названиям столбцов из заголовка, поэтому файлы разных запусков
+ * можно объединять, а новые столбцы не мешают чтению старых файлов.
+ * </p>
+ *
+ * @param runId       идентификатор запуска (время начала в формате ISO-8601).
+ * @param commit      коммит git, на котором выполнен замер.
+ * @param jvm         версия JVM.
+ * @param hardware    описание машины (ОС, процессор, количество ядер, максимальный размер кучи).
+ * @param list        название реализации списка.
+ * @param operation   операция ({@code add} или {@code remove}).
+ * @param elements    количество элементов.
+ * @param runs        количество учитываемых прогонов.
+ * @param totalNs     среднее суммарное время операций за прогон.
+ * @param meanNs      среднее время операции.
+ * @param ci95Ns      полуширина 95% доверительного интервала среднего или {@link Double#NaN}.
+ * @param p50Ns       медиана времени операции.
+ * @param p90Ns       90-й процентиль.
+ * @param p99Ns       99-й процентиль.
+ * @param p999Ns      99.9-й процентиль.
+ * @param maxNs       максимальное время операции.
+ * @param stdDevNs    стандартное отклонение.
+ * @param outliers    количество выбросов.
+ * @param gcOutliers  количество выбросов, во время которых прошла сборка мусора.
+ * @param allocatedBytesPerOp     память, выделенная на одну операцию, или {@link Double#NaN}.
+ * @param retainedBytesPerElement объем кучи, удерживаемый списком на один элемент, или {@link Double#NaN}.
+ * @param fillBytesPerElement     память, выделенная при заполнении нового списка, на один элемент,
+ *                                или {@link Double#NaN}.
+ */
+public record BenchmarkResult(String runId, String commit, String jvm, String hardware, String list, String operation, int elements, int runs,
+                              long totalNs, double meanNs, double ci95Ns, long p50Ns, long p90Ns, long p99Ns,
+                              long p999Ns, long maxNs, double stdDevNs, int outliers, int gcOutliers,
+                              double allocatedBytesPerOp, double retainedBytesPerElement,
+                              double fillBytesPerElement) {
+    /**
+     * Названия столбцов CSV в порядке записи.
+     */
+    public static final List<String> COLUMNS = List.of("runId", "commit", "jvm", "hardware", "list", "operation", "elements", "runs",
+            "totalNs", "meanNs", "ci95Ns", "p50Ns", "p90Ns", "p99Ns", "p999Ns", "maxNs", "stdDevNs",
+            "outliers", "gcOutliers", "allocatedBytesPerOp", "retainedBytesPerElement",
+            "fillBytesPerElement");
+
+    /**
+     * Возвращает пропускную способность операции.
+     *
+     * @return количество операций в секунду по среднему времени операции.
+     */
+    public double opsPerSecond() {
+        return meanNs > 0 ? 1e9 / meanNs : Double.NaN;
+    }
+
+    /**
+     * Проверяет, что результат получен тем же замером (список, операция, количество элементов), что и другой.
+     *
+     * @param other другой результат.
+     * @return {@code true}, если замеры сопоставимы.
+     */
+    public boolean sameCase(BenchmarkResult other) {
+        return list.equals(other.list) && operation.equals(other.operation) && elements == other.elements;
+    }
+
+    /**
+     * Возвращает значения полей в порядке {@link #COLUMNS}.
+     *
+     * @return значения полей.
+     */
+    public List<String> toValues() {
+        return List.of(runId, commit, jvm, hardware, list, operation, String.valueOf(elements), String.valueOf(runs),
+                String.valueOf(totalNs), format(meanNs), format(ci95Ns), String.valueOf(p50Ns),
+                String.valueOf(p90Ns), String.valueOf(p99Ns), String.valueOf(p999Ns), String.valueOf(maxNs),
+                format(stdDevNs), String.valueOf(outliers), String.valueOf(gcOutliers), format(allocatedBytesPerOp),
+                format(retainedBytesPerElement), format(fillBytesPerElement));
+    }
+
+    /**
+     * Создает результат из значений, сопоставленных названиям столбцов.
+     * Отсутствующие числовые столбцы считаются нулевыми.
+     *
+     * @param values значения по названиям столбцов.
+     * @return результат замера.
+     * @throws NumberFormatException если значение не является числом.
+     */
+    public static BenchmarkResult fromValues(Map<String, String> values) {
+        return new BenchmarkResult(
+                values.getOrDefault("runId", ""),
+                values.getOrDefault("commit", ""),
+                values.getOrDefault("jvm", ""),
+                values.getOrDefault("hardware", ""),
+                values.getOrDefault("list", ""),
+                values.getOrDefault("operation", ""),
+                (int) parseLong(values.get("elements")),
+                (int) parseLong(values.get("runs")),
+                parseLong(values.get("totalNs")),
+                parseDouble(values.get("meanNs")),
+                parseDouble(values.get("ci95Ns")),
+                parseLong(values.get("p50Ns")),
+                parseLong(values.get("p90Ns")),
+                parseLong(values.get("p99Ns")),
+                parseLong(values.get("p999Ns")),
+                parseLong(values.get("maxNs")),
+                parseDouble(values.get("stdDevNs")),
+                (int) parseLong(values.get("outliers")),
+                (int) parseLong(values.get("gcOutliers")),
+                parseDouble(values.get("allocatedBytesPerOp")),
+                parseDouble(values.get("retainedBytesPerElement")),
+                parseDouble(values.get("fillBytesPerElement")));
+    }
+
+    /**
+     * Разбивает строку CSV на значения. Поддерживает значения в двойных кавычках.
+     *
+     * @param line строка CSV.
+     * @return значения.
+     */
+    public static List<String> splitCsv(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    /**
+     * Собирает строку CSV из значений, заключая в кавычки значения с запятыми и кавычками.
+     *
+     * @param values значения.
+     * @return строка CSV.
+     */
+    public static String joinCsv(List<String> values) {
+        StringBuilder line = new StringBuilder();
+        for (String value : values) {
+            if (!line.isEmpty()) {
+                line.append(',');
+            }
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0) {
+                line.append('"').append(value.replace("\"", "\"\"")).append('"');
+            } else {
+                line.append(value);
+            }
+        }
+        return line.toString();
+    }
+
+    private static String format(double value) {
+        return Double.isNaN(value) ? "" : String.format(Locale.ROOT, "%.1f", value);
+    }
+
+    private static long parseLong(String value) {
+        return value == null || value.isEmpty() ? 0 : Long.parseLong(value);
+    }
+
+    private static double parseDouble(String value) {
+        return value == null || value.isEmpty() ? Double.NaN : Double.parseDouble(value);
+    }
+}
@@ -2,12 +2,19 @@ package com.example.model;
 
 import java.util.AbstractList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.NoSuchElementException;
 
 /**
  * Пользовательская реализация списка на основе массива.
  * Позволяет хранить и управлять элементами.
+ * <p>
+ * Емкость массива увеличивается по стратегии {@link GrowthPolicy} (по умолчанию в 1.5 раза), но не меньше,
+ * чем требуется, — за одно копирование. Для массовой загрузки емкость можно задать заранее конструктором
+ * или {@link #ensureCapacity(int)}, а лишнюю освободить {@link #trimToSize()}. Количество расширений
+ * и скопированных элементов доступно через {@link #getGrowCount()} и {@link #getCopiedElements()}.
+ * </p>
  *
  * @param <E> Тип элементов, которые будут храниться в списке.
  */
@@ -21,8 +28,19 @@ public class CustomArrayList<E> extends AbstractList<E> implements List<E> {
     /**
      * Пустой массив, используемый при инициализации списка с нулевой емкостью.
      */
+    private static final Object[] EMPTY_ELEMENTDATA = {};
+
+    /**
+     * Пустой массив списка, созданного без емкости: при первом добавлении емкость становится
+     * не меньше {@link #DEFAULT_CAPACITY}.
+     */
     private static final Object[] DEFAULTCAPACITY_EMPTY_ELEMENTDATA = {};
 
+    /**
+     * Максимальный размер массива; некоторые JVM резервируют несколько слов в заголовке массива.
+     */
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
     /**
      * Массив для хранения элементов списка.
      */
@@ -33,11 +51,61 @@ public class CustomArrayList<E> extends AbstractList<E> implements List<E> {
      */
     private int size;
 
+    /**
+     * Стратегия увеличения емкости.
+     */
+    private final GrowthPolicy growthPolicy;
+
+    /**
+     * Количество расширений массива.
+     */
+    private long growCount;
+
+    /**
+     * Количество элементов, скопированных при изменении емкости.
+     */
+    private long copiedElements;
+
     /**
      * Создает новый пустой список.
      */
     public CustomArrayList() {
+        this(GrowthPolicy.ONE_AND_HALF);
+    }
+
+    /**
+     * Создает новый пустой список с заданной стратегией увеличения емкости.
+     *
+     * @param growthPolicy Стратегия увеличения емкости.
+     */
+    public CustomArrayList(GrowthPolicy growthPolicy) {
         this.elementData = DEFAULTCAPACITY_EMPTY_ELEMENTDATA;
+        this.growthPolicy = growthPolicy;
+    }
+
+    /**
+     * Создает новый пустой список с заданной начальной емкостью.
+     *
+     * @param initialCapacity Начальная емкость.
+     * @throws IllegalArgumentException Если емкость отрицательная.
+     */
+    public CustomArrayList(int initialCapacity) {
+        this(initialCapacity, GrowthPolicy.ONE_AND_HALF);
+    }
+
+    /**
+     * Создает новый пустой список с заданной начальной емкостью и стратегией увеличения емкости.
+     *
+     * @param initialCapacity Начальная емкость.
+     * @param growthPolicy    Стратегия увеличения емкости.
+     * @throws IllegalArgumentException Если емкость отрицательная.
+     */
+    public CustomArrayList(int initialCapacity, GrowthPolicy growthPolicy) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal Capacity: " + initialCapacity);
+        }
+        this.elementData = initialCapacity == 0 ? EMPTY_ELEMENTDATA : new Object[initialCapacity];
+        this.growthPolicy = growthPolicy;
     }
 
     /**
@@ -52,6 +120,24 @@ public class CustomArrayList<E> extends AbstractList<E> implements List<E> {
         return true;
     }
 
+    /**
+     * Добавляет все элементы коллекции в конец списка, расширяя массив не больше одного раза.
+     *
+     * @param c Коллекция элементов для добавления.
+     * @return {@code true}, если список изменился.
+     */
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        Object[] added = c.toArray();
+        if (added.length == 0) {
+            return false;
+        }
+        ensureCapacityInternal(size + added.length);
+        System.arraycopy(added, 0, elementData, size, added.length);
+        size += added.length;
+        return true;
+    }
+
     /**
      * Возвращает элемент по индексу.
      *
@@ -87,6 +173,55 @@ public class CustomArrayList<E> extends AbstractList<E> implements List<E> {
         return (E) elementData[index];
     }
 
+    /**
+     * Увеличивает емкость массива, чтобы в списке поместилось не меньше указанного количества элементов
+     * без дальнейших расширений. Используется перед массовым добавлением.
+     *
+     * @param minCapacity Минимальная необходимая емкость.
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > elementData.length) {
+            ensureExplicitCapacity(minCapacity);
+        }
+    }
+
+    /**
+     * Уменьшает емкость массива до текущего размера списка.
+     */
+    public void trimToSize() {
+        if (size < elementData.length) {
+            elementData = size == 0 ? EMPTY_ELEMENTDATA : Arrays.copyOf(elementData, size);
+            copiedElements += size;
+        }
+    }
+
+    /**
+     * Возвращает текущую емкость массива.
+     *
+     * @return Емкость массива.
+     */
+    public int getCapacity() {
+        return elementData.length;
+    }
+
+    /**
+     * Возвращает количество расширений массива с момента создания списка.
+     *
+     * @return Количество расширений.
+     */
+    public long getGrowCount() {
+        return growCount;
+    }
+
+    /**
+     * Возвращает количество элементов, скопированных при расширении и сжатии массива.
+     *
+     * @return Количество скопированных элементов.
+     */
+    public long getCopiedElements() {
+        return copiedElements;
+    }
+
     /**
      * Обеспечивает наличие достаточной емкости для добавления новых элементов.
      *
@@ -106,17 +241,30 @@ public class CustomArrayList<E> extends AbstractList<E> implements List<E> {
      */
     private void ensureExplicitCapacity(int minCapacity) {
         if (minCapacity - elementData.length > 0) {
-            grow();
+            grow(minCapacity);
         }
     }
 
     /**
-     * Увеличивает емкость массива по формуле (старый размер * 3 / 2 + 1).
+     * Увеличивает емкость массива по стратегии {@link #growthPolicy}, но не меньше требуемой.
+     *
+     * @param minCapacity Минимальная необходимая емкость.
+     * @throws OutOfMemoryError Если требуемая емкость больше максимального размера массива.
      */
-    private void grow() {
-        int oldCapacity = elementData.length;
-        int newCapacity = (oldCapacity * 3) / 2 + 1;
+    private void grow(int minCapacity) {
+        if (minCapacity < 0 || minCapacity > MAX_ARRAY_SIZE) {
+            throw new OutOfMemoryError("Required array length is too large: "
+                    + Integer.toUnsignedString(minCapacity));
+        }
+        int newCapacity = growthPolicy.grow(elementData.length);
+        if (newCapacity < 0 || newCapacity > MAX_ARRAY_SIZE) {
+            // Переполнение при расчете по стратегии
+            newCapacity = MAX_ARRAY_SIZE;
+        }
+        newCapacity = Math.max(newCapacity, minCapacity);
         elementData = Arrays.copyOf(elementData, newCapacity);
+        growCount++;
+        copiedElements += size;
     }
 
     /**
@@ -0,0 +1,44 @@
+package com.example.model;
+
+/**
+ * Стратегия увеличения емкости массива {@link CustomArrayList}.
+ * <p>
+ * Стратегия предлагает новую емкость по текущей; список сам увеличивает ее до требуемой,
+ * если предложенной не хватает, поэтому массив всегда копируется один раз на расширение.
+ * </p>
+ */
+@FunctionalInterface
+public interface GrowthPolicy {
+    /**
+     * Увеличение в 1.5 раза: {@code старая * 3 / 2 + 1}. Используется по умолчанию.
+     */
+    GrowthPolicy ONE_AND_HALF = oldCapacity -> oldCapacity * 3 / 2 + 1;
+
+    /**
+     * Увеличение в 2 раза: меньше копирований ценой большего неиспользуемого хвоста массива.
+     */
+    GrowthPolicy DOUBLE = oldCapacity -> oldCapacity * 2;
+
+    /**
+     * Возвращает новую емкость массива.
+     *
+     * @param oldCapacity текущая емкость.
+     * @return предлагаемая емкость; может быть меньше требуемой или переполниться, это учитывает список.
+     */
+    int grow(int oldCapacity);
+
+    /**
+     * Создает стратегию увеличения на фиксированное количество элементов.
+     * Неиспользуемый хвост не больше блока, но количество копируемых элементов растет квадратично.
+     *
+     * @param chunk размер блока.
+     * @return стратегия.
+     * @throws IllegalArgumentException если размер блока не положительный.
+     */
+    static GrowthPolicy chunked(int chunk) {
+        if (chunk <= 0) {
+            throw new IllegalArgumentException("Illegal chunk: " + chunk);
+        }
+        return oldCapacity -> oldCapacity + chunk;
+    }
+}
@@ -1,26 +1,44 @@
 package com.example.view;
 
+import com.example.logger.ResultsFile;
+import com.example.model.BenchmarkResult;
+
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.geom.Path2D;
+import java.awt.image.BufferedImage;
 import java.io.*;
 import java.util.*;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
- * Класс для визуализации производительности коллекций ArrayList и LinkedList.
+ * Класс для визуализации производительности реализаций списков.
  * Создает графическое отображение времени выполнения операций добавления и удаления
  * элементов для различных размеров коллекций.
  *
  * <p>Приложение создает окно с четырьмя графиками, показывающими:
  * <ul>
- *   <li>Среднее время добавления элементов</li>
- *   <li>Среднее время удаления элементов</li>
- *   <li>Общее время добавления элементов</li>
- *   <li>Общее время удаления элементов</li>
+ *   <li>Время добавления элемента (среднее с 95% доверительным интервалом, медиана или общее время прогона)</li>
+ *   <li>Время удаления элемента</li>
+ *   <li>Количество добавлений в секунду</li>
+ *   <li>Количество удалений в секунду</li>
  * </ul>
  * </p>
  *
+ * <p>Каждая реализация списка из результатов — отдельная серия; обе оси логарифмические. Графики
+ * рисуются в изображения в фоновом потоке, а в потоке обработки событий изображение только копируется
+ * на экран, поэтому окно не замедляется при большом количестве точек.</p>
+ *
+ * <p>Данные читаются из CSV-файла результатов ({@link #loadResults(ResultsFile)});
+ * разбор текстового лога ({@link #parseLogFile(String)}) оставлен для старых логов.</p>
+ *
  * @author [Ваше имя]
  * @version 1.0
  */
@@ -38,22 +56,51 @@ public class CollectionPerformanceVisualizer extends JFrame {
     /**
      * Отступ от краев графика в пикселях
      */
-    private static final int PADDING = 50;
+    private static final int PADDING = 60;
 
     /**
-     * Массив количества элементов, для которых проводится тестирование
+     * Цвета серий в порядке названий списков
      */
-    private static final int[] ELEMENT_COUNTS = {10, 100, 1000, 10000, 100000};
+    private static final Color[] PALETTE = {Color.BLUE, Color.RED, new Color(0, 150, 0), Color.MAGENTA,
+            Color.ORANGE, new Color(0, 150, 150), Color.GRAY, Color.BLACK};
 
     /**
-     * Хранит данные о производительности ArrayList для разных размеров коллекции
+     * Показатель, отображаемый на графиках времени.
      */
-    private Map<Integer, PerformanceData> arrayListData = new HashMap<>();
+    public enum TimeMetric {
+        MEAN("Mean time per operation, ns"),
+        MEDIAN("Median time per operation, ns"),
+        TOTAL("Total time per run, ns");
+
+        private final String label;
+
+        TimeMetric(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
 
     /**
-     * Хранит данные о производительности LinkedList для разных размеров коллекции
+     * Поток отрисовки графиков
      */
-    private Map<Integer, PerformanceData> linkedListData = new HashMap<>();
+    private final ExecutorService renderer = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "chart-renderer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final List<ChartPanel> charts = new ArrayList<>();
+
+    /**
+     * Последний результат каждого замера: список → операция → количество элементов → результат
+     */
+    private volatile Map<String, Map<String, NavigableMap<Integer, BenchmarkResult>>> data = Map.of();
+
+    private volatile TimeMetric timeMetric = TimeMetric.MEAN;
 
     /**
      * Конструктор класса. Создает основное окно приложения и инициализирует
@@ -64,125 +111,282 @@ public class CollectionPerformanceVisualizer extends JFrame {
         setSize(WIDTH, HEIGHT);
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
 
+        JComboBox<TimeMetric> metricCombo = new JComboBox<>(TimeMetric.values());
+        metricCombo.addActionListener(e -> {
+            timeMetric = (TimeMetric) metricCombo.getSelectedItem();
+            renderAll();
+        });
+        JPanel toolbar = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        toolbar.add(new JLabel("Time:"));
+        toolbar.add(metricCombo);
+
         JPanel mainPanel = new JPanel(new GridLayout(2, 2));
-        mainPanel.add(createChartPanel("Average Add Time", true, true));
-        mainPanel.add(createChartPanel("Average Remove Time", true, false));
-        mainPanel.add(createChartPanel("Total Add Time", false, true));
-        mainPanel.add(createChartPanel("Total Remove Time", false, false));
+        charts.add(new ChartPanel("add", false));
+        charts.add(new ChartPanel("remove", false));
+        charts.add(new ChartPanel("add", true));
+        charts.add(new ChartPanel("remove", true));
+        charts.forEach(mainPanel::add);
 
-        add(mainPanel);
+        add(toolbar, BorderLayout.NORTH);
+        add(mainPanel, BorderLayout.CENTER);
     }
 
     /**
-     * Создает панель с графиком для отображения определенного типа данных.
+     * Загружает результаты замеров из CSV-файла в фоновом потоке. Записи разных запусков
+     * не объединяются и не усредняются: если для списка, операции и количества элементов есть
+     * несколько записей, показывается последняя из них (см. {@link #setResults(List)}).
+     * Для сравнения запусков используется {@link com.example.BenchmarkBaseline}.
      *
-     * @param title название графика
-     * @param isAverage true для отображения среднего времени, false для общего времени
-     * @param isAdd true для операций добавления, false для операций удаления
-     * @return панель с графиком
+     * @param results файл результатов
      */
-    private JPanel createChartPanel(String title, boolean isAverage, boolean isAdd) {
-        return new JPanel() {
-            @Override
-            protected void paintComponent(Graphics g) {
-                super.paintComponent(g);
-                Graphics2D g2d = (Graphics2D) g;
-                g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-                int width = getWidth() - 2 * PADDING;
-                int height = getHeight() - 2 * PADDING;
-
-                // Draw axes
-                g2d.drawLine(PADDING, getHeight() - PADDING, PADDING, PADDING);
-                g2d.drawLine(PADDING, getHeight() - PADDING, getWidth() - PADDING, getHeight() - PADDING);
-
-                // Draw title
-                g2d.drawString(title, getWidth() / 2 - 50, 20);
-
-                // Find max value for scaling
-                double maxValue = 0;
-                for (int count : ELEMENT_COUNTS) {
-                    if (arrayListData.containsKey(count)) {
-                        PerformanceData data = arrayListData.get(count);
-                        maxValue = Math.max(maxValue, isAdd ?
-                                (isAverage ? data.addMedianTime : data.addTotalTime) :
-                                (isAverage ? data.removeMedianTime : data.removeTotalTime));
+    public void loadResults(ResultsFile results) {
+        renderer.execute(() -> setResults(results.readAll()));
+    }
+
+    /**
+     * Заменяет отображаемые результаты и перерисовывает графики. Может вызываться из любого потока.
+     * Для каждого списка, операции и количества элементов остается последняя по порядку запись,
+     * поэтому при нескольких запусках в одном файле графики показывают самый поздний.
+     *
+     * @param results результаты замеров в порядке записи
+     */
+    public void setResults(List<BenchmarkResult> results) {
+        Map<String, Map<String, NavigableMap<Integer, BenchmarkResult>>> byList = new TreeMap<>();
+        for (BenchmarkResult result : results) {
+            byList.computeIfAbsent(result.list(), list -> new HashMap<>())
+                    .computeIfAbsent(result.operation(), operation -> new TreeMap<>())
+                    // Более поздняя запись того же замера заменяет прежнюю
+                    .put(result.elements(), result);
+        }
+        data = byList;
+        SwingUtilities.invokeLater(this::renderAll);
+    }
+
+    private void renderAll() {
+        charts.forEach(ChartPanel::requestRender);
+    }
+
+    /**
+     * Панель графика одной операции. Изображение графика готовится в потоке {@link #renderer}
+     * при изменении данных, показателя или размера панели.
+     */
+    private class ChartPanel extends JPanel {
+        private final String operation;
+        private final boolean throughput;
+        private final AtomicInteger generation = new AtomicInteger();
+        private BufferedImage image;
+
+        ChartPanel(String operation, boolean throughput) {
+            this.operation = operation;
+            this.throughput = throughput;
+            setBackground(Color.WHITE);
+            addComponentListener(new ComponentAdapter() {
+                @Override
+                public void componentResized(ComponentEvent e) {
+                    requestRender();
+                }
+            });
+        }
+
+        /**
+         * Запускает отрисовку графика. Устаревшие запросы (например, при непрерывном изменении
+         * размера окна) пропускаются.
+         */
+        void requestRender() {
+            int width = getWidth();
+            int height = getHeight();
+            if (width <= 0 || height <= 0) {
+                return;
+            }
+            int current = generation.incrementAndGet();
+            Map<String, Map<String, NavigableMap<Integer, BenchmarkResult>>> snapshot = data;
+            TimeMetric metric = timeMetric;
+            renderer.execute(() -> {
+                if (current != generation.get()) {
+                    return;
+                }
+                BufferedImage rendered = render(snapshot, metric, width, height);
+                SwingUtilities.invokeLater(() -> {
+                    if (current == generation.get()) {
+                        image = rendered;
+                        repaint();
                     }
-                    if (linkedListData.containsKey(count)) {
-                        PerformanceData data = linkedListData.get(count);
-                        maxValue = Math.max(maxValue, isAdd ?
-                                (isAverage ? data.addMedianTime : data.addTotalTime) :
-                                (isAverage ? data.removeMedianTime : data.removeTotalTime));
+                });
+            });
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            super.paintComponent(g);
+            if (image != null) {
+                // До окончания отрисовки под новый размер растягивается прежнее изображение
+                g.drawImage(image, 0, 0, getWidth(), getHeight(), null);
+            }
+        }
+
+        private BufferedImage render(Map<String, Map<String, NavigableMap<Integer, BenchmarkResult>>> snapshot,
+                                     TimeMetric metric, int width, int height) {
+            BufferedImage rendered = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g2d = rendered.createGraphics();
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2d.setColor(Color.WHITE);
+            g2d.fillRect(0, 0, width, height);
+            g2d.setColor(Color.BLACK);
+
+            // Draw title
+            String title = (operation.equals("add") ? "Add: " : "Remove: ")
+                    + (throughput ? "operations per second" : metric.toString());
+            g2d.drawString(title, width / 2 - g2d.getFontMetrics().stringWidth(title) / 2, 20);
+
+            // Collect points and axis ranges
+            Map<String, List<double[]>> series = new LinkedHashMap<>();
+            double minX = Double.MAX_VALUE, maxX = 0, minY = Double.MAX_VALUE, maxY = 0;
+            for (Map.Entry<String, Map<String, NavigableMap<Integer, BenchmarkResult>>> list : snapshot.entrySet()) {
+                NavigableMap<Integer, BenchmarkResult> results = list.getValue().get(operation);
+                if (results == null) {
+                    continue;
+                }
+                List<double[]> points = new ArrayList<>();
+                for (BenchmarkResult result : results.values()) {
+                    double[] point = point(result, metric);
+                    if (!(point[1] > 0)) {
+                        continue;
                     }
+                    points.add(point);
+                    minX = Math.min(minX, point[0]);
+                    maxX = Math.max(maxX, point[0]);
+                    minY = Math.min(minY, point[2] > 0 ? point[2] : point[1]);
+                    maxY = Math.max(maxY, point[3] > 0 ? point[3] : point[1]);
                 }
+                series.put(list.getKey(), points);
+            }
+            if (maxX == 0) {
+                g2d.drawString("No data", width / 2 - 20, height / 2);
+                g2d.dispose();
+                return rendered;
+            }
 
-                // Draw scale
-                for (int i = 0; i <= 5; i++) {
-                    int y = getHeight() - PADDING - (i * height / 5);
-                    g2d.drawString(String.format("%.2f", maxValue * i / 5), 5, y);
-                }
+            LogAxis xAxis = new LogAxis(minX, maxX, PADDING, width - PADDING);
+            LogAxis yAxis = new LogAxis(minY, maxY, height - PADDING, PADDING);
 
-                // Draw data points and lines
-                drawDataLine(g2d, arrayListData, Color.BLUE, width, height, maxValue, isAverage, isAdd);
-                drawDataLine(g2d, linkedListData, Color.RED, width, height, maxValue, isAverage, isAdd);
-
-                // Draw legend
-                g2d.setColor(Color.BLUE);
-                g2d.fillRect(getWidth() - 120, 20, 20, 10);
-                g2d.drawString("ArrayList", getWidth() - 90, 30);
-                g2d.setColor(Color.RED);
-                g2d.fillRect(getWidth() - 120, 40, 20, 10);
-                g2d.drawString("LinkedList", getWidth() - 90, 50);
+            // Draw grid and axes
+            for (int decade = xAxis.fromDecade; decade <= xAxis.toDecade; decade++) {
+                int x = (int) xAxis.map(Math.pow(10, decade));
+                g2d.setColor(Color.LIGHT_GRAY);
+                g2d.drawLine(x, PADDING, x, height - PADDING);
+                g2d.setColor(Color.BLACK);
+                g2d.drawString(formatDecade(decade), x - 10, height - PADDING + 20);
+            }
+            for (int decade = yAxis.fromDecade; decade <= yAxis.toDecade; decade++) {
+                int y = (int) yAxis.map(Math.pow(10, decade));
+                g2d.setColor(Color.LIGHT_GRAY);
+                g2d.drawLine(PADDING, y, width - PADDING, y);
+                g2d.setColor(Color.BLACK);
+                g2d.drawString(formatDecade(decade), 5, y + 5);
             }
+            g2d.drawLine(PADDING, height - PADDING, PADDING, PADDING);
+            g2d.drawLine(PADDING, height - PADDING, width - PADDING, height - PADDING);
+            g2d.drawString("elements", width - PADDING - 50, height - PADDING + 35);
 
-            private void drawDataLine(Graphics2D g2d, Map<Integer, PerformanceData> data,
-                                      Color color, int width, int height, double maxValue,
-                                      boolean isAverage, boolean isAdd) {
-                g2d.setColor(color);
-                int prevX = 0, prevY = 0;
-                boolean first = true;
-
-                for (int i = 0; i < ELEMENT_COUNTS.length; i++) {
-                    int count = ELEMENT_COUNTS[i];
-                    if (data.containsKey(count)) {
-                        PerformanceData perfData = data.get(count);
-                        double value = isAdd ?
-                                (isAverage ? perfData.addMedianTime : perfData.addTotalTime) :
-                                (isAverage ? perfData.removeMedianTime : perfData.removeTotalTime);
-
-                        int x = PADDING + (i * width / (ELEMENT_COUNTS.length - 1));
-                        int y = getHeight() - PADDING - (int)((value / maxValue) * height);
-
-                        g2d.fillOval(x - 3, y - 3, 6, 6);
-                        if (!first) {
-                            g2d.drawLine(prevX, prevY, x, y);
-                        }
-                        first = false;
-                        prevX = x;
-                        prevY = y;
-
-                        // Draw x-axis labels
-                        g2d.drawString(String.valueOf(count), x - 20, getHeight() - PADDING + 20);
+            // Draw data lines, points, error bars and legend
+            int index = 0;
+            for (Map.Entry<String, List<double[]>> entry : series.entrySet()) {
+                g2d.setColor(PALETTE[index % PALETTE.length]);
+                Path2D.Double line = new Path2D.Double();
+                for (double[] point : entry.getValue()) {
+                    double x = xAxis.map(point[0]);
+                    double y = yAxis.map(point[1]);
+                    if (line.getCurrentPoint() == null) {
+                        line.moveTo(x, y);
+                    } else {
+                        line.lineTo(x, y);
+                    }
+                    g2d.fillOval((int) x - 3, (int) y - 3, 6, 6);
+                    if (point[2] > 0 && point[3] > 0) {
+                        int top = (int) yAxis.map(point[3]);
+                        int bottom = (int) yAxis.map(point[2]);
+                        g2d.drawLine((int) x, top, (int) x, bottom);
+                        g2d.drawLine((int) x - 3, top, (int) x + 3, top);
+                        g2d.drawLine((int) x - 3, bottom, (int) x + 3, bottom);
                     }
                 }
+                g2d.draw(line);
+
+                int legendY = 20 + index * 18;
+                g2d.fillRect(width - 150, legendY, 20, 10);
+                g2d.drawString(entry.getKey(), width - 120, legendY + 10);
+                index++;
+            }
+            g2d.dispose();
+            return rendered;
+        }
+
+        /**
+         * Возвращает точку графика: количество элементов, значение и границы погрешности
+         * (0, если погрешность неизвестна).
+         */
+        private double[] point(BenchmarkResult result, TimeMetric metric) {
+            double ci = Double.isNaN(result.ci95Ns()) ? 0 : result.ci95Ns();
+            if (throughput) {
+                double low = ci > 0 ? 1e9 / (result.meanNs() + ci) : 0;
+                double high = ci > 0 && result.meanNs() > ci ? 1e9 / (result.meanNs() - ci) : 0;
+                return new double[]{result.elements(), result.opsPerSecond(), low, high};
             }
-        };
+            return switch (metric) {
+                case MEAN -> new double[]{result.elements(), result.meanNs(),
+                        ci > 0 ? result.meanNs() - ci : 0, ci > 0 ? result.meanNs() + ci : 0};
+                case MEDIAN -> new double[]{result.elements(), result.p50Ns(), 0, 0};
+                case TOTAL -> new double[]{result.elements(), result.totalNs(),
+                        ci > 0 ? result.totalNs() - ci * result.elements() : 0,
+                        ci > 0 ? result.totalNs() + ci * result.elements() : 0};
+            };
+        }
+    }
+
+    /**
+     * Логарифмическая ось, границы которой округлены до степеней десяти.
+     */
+    private static class LogAxis {
+        final int fromDecade;
+        final int toDecade;
+        final double start;
+        final double end;
+
+        LogAxis(double min, double max, double start, double end) {
+            fromDecade = (int) Math.floor(Math.log10(min));
+            int decade = (int) Math.ceil(Math.log10(max));
+            toDecade = decade > fromDecade ? decade : fromDecade + 1;
+            this.start = start;
+            this.end = end;
+        }
+
+        double map(double value) {
+            double position = (Math.log10(value) - fromDecade) / (toDecade - fromDecade);
+            return start + position * (end - start);
+        }
+    }
+
+    private static String formatDecade(int decade) {
+        return decade >= 0 && decade <= 5 ? String.valueOf((long) Math.pow(10, decade)) : "1e" + decade;
     }
 
     /**
      * Читает и парсит файл логов с результатами тестирования производительности.
+     * В старых логах значение {@code addMedianTime} было средним временем операции, поэтому
+     * при отсутствии {@code addMeanTime} оно используется как среднее.
      *
      * @param filePath путь к файлу с логами
-     * @throws IOException если возникла ошибка при чтении файла
      */
     public void parseLogFile(String filePath) {
+        List<BenchmarkResult> results = new ArrayList<>();
         try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
             String line;
             String currentList = null;
-            PerformanceData currentData = null;
+            Map<String, Double> values = new HashMap<>();
             int currentElements = 0;
 
             Pattern testPattern = Pattern.compile("---------- TEST WITH (\\d+) ELEMENTS----------");
+            Pattern valuePattern = Pattern.compile("^(add|remove)(MeanTime|MedianTime|TotalTime)=");
 
             while ((line = reader.readLine()) != null) {
                 Matcher matcher = testPattern.matcher(line);
@@ -191,33 +395,41 @@ public class CollectionPerformanceVisualizer extends JFrame {
                     continue;
                 }
 
-                if (line.equals("ArrayList")) {
-                    currentList = "ArrayList";
-                    currentData = new PerformanceData();
-                    arrayListData.put(currentElements, currentData);
-                    continue;
-                } else if (line.equals("LinkedList")) {
-                    currentList = "LinkedList";
-                    currentData = new PerformanceData();
-                    linkedListData.put(currentElements, currentData);
+                if (line.matches("\\w+List")) {
+                    addLogResults(results, currentList, currentElements, values);
+                    currentList = line;
+                    values.clear();
                     continue;
                 }
 
-                if (currentData != null) {
-                    if (line.contains("addMedianTime=")) {
-                        currentData.addMedianTime = extractNumber(line);
-                    } else if (line.contains("removeMedianTime=")) {
-                        currentData.removeMedianTime = extractNumber(line);
-                    } else if (line.contains("addTotalTime=")) {
-                        currentData.addTotalTime = extractNumber(line);
-                    } else if (line.contains("removeTotalTime=")) {
-                        currentData.removeTotalTime = extractNumber(line);
-                    }
+                Matcher valueMatcher = valuePattern.matcher(line);
+                if (currentList != null && valueMatcher.find()) {
+                    values.put(valueMatcher.group(1) + valueMatcher.group(2), extractNumber(line));
                 }
             }
+            addLogResults(results, currentList, currentElements, values);
         } catch (IOException e) {
             e.printStackTrace();
         }
+        setResults(results);
+    }
+
+    private static void addLogResults(List<BenchmarkResult> results, String list, int elements,
+                                      Map<String, Double> values) {
+        if (list == null) {
+            return;
+        }
+        for (String operation : new String[]{"add", "remove"}) {
+            Double median = values.get(operation + "MedianTime");
+            if (median == null) {
+                continue;
+            }
+            // В старых логах нет MeanTime, а MedianTime на самом деле было средним временем операции
+            double mean = values.getOrDefault(operation + "MeanTime", median);
+            long total = values.getOrDefault(operation + "TotalTime", 0.0).longValue();
+            results.add(new BenchmarkResult("", "", "", "", list, operation, elements, 1, total, mean,
+                    Double.NaN, median.longValue(), 0, 0, 0, 0, Double.NaN, 0, 0, Double.NaN, Double.NaN, Double.NaN));
+        }
     }
 
     /**
@@ -227,21 +439,11 @@ public class CollectionPerformanceVisualizer extends JFrame {
      * @return извлеченное числовое значение или 0, если значение не найдено
      */
     private double extractNumber(String line) {
-        Pattern pattern = Pattern.compile("\\d+");
+        Pattern pattern = Pattern.compile("=(\\d+(?:\\.\\d+)?)");
         Matcher matcher = pattern.matcher(line);
         if (matcher.find()) {
-            return Double.parseDouble(matcher.group());
+            return Double.parseDouble(matcher.group(1));
         }
         return 0;
     }
-
-    /**
-     * Внутренний класс для хранения данных о производительности коллекции.
-     */
-    private static class PerformanceData {
-        double addMedianTime;
-        double removeMedianTime;
-        double addTotalTime;
-        double removeTotalTime;
-    }
-}
\ No newline at end of file
+}
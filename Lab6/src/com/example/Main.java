@@ -1,27 +1,121 @@
 package com.example;
 
+import com.example.model.GradingPolicy;
 import com.example.test.TestDb;
 import com.example.util.DatabaseManager;
 import com.example.util.Logger;
 import com.example.util.PropertiesReader;
+import com.example.util.Settings;
+import com.example.util.StartupProfiler;
 import com.example.view.MainWindow;
 import com.example.view.View;
 
 import javax.swing.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.IOException;
 
 /**
  * Класс {@code Main} является точкой входа в приложение.
+ * <p>
+ * Длительность каждого этапа запуска записывается в лог (см. {@link StartupProfiler}).
+ * При настройке {@code lazyLoad=true} главное окно показывается сразу, а база данных
+ * загружается в фоне; кнопки окна становятся доступны после окончания загрузки.
+ * При настройке {@code metrics.dumpSeconds} больше нуля метрики базы данных
+ * записываются в лог с этим периодом; изменение настройки применяется без перезапуска.
+ * </p>
+ * <p>
+ * С аргументом {@value #CONSOLE_ARG} вместо главного окна запускается консольное меню {@link View}:
+ * в нем (для группы {@code root}) доступны автотесты, массовый импорт и экспорт, бенчмарки
+ * и отчет о метриках базы данных.
+ * </p>
  */
 public class Main {
+    /**
+     * Аргумент командной строки для запуска консольного меню.
+     */
+    public static final String CONSOLE_ARG = "--console";
+
     public static void main(String[] args) {
+        // Метки для StartupBenchmark
+        boolean benchmark = Boolean.getBoolean("startup.benchmark");
+        if (benchmark) {
+            System.out.println("STARTUP main=" + System.currentTimeMillis());
+        }
+        StartupProfiler profiler = new StartupProfiler();
         PropertiesReader propertiesReader = new PropertiesReader("settings.properties");
+        profiler.mark("чтение настроек");
         Logger logger = new Logger("app.log", propertiesReader);
-        DatabaseManager dbManager = new DatabaseManager(logger);
+        profiler.mark("создание логгера");
+        GradingPolicy.install(propertiesReader.getSettings().getGradingPolicy());
+        propertiesReader.addListener(settings -> {
+            try {
+                GradingPolicy.install(settings.getGradingPolicy());
+            } catch (IllegalArgumentException e) {
+                logger.logError("Правила оценивания не обновлены: " + e.getMessage());
+            }
+        });
+        try {
+            propertiesReader.startWatching();
+        } catch (IOException e) {
+            logger.logError("Не удалось включить отслеживание настроек: " + e.getMessage());
+        }
+        profiler.mark("правила оценивания и отслеживание настроек");
+        boolean lazy = propertiesReader.getSettings().isLazyLoad();
+        boolean console = args.length > 0 && args[0].equals(CONSOLE_ARG);
+        // Окна получают изменения базы в потоке Swing, консольное меню — сразу
+        DatabaseManager dbManager = console
+                ? new DatabaseManager(logger, lazy)
+                : new DatabaseManager(logger, lazy, SwingUtilities::invokeLater);
+        profiler.mark(lazy ? "запуск фоновой загрузки базы данных" : "загрузка базы данных");
+        applyMetricsDump(propertiesReader.getSettings(), dbManager, logger);
+        propertiesReader.addListener(settings -> applyMetricsDump(settings, dbManager, logger));
         TestDb testDb = new TestDb(logger, dbManager);
+        profiler.mark("инициализация тестов");
+        if (console) {
+            View view = new View(dbManager, propertiesReader, testDb, logger);
+            view.showStartMessage();
+            view.showMainMenu();
+            propertiesReader.stopWatching();
+            dbManager.getMetrics().stopDump();
+            return;
+        }
         SwingUtilities.invokeLater(() -> {
+            profiler.mark("ожидание потока Swing");
             MainWindow mainWindow = new MainWindow(dbManager);
+            profiler.mark("создание главного окна");
+            mainWindow.addWindowListener(new WindowAdapter() {
+                @Override
+                public void windowOpened(WindowEvent e) {
+                    profiler.mark("первый показ главного окна");
+                    profiler.report(logger);
+                    if (benchmark) {
+                        System.out.println("STARTUP window=" + System.currentTimeMillis());
+                        System.exit(0);
+                    }
+                }
+            });
             mainWindow.setVisible(true);
         });
+        if (lazy) {
+            dbManager.whenReady(() -> logger.logInfo(String.format(
+                    "Запуск: база данных готова через %d (ms) после старта", profiler.elapsedMillis())),
+                    error -> logger.logError("Запуск: база данных не загружена: " + error.getMessage()));
+        }
     }
-}
 
+    private static void applyMetricsDump(Settings settings, DatabaseManager dbManager, Logger logger) {
+        long dumpSeconds;
+        try {
+            dumpSeconds = settings.getMetricsDumpSeconds();
+        } catch (IllegalArgumentException e) {
+            logger.logError("Запись метрик не изменена: " + e.getMessage());
+            return;
+        }
+        if (dumpSeconds > 0) {
+            dbManager.getMetrics().startDump(logger, dumpSeconds);
+        } else {
+            dbManager.getMetrics().stopDump();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.controller;
+
+/**
+ * Итог пакетного выставления оценок.
+ *
+ * @param processed    количество успешно обработанных записей
+ * @param failed       количество отклоненных записей (неизвестный студент или преподаватель, студент без родителя, неверные оценки)
+ * @param elapsedNanos общее время обработки, включая сохранение, в наносекундах
+ */
+public record BatchGradingResult(int processed, int failed, long elapsedNanos) {
+
+    /**
+     * Возвращает пропускную способность обработки.
+     *
+     * @return количество записей в секунду
+     */
+    public double recordsPerSecond() {
+        if (elapsedNanos == 0) {
+            return 0;
+        }
+        return (processed + failed) * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Обработано: %d, отклонено: %d, время: %d (ms), %.0f записей/с",
+                processed, failed, elapsedNanos / 1_000_000, recordsPerSecond());
+    }
+}
@@ -1,9 +1,20 @@
 package com.example.controller;
 
+import com.example.model.GradeEvent;
+import com.example.model.GradeRecord;
+import com.example.model.Parent;
 import com.example.model.Student;
 import com.example.model.Teacher;
+import com.example.util.DatabaseManager;
 import com.example.util.Logger;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
 /**
  * Класс {@code Controller} управляет взаимодействием между студентами,
  * преподавателями и родителями. Он обеспечивает процесс выставления
@@ -24,14 +35,106 @@ public class Controller {
      * @param teacher преподаватель, выставляющий оценки
      * @param student студент, получающий оценки
      * @param grades  массив оценок
+     * @return {@code true}, если оценки выставлены, иначе {@code false}
      */
-    public void assignGrades(Teacher teacher, Student student, int[] grades) {
+    public boolean assignGrades(Teacher teacher, Student student, int[] grades) {
         try {
             teacher.setGrades(student, grades);
+            return true;
         } catch (IllegalArgumentException e) {
             System.out.println("Ошибка: " + e.getMessage());
             logger.logError("Ошибка: " + e.getMessage());
+            return false;
         }
     }
-}
 
+    /**
+     * Выставляет оценки пакетом записей и сохраняет базу данных один раз в конце.
+     * <p>
+     * Записи распределяются по разделам по родителю студента, поэтому студенты
+     * с общим родителем обрабатываются последовательно в одном разделе, а разные
+     * разделы обрабатываются параллельно. Порядок записей одного студента сохраняется.
+     * Успешные записи добавляются в журнал оценок одной операцией записи.
+     * </p>
+     *
+     * @param dbManager база данных, из которой берутся студенты и преподаватели
+     * @param records   поток записей с оценками
+     * @return итог обработки с количеством записей и пропускной способностью
+     */
+    public BatchGradingResult assignGradesBatch(DatabaseManager dbManager, Stream<GradeRecord> records) {
+        long startTime = System.nanoTime();
+        List<Student> students = dbManager.getAllStudents();
+        List<Teacher> teachers = dbManager.getAllTeachers();
+
+        int partitionCount = Runtime.getRuntime().availableProcessors() * 4;
+        List<List<Task>> partitions = new ArrayList<>(partitionCount);
+        List<List<GradeEvent>> events = new ArrayList<>(partitionCount);
+        for (int i = 0; i < partitionCount; i++) {
+            partitions.add(new ArrayList<>());
+            events.add(new ArrayList<>());
+        }
+
+        AtomicInteger processed = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+
+        Iterator<GradeRecord> iterator = records.iterator();
+        while (iterator.hasNext()) {
+            GradeRecord record = iterator.next();
+            Student student = findById(students, record.studentId());
+            Teacher teacher = findById(teachers, record.teacherId());
+            if (student == null || teacher == null) {
+                failed.incrementAndGet();
+                logger.logError("Ошибка: не найден студент " + record.studentId()
+                        + " или преподаватель " + record.teacherId());
+                continue;
+            }
+            if (student.getParent() == null) {
+                // Оценки меняют настроение родителя, поэтому без родителя запись не обработать
+                failed.incrementAndGet();
+                logger.logError("Ошибка: у студента " + record.studentId() + " нет родителя");
+                continue;
+            }
+            partitions.get(partitionOf(student.getParent(), partitionCount))
+                    .add(new Task(record, teacher, student));
+        }
+
+        long timestamp = System.currentTimeMillis();
+        IntStream.range(0, partitionCount).parallel().forEach(p -> {
+            for (Task task : partitions.get(p)) {
+                try {
+                    task.teacher.setGrades(task.student, task.record.grades());
+                    events.get(p).add(new GradeEvent(timestamp, task.student.getRecordId(),
+                            task.student.getParent().getRecordId(), task.teacher.getRecordId(),
+                            dbManager.getSubjectId(task.teacher.getSubject()), task.record.grades().clone()));
+                    processed.incrementAndGet();
+                } catch (IllegalArgumentException e) {
+                    failed.incrementAndGet();
+                    logger.logError("Ошибка: " + e.getMessage());
+                }
+            }
+        });
+
+        List<GradeEvent> allEvents = new ArrayList<>(processed.get());
+        events.forEach(allEvents::addAll);
+        dbManager.recordGradeEvents(allEvents);
+        dbManager.saveData();
+
+        BatchGradingResult result = new BatchGradingResult(processed.get(), failed.get(), System.nanoTime() - startTime);
+        logger.logInfo("Пакетное выставление оценок: " + result);
+        return result;
+    }
+
+    private static <T> T findById(List<T> list, int id) {
+        return (id > 0 && id <= list.size()) ? list.get(id - 1) : null;
+    }
+
+    private static int partitionOf(Parent parent, int partitionCount) {
+        return (System.identityHashCode(parent) & Integer.MAX_VALUE) % partitionCount;
+    }
+
+    /**
+     * Разрешенная запись: студент и преподаватель уже найдены в базе.
+     */
+    private record Task(GradeRecord record, Teacher teacher, Student student) {
+    }
+}
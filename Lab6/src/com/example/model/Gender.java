@@ -0,0 +1,59 @@
+package com.example.model;
+
+/**
+ * Перечисление {@code Gender} описывает пол студента.
+ * Каждое значение хранит строковое обозначение, которое используется
+ * в интерфейсе и в файле базы данных ("М" или "Ж").
+ */
+public enum Gender {
+    MALE("М"),
+    FEMALE("Ж");
+
+    private static final Gender[] VALUES = values();
+
+    private final String title;
+
+    Gender(String title) {
+        this.title = title;
+    }
+
+    /**
+     * Возвращает строковое обозначение пола.
+     *
+     * @return обозначение пола ("М" или "Ж")
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * Находит значение перечисления по его строковому обозначению.
+     *
+     * @param title строковое обозначение пола
+     * @return значение перечисления или {@code null}, если обозначение неизвестно
+     */
+    public static Gender fromTitle(String title) {
+        for (Gender gender : VALUES) {
+            if (gender.title.equals(title)) {
+                return gender;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Возвращает единственный разделяемый экземпляр строки для указанного обозначения пола.
+     * Известные обозначения заменяются константой перечисления, остальные значения
+     * интернируются, поэтому исходный текст сохраняется без изменений.
+     *
+     * @param title строковое обозначение пола
+     * @return канонический экземпляр строки или {@code null}
+     */
+    public static String canonical(String title) {
+        Gender gender = fromTitle(title);
+        if (gender != null) {
+            return gender.title;
+        }
+        return title == null ? null : title.intern();
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.model;
+
+/**
+ * Запись {@code GradeEvent} — неизменяемое событие выставления оценок,
+ * которое сохраняется в журнал и не удаляется.
+ * <p>
+ * Идентификаторы — это постоянные ID записей из файла {@code school_database.txt}
+ * ({@link Student#getRecordId()} и аналоги); они не сдвигаются при удалении других записей.
+ * </p>
+ *
+ * @param timestamp время оценивания в миллисекундах с начала эпохи
+ * @param studentId идентификатор студента
+ * @param parentId  идентификатор родителя студента
+ * @param teacherId идентификатор преподавателя
+ * @param subjectId идентификатор предмета преподавателя
+ * @param grades    выставленные оценки
+ */
+public record GradeEvent(long timestamp, int studentId, int parentId, int teacherId, int subjectId, int[] grades) {
+}
@@ -0,0 +1,12 @@
+package com.example.model;
+
+/**
+ * Запись {@code GradeRecord} описывает одно выставление оценок для пакетной обработки:
+ * какой студент, какой преподаватель и какие оценки.
+ *
+ * @param studentId номер студента в базе данных (позиция + 1, как в {@code DatabaseManager.getStudentById})
+ * @param teacherId номер преподавателя в базе данных (позиция + 1)
+ * @param grades    массив из 5 оценок
+ */
+public record GradeRecord(int studentId, int teacherId, int[] grades) {
+}
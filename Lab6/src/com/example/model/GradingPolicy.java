@@ -0,0 +1,157 @@
+package com.example.model;
+
+import java.util.Arrays;
+
+/**
+ * Класс {@code GradingPolicy} описывает правила, по которым средняя оценка
+ * студента превращается в настроение родителя, а настроение — в премиальные.
+ * <p>
+ * Правила задаются один раз (по умолчанию или из настроек) и компилируются в таблицы,
+ * индексированные порядковым номером {@link Mood}, а также в таблицу настроений по сумме
+ * пяти оценок. Поэтому оценка одного студента сводится к обращению к массиву.
+ * </p>
+ * <p>
+ * Настроение выбирается по наибольшей нижней границе, которую проходит средняя оценка.
+ * Если средняя оценка ниже всех границ, настроение родителя не меняется.
+ * Правила из настроек строит {@link com.example.util.Settings#getGradingPolicy()}.
+ * </p>
+ */
+public final class GradingPolicy {
+    private static final Mood[] MOODS = Mood.values();
+    private static final int GRADES_PER_STUDENT = 5;
+    private static final int MAX_TABLE_SUM = GRADES_PER_STUDENT * 5;
+
+    private static final GradingPolicy DEFAULT = new GradingPolicy(
+            new double[]{3.0, 4.0, 4.5},
+            new boolean[]{true, true, false},
+            new int[]{0, 5000, 10000});
+
+    private static volatile GradingPolicy current = DEFAULT;
+
+    private final double[] minAverage;
+    private final boolean[] inclusive;
+    private final int[] bonus;
+    private final Mood[] byDescendingMin;
+    private final Mood[] moodBySum;
+
+    private GradingPolicy(double[] minAverage, boolean[] inclusive, int[] bonus) {
+        this.minAverage = minAverage.clone();
+        this.inclusive = inclusive.clone();
+        this.bonus = bonus.clone();
+
+        byDescendingMin = MOODS.clone();
+        Arrays.sort(byDescendingMin, (a, b) -> {
+            int byMin = Double.compare(this.minAverage[b.ordinal()], this.minAverage[a.ordinal()]);
+            // При равных границах строгая граница проверяется первой
+            return byMin != 0 ? byMin : Boolean.compare(this.inclusive[a.ordinal()], this.inclusive[b.ordinal()]);
+        });
+
+        moodBySum = new Mood[MAX_TABLE_SUM + 1];
+        for (int sum = 0; sum <= MAX_TABLE_SUM; sum++) {
+            moodBySum[sum] = moodFor((double) sum / GRADES_PER_STUDENT);
+        }
+    }
+
+    /**
+     * Возвращает правила по умолчанию.
+     *
+     * @return правила по умолчанию
+     */
+    public static GradingPolicy defaultPolicy() {
+        return DEFAULT;
+    }
+
+    /**
+     * Компилирует правила из границ и премиальных, заданных для каждого настроения.
+     * Массивы индексируются порядковым номером {@link Mood} и копируются.
+     *
+     * @param minAverage нижние границы средней оценки
+     * @param inclusive  входит ли граница в интервал настроения
+     * @param bonus      премиальные
+     * @return скомпилированные правила
+     * @throws IllegalArgumentException если длина массива не равна количеству настроений
+     */
+    public static GradingPolicy of(double[] minAverage, boolean[] inclusive, int[] bonus) {
+        if (minAverage.length != MOODS.length || inclusive.length != MOODS.length || bonus.length != MOODS.length) {
+            throw new IllegalArgumentException("Правила должны быть заданы для " + MOODS.length + " настроений");
+        }
+        return new GradingPolicy(minAverage, inclusive, bonus);
+    }
+
+    /**
+     * Возвращает действующие правила оценивания.
+     *
+     * @return действующие правила
+     */
+    public static GradingPolicy getCurrent() {
+        return current;
+    }
+
+    /**
+     * Устанавливает действующие правила оценивания.
+     *
+     * @param policy новые правила
+     */
+    public static void install(GradingPolicy policy) {
+        current = policy;
+    }
+
+    /**
+     * Определяет настроение родителя по средней оценке.
+     *
+     * @param average средняя оценка
+     * @return настроение или {@code null}, если средняя оценка ниже всех границ
+     */
+    public Mood moodFor(double average) {
+        for (Mood mood : byDescendingMin) {
+            int i = mood.ordinal();
+            if (average > minAverage[i] || (inclusive[i] && average == minAverage[i])) {
+                return mood;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Определяет настроение родителя по сумме пяти оценок через заранее построенную таблицу.
+     *
+     * @param sum сумма пяти оценок
+     * @return настроение или {@code null}, если средняя оценка ниже всех границ
+     */
+    public Mood moodForSum(int sum) {
+        if (sum >= 0 && sum <= MAX_TABLE_SUM) {
+            return moodBySum[sum];
+        }
+        return moodFor((double) sum / GRADES_PER_STUDENT);
+    }
+
+    /**
+     * Возвращает премиальные для настроения родителя.
+     *
+     * @param mood настроение родителя; {@code null} для нестандартного настроения
+     * @return сумма премиальных
+     */
+    public int bonusFor(Mood mood) {
+        return mood == null ? 0 : bonus[mood.ordinal()];
+    }
+
+    /**
+     * Возвращает нижнюю границу средней оценки для настроения.
+     *
+     * @param mood настроение родителя
+     * @return нижняя граница
+     */
+    public double minAverageFor(Mood mood) {
+        return minAverage[mood.ordinal()];
+    }
+
+    /**
+     * Проверяет, входит ли нижняя граница в интервал настроения.
+     *
+     * @param mood настроение родителя
+     * @return {@code true}, если средняя оценка, равная границе, дает это настроение
+     */
+    public boolean isInclusive(Mood mood) {
+        return inclusive[mood.ordinal()];
+    }
+}
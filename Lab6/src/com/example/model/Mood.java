@@ -0,0 +1,61 @@
+package com.example.model;
+
+/**
+ * Перечисление {@code Mood} описывает настроение родителя, которое
+ * зависит от успеваемости студента. Каждое значение хранит строковое
+ * обозначение, используемое в файле базы данных.
+ */
+public enum Mood {
+    GLOOMY("хмурый"),
+    SATISFIED("удовлетворенный"),
+    JOYFUL("радостный");
+
+    private static final Mood[] VALUES = values();
+
+    private final String title;
+
+    Mood(String title) {
+        this.title = title;
+    }
+
+    /**
+     * Возвращает строковое обозначение настроения.
+     *
+     * @return обозначение настроения
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * Находит значение перечисления по его строковому обозначению.
+     * Сравнение выполняется с учетом регистра, как и в {@link Parent#giveBonus(Student)}.
+     *
+     * @param title строковое обозначение настроения
+     * @return значение перечисления или {@code null}, если обозначение неизвестно
+     */
+    public static Mood fromTitle(String title) {
+        for (Mood mood : VALUES) {
+            if (mood.title.equals(title)) {
+                return mood;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Возвращает единственный разделяемый экземпляр строки для указанного настроения.
+     * Известные обозначения заменяются константой перечисления, остальные значения
+     * (например, "нейтральный") интернируются без изменения текста.
+     *
+     * @param title строковое обозначение настроения
+     * @return канонический экземпляр строки или {@code null}
+     */
+    public static String canonical(String title) {
+        Mood mood = fromTitle(title);
+        if (mood != null) {
+            return mood.title;
+        }
+        return title == null ? null : title.intern();
+    }
+}
@@ -9,6 +9,8 @@ package com.example.model;
 public class Parent {
     private String name;
     private String mood;
+    private Mood moodValue;
+    private int recordId;
 
     /**
      * Создает нового родителя с указанным именем.
@@ -17,7 +19,7 @@ public class Parent {
      */
     public Parent(String name) {
         this.name = name;
-        this.mood = "Удовлетворенный";
+        setMood("Удовлетворенный");
     }
 
     /**
@@ -35,17 +37,27 @@ public class Parent {
      *
      * @return настроение родителя ("хмурый", "удовлетворенный" или "радостный")
      */
-    public String getMood() {
+    public synchronized String getMood() {
         return mood;
     }
 
+    /**
+     * Возвращает настроение родителя в виде значения перечисления.
+     *
+     * @return настроение родителя или {@code null}, если обозначение нестандартное
+     */
+    public synchronized Mood getMoodValue() {
+        return moodValue;
+    }
+
     /**
      * Устанавливает настроение родителя на основе успеваемости студента.
      *
      * @param mood новое настроение родителя
      */
-    public void setMood(String mood) {
-        this.mood = mood;
+    public synchronized void setMood(String mood) {
+        this.mood = Mood.canonical(mood);
+        this.moodValue = Mood.fromTitle(this.mood);
     }
 
     /**
@@ -59,20 +71,36 @@ public class Parent {
 
     /**
      * Выдает премиальные студенту на основе настроения родителя.
-     * Если родитель "удовлетворенный", студент получает 5000. Если
-     * родитель "радостный", студент получает 10000. Если родитель
-     * "хмурый", премиальные не выдаются.
+     * Сумма берется из действующих правил {@link GradingPolicy}: по умолчанию
+     * "удовлетворенный" родитель выдает 5000, "радостный" — 10000, "хмурый"
+     * или нестандартное настроение — 0.
+     * Настроение читается под блокировкой родителя, той же, что использует
+     * {@link Teacher#setGrades(Student, int[])}.
      *
      * @param student студент, получающий премиальные
      */
-    public void giveBonus(Student student) {
-        if (mood.equals("удовлетворенный")) {
-            student.setBonus(5000);
-        } else if (mood.equals("радостный")) {
-            student.setBonus(10000);
-        } else {
-            student.setBonus(0);
-        }
+    public synchronized void giveBonus(Student student) {
+        student.setBonus(GradingPolicy.getCurrent().bonusFor(moodValue));
+    }
+
+    /**
+     * Возвращает постоянный идентификатор записи родителя в файле базы данных.
+     * В отличие от номера записи в списке, он не меняется при удалении других записей,
+     * поэтому по нему журнал оценок связывает события с записями.
+     *
+     * @return идентификатор записи или 0, если запись еще не добавлена в базу данных
+     */
+    public int getRecordId() {
+        return recordId;
+    }
+
+    /**
+     * Устанавливает постоянный идентификатор записи. Вызывается базой данных.
+     *
+     * @param recordId идентификатор записи
+     */
+    public void setRecordId(int recordId) {
+        this.recordId = recordId;
     }
 
     /**
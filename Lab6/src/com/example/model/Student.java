@@ -14,6 +14,7 @@ public class Student {
     private double averageGrade;
     private Parent parent;
     private int bonus;
+    private int recordId;
 
     public void setName(String name) {
         this.name = name;
@@ -24,7 +25,7 @@ public class Student {
     }
 
     public void setGender(String gender) {
-        this.gender = gender;
+        this.gender = Gender.canonical(gender);
     }
 
     public void setParent(Parent parent) {
@@ -44,7 +45,7 @@ public class Student {
         this.age = age;
         this.bonus = 0;
         this.averageGrade = 0.0;
-        this.gender = gender;
+        this.gender = Gender.canonical(gender);
         this.parent = parent;
     }
 
@@ -75,6 +76,15 @@ public class Student {
         return gender;
     }
 
+    /**
+     * Возвращает пол студента в виде значения перечисления.
+     *
+     * @return пол студента или {@code null}, если обозначение нестандартное
+     */
+    public Gender getGenderValue() {
+        return Gender.fromTitle(getGender());
+    }
+
     /**
      * Возвращает родителя студента.
      *
@@ -120,6 +130,26 @@ public class Student {
         return bonus;
     }
 
+    /**
+     * Возвращает постоянный идентификатор записи студента в файле базы данных.
+     * В отличие от номера записи в списке, он не меняется при удалении других записей,
+     * поэтому по нему журнал оценок связывает события с записями.
+     *
+     * @return идентификатор записи или 0, если запись еще не добавлена в базу данных
+     */
+    public int getRecordId() {
+        return recordId;
+    }
+
+    /**
+     * Устанавливает постоянный идентификатор записи. Вызывается базой данных.
+     *
+     * @param recordId идентификатор записи
+     */
+    public void setRecordId(int recordId) {
+        this.recordId = recordId;
+    }
+
     /**
      * Возвращает строковое представление данных студента, включая
      * имя, возраст, пол, среднюю оценку и сумму премиальных.
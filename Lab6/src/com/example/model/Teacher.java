@@ -9,6 +9,7 @@ package com.example.model;
 public class Teacher {
     private String name;
     private Subject subject;
+    private int recordId;
 
     /**
      * Создает нового преподавателя с указанными именем и предметом.
@@ -43,6 +44,8 @@ public class Teacher {
      * Выставляет оценки студенту и рассчитывает среднюю оценку.
      * В зависимости от средней оценки, настроение родителя изменяется,
      * что влияет на премиальные студента.
+     * Метод безопасен для вызова из нескольких потоков: изменения одного родителя
+     * и его студентов выполняются под блокировкой этого родителя.
      *
      * @param student студент, которому выставляются оценки
      * @param grades  массив из 5 оценок
@@ -53,38 +56,63 @@ public class Teacher {
             throw new IllegalArgumentException("Должно быть ровно 5 оценок.");
         }
 
-        double sum = 0;
+        int sum = 0;
         for (int grade : grades) {
             sum += grade;
         }
-        double average = sum / grades.length;
-        student.setAverageGrade(average);
-        adjustParentMood(student);
+        double average = (double) sum / grades.length;
+        Mood mood = GradingPolicy.getCurrent().moodForSum(sum);
+
+        // Цепочка "оценка -> настроение -> премия" выполняется под блокировкой родителя,
+        // чтобы параллельное оценивание детей одного родителя не перемешивало настроение и премии.
+        synchronized (student.getParent()) {
+            student.setAverageGrade(average);
+            adjustParentMood(student, mood);
+        }
     }
 
     /**
      * Регулирует настроение родителя на основе средней оценки студента.
+     * Настроение определяется действующими правилами {@link GradingPolicy}; по умолчанию:
      * - 3.0 <= средняя оценка < 4.0: Родитель "хмурый".
      * - 4.0 <= средняя оценка <= 4.5: Родитель "удовлетворенный".
      * - средняя оценка > 4.5: Родитель "радостный".
+     * Если средняя оценка ниже всех границ, настроение не меняется.
+     * Вызывается под блокировкой родителя студента.
      *
      * @param student студент, чьи оценки оцениваются
+     * @param mood    новое настроение родителя или {@code null}, если оно не меняется
      */
-    private void adjustParentMood(Student student) {
-        double avgGrade = student.getAverageGrade();
+    private void adjustParentMood(Student student, Mood mood) {
         Parent parent = student.getParent();
 
-        if (avgGrade >= 3.0 && avgGrade < 4.0) {
-            parent.setMood("хмурый");
-        } else if (avgGrade >= 4.0 && avgGrade <= 4.5) {
-            parent.setMood("удовлетворенный");
-        } else if (avgGrade > 4.5) {
-            parent.setMood("радостный");
+        if (mood != null) {
+            parent.setMood(mood.getTitle());
         }
 
         parent.giveBonus(student);
     }
 
+    /**
+     * Возвращает постоянный идентификатор записи преподавателя в файле базы данных.
+     * В отличие от номера записи в списке, он не меняется при удалении других записей,
+     * поэтому по нему журнал оценок связывает события с записями.
+     *
+     * @return идентификатор записи или 0, если запись еще не добавлена в базу данных
+     */
+    public int getRecordId() {
+        return recordId;
+    }
+
+    /**
+     * Устанавливает постоянный идентификатор записи. Вызывается базой данных.
+     *
+     * @param recordId идентификатор записи
+     */
+    public void setRecordId(int recordId) {
+        this.recordId = recordId;
+    }
+
     /**
      * Возвращает строковое представление данных преподавателя, включая
      * его имя и предмет, который он преподает.
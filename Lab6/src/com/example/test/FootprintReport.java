@@ -0,0 +1,87 @@
+package com.example.test;
+
+import com.example.model.Gender;
+import com.example.model.Mood;
+import com.example.util.Logger;
+
+import java.util.function.UnaryOperator;
+
+/**
+ * Отчет о расходе памяти на строковые поля {@code gender} и {@code mood}.
+ * Сравнивает хранение отдельной копии строки на каждую запись (как после
+ * {@code String.split} при загрузке базы) с хранением ссылок на канонические
+ * экземпляры из {@link Gender} и {@link Mood}.
+ */
+public class FootprintReport {
+    private static final String[] GENDERS = {Gender.MALE.getTitle(), Gender.FEMALE.getTitle()};
+    private static final String[] MOODS = {Mood.GLOOMY.getTitle(), Mood.SATISFIED.getTitle(), Mood.JOYFUL.getTitle()};
+
+    private Logger logger;
+
+    public FootprintReport(Logger logger) {
+        this.logger = logger;
+    }
+
+    /**
+     * Строит отчет для указанного количества студентов. На каждых двух студентов
+     * приходится один родитель.
+     *
+     * @param studentCount количество студентов
+     */
+    public void run(int studentCount) {
+        int parentCount = studentCount / 2;
+
+        UnaryOperator<String> copy = value -> new String(value.toCharArray());
+
+        long freshGender = measure(studentCount, GENDERS, copy);
+        long pooledGender = measure(studentCount, GENDERS, value -> Gender.canonical(copy.apply(value)));
+        long freshMood = measure(parentCount, MOODS, copy);
+        long pooledMood = measure(parentCount, MOODS, value -> Mood.canonical(copy.apply(value)));
+
+        report("Студентов: " + studentCount + ", родителей: " + parentCount);
+        report(String.format("gender: копии %.1f МБ, канонические %.1f МБ, экономия %.1f МБ",
+                toMb(freshGender), toMb(pooledGender), toMb(freshGender - pooledGender)));
+        report(String.format("mood:   копии %.1f МБ, канонические %.1f МБ, экономия %.1f МБ",
+                toMb(freshMood), toMb(pooledMood), toMb(freshMood - pooledMood)));
+        report(String.format("Итого экономия: %.1f МБ",
+                toMb(freshGender - pooledGender + freshMood - pooledMood)));
+    }
+
+    /**
+     * Измеряет объем кучи, занятый массивом строковых значений.
+     *
+     * @param count  количество записей
+     * @param values набор допустимых значений
+     * @param loader преобразование, которое применяется к каждому значению при загрузке
+     * @return занятый объем в байтах
+     */
+    private long measure(int count, String[] values, UnaryOperator<String> loader) {
+        long before = usedMemory();
+        String[] column = new String[count];
+        for (int i = 0; i < count; i++) {
+            column[i] = loader.apply(values[i % values.length]);
+        }
+        long after = usedMemory();
+        if (count > 0 && column[count - 1] == null) {
+            throw new IllegalStateException();
+        }
+        return after - before;
+    }
+
+    private long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private double toMb(long bytes) {
+        return bytes / (1024.0 * 1024.0);
+    }
+
+    private void report(String message) {
+        System.out.println(message);
+        logger.logInfo(message);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.test;
+
+import com.example.util.GradeAnalytics;
+import com.example.util.Logger;
+
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Сравнивает построчный расчет средних оценок (как в {@code Teacher.setGrades})
+ * с колоночным расчетом {@link GradeAnalytics}.
+ */
+public class GradeAnalyticsBenchmark {
+    private Logger logger;
+
+    public GradeAnalyticsBenchmark(Logger logger) {
+        this.logger = logger;
+    }
+
+    /**
+     * Запускает сравнение для указанного количества студентов.
+     *
+     * @param studentCount количество студентов
+     */
+    public void run(int studentCount) {
+        Random random = new Random(42);
+        int[][] grades = new int[studentCount][GradeAnalytics.GRADES_PER_STUDENT];
+        for (int[] row : grades) {
+            for (int k = 0; k < row.length; k++) {
+                row[k] = 1 + random.nextInt(GradeAnalytics.MAX_GRADE);
+            }
+        }
+        GradeAnalytics analytics = GradeAnalytics.of(grades);
+
+        report("Студентов: " + studentCount);
+        measure("averagesScalar", studentCount, () -> GradeAnalytics.averagesScalar(grades));
+        measure("averages", studentCount, analytics::averages);
+        measure("gradeDistribution", studentCount, analytics::gradeDistribution);
+        measure("bonusTotal", studentCount, analytics::bonusTotal);
+    }
+
+    private void measure(String name, int studentCount, Supplier<?> operation) {
+        Timing.Result result = Timing.measure(operation);
+        report(String.format("%s: среднее %.2f (ms), лучшее %.2f (ms), %.2f (ns/студент)",
+                name, result.meanMillis(), result.bestMillis(), result.bestNanosPer(studentCount)));
+    }
+
+    private void report(String message) {
+        System.out.println(message);
+        logger.logInfo(message);
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.test;
+
+import com.example.util.Logger;
+import com.example.util.NameIndex;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Измеряет поиск по началу имени: построение {@link NameIndex}, получение первой страницы
+ * результатов и, для сравнения, прежний способ — проход по всему списку имен.
+ */
+public class NameIndexBenchmark {
+    /**
+     * Размер первой страницы результатов.
+     */
+    private static final int PAGE_SIZE = 100;
+    private static final int QUERY_COUNT = 10_000;
+    private static final int SCAN_QUERY_COUNT = 20;
+
+    private Logger logger;
+
+    public NameIndexBenchmark(Logger logger) {
+        this.logger = logger;
+    }
+
+    /**
+     * Запускает измерение на указанном количестве случайных имен.
+     *
+     * @param nameCount количество имен
+     */
+    public void run(int nameCount) {
+        Random random = new Random(42);
+        String letters = "абвгдежзиклмнопрстуфхцчшэюя";
+        String[] names = new String[nameCount];
+        for (int i = 0; i < nameCount; i++) {
+            names[i] = randomWord(random, letters, 4 + random.nextInt(8)) + " "
+                    + randomWord(random, letters, 4 + random.nextInt(8));
+        }
+        String[] queries = new String[QUERY_COUNT];
+        for (int i = 0; i < queries.length; i++) {
+            String name = names[random.nextInt(nameCount)];
+            queries[i] = name.substring(0, 1 + random.nextInt(4));
+        }
+
+        report("Имен: " + nameCount);
+        long startTime = System.nanoTime();
+        NameIndex index = NameIndex.build(names, 0);
+        report(String.format("Построение индекса: %.2f (ms)", (System.nanoTime() - startTime) / 1e6));
+
+        // Прогрев
+        for (String query : queries) {
+            Timing.consume(index.search(query, PAGE_SIZE).length + index.count(query));
+        }
+
+        long[] times = new long[queries.length];
+        for (int i = 0; i < queries.length; i++) {
+            long queryStart = System.nanoTime();
+            Timing.consume(index.search(queries[i], PAGE_SIZE).length + index.count(queries[i]));
+            times[i] = System.nanoTime() - queryStart;
+        }
+        Arrays.sort(times);
+        report(String.format("Индекс, первая страница (%d) и количество: медиана %.1f (us), p99 %.1f (us), максимум %.1f (us)",
+                PAGE_SIZE, times[times.length / 2] / 1e3, times[times.length * 99 / 100] / 1e3,
+                times[times.length - 1] / 1e3));
+
+        long scanTotal = 0;
+        for (int i = 0; i < SCAN_QUERY_COUNT; i++) {
+            long queryStart = System.nanoTime();
+            Timing.consume(scan(names, queries[i]));
+            scanTotal += System.nanoTime() - queryStart;
+        }
+        report(String.format("Проход по списку: среднее %.2f (ms) на запрос", scanTotal / 1e6 / SCAN_QUERY_COUNT));
+    }
+
+    /**
+     * Прежний способ: полный проход с приведением каждого имени к нижнему регистру.
+     */
+    private static int scan(String[] names, String prefix) {
+        String key = prefix.toLowerCase(Locale.ROOT);
+        int count = 0;
+        for (String name : names) {
+            if (name.toLowerCase(Locale.ROOT).startsWith(key)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static String randomWord(Random random, String letters, int length) {
+        StringBuilder word = new StringBuilder(length);
+        word.append(Character.toUpperCase(letters.charAt(random.nextInt(letters.length()))));
+        for (int i = 1; i < length; i++) {
+            word.append(letters.charAt(random.nextInt(letters.length())));
+        }
+        return word.toString();
+    }
+
+    private void report(String message) {
+        System.out.println(message);
+        logger.logInfo(message);
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.test;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Измеряет время запуска настольного приложения без архива CDS и с ним.
+ * <p>
+ * Приложение запускается в отдельной JVM с настройкой {@code -Dstartup.benchmark=true}.
+ * В этом режиме приложение печатает метки {@code STARTUP main=<время>} при входе в {@code main}
+ * и {@code STARTUP window=<время>} при первом показе окна, после чего завершается.
+ * Время отсчитывается от запуска процесса, поэтому включает старт JVM и загрузку классов.
+ * Запуск без архива выполняется с {@code -Xshare:off}, то есть без стандартного архива CDS из JDK.
+ * Вывод приложения читается в отдельном потоке; процесс, не завершившийся за
+ * {@link #TIMEOUT_SECONDS} секунд (например, из-за модального окна ошибки), принудительно
+ * останавливается, а его метки не учитываются, если они не успели появиться.
+ * </p>
+ * <p>
+ * Запуск: {@code java -cp bin com.example.test.StartupBenchmark <classpath> <mainClass> <archive.jsa> [runs]}.
+ * Classpath приложения должен состоять из JAR-файлов: CDS не архивирует классы из каталогов.
+ * Если архива нет, он создается пробным запуском с {@code -XX:ArchiveClassesAtExit}.
+ * </p>
+ */
+public class StartupBenchmark {
+    private static final String MARKER = "STARTUP ";
+    private static final long TIMEOUT_SECONDS = 60;
+
+    private final String classpath;
+    private final String mainClass;
+    private final String archive;
+    private final String javaPath = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+
+    public StartupBenchmark(String classpath, String mainClass, String archive) {
+        this.classpath = classpath;
+        this.mainClass = mainClass;
+        this.archive = archive;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 3) {
+            System.out.println("Использование: StartupBenchmark <classpath> <mainClass> <archive.jsa> [runs]");
+            return;
+        }
+        int runs = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+        new StartupBenchmark(args[0], args[1], args[2]).run(runs);
+    }
+
+    /**
+     * Выполняет замеры, чередуя запуски без архива и с архивом.
+     *
+     * @param runs количество запусков каждого вида
+     */
+    public void run(int runs) throws IOException, InterruptedException {
+        if (!new File(archive).exists()) {
+            System.out.println("Создание архива CDS: " + archive);
+            launch("-XX:ArchiveClassesAtExit=" + archive);
+            if (!new File(archive).exists()) {
+                // CDS не поддерживает непустые каталоги в classpath
+                System.out.println("Архив не создан: classpath должен состоять из JAR-файлов.");
+                return;
+            }
+        }
+
+        long[][] baseline = new long[2][runs];
+        long[][] shared = new long[2][runs];
+        for (int i = 0; i < runs; i++) {
+            store(baseline, i, launch("-Xshare:off"));
+            store(shared, i, launch("-XX:SharedArchiveFile=" + archive));
+        }
+
+        report("без архива", baseline);
+        report("с архивом ", shared);
+    }
+
+    /**
+     * Запускает приложение и возвращает время до меток {@code main} и {@code window}.
+     *
+     * @return массив {время до main, время до окна} в миллисекундах; -1, если метки нет
+     */
+    private long[] launch(String jvmOption) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>(List.of(javaPath, jvmOption, "-Dstartup.benchmark=true",
+                "-classpath", classpath, mainClass));
+        ProcessBuilder builder = new ProcessBuilder(command).redirectErrorStream(true);
+
+        long startTime = System.currentTimeMillis();
+        Process process = builder.start();
+        AtomicLongArray result = new AtomicLongArray(new long[]{-1, -1});
+        // Вывод читается в отдельном потоке, чтобы зависшее приложение не блокировало ожидание с тайм-аутом
+        Thread output = new Thread(() -> readMarkers(process, startTime, result), "startup-output");
+        output.setDaemon(true);
+        output.start();
+        if (!process.waitFor(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            System.out.println("Приложение не завершилось за " + TIMEOUT_SECONDS + " с и остановлено");
+            process.destroyForcibly().waitFor();
+        }
+        output.join(TimeUnit.SECONDS.toMillis(5));
+        return new long[]{result.get(0), result.get(1)};
+    }
+
+    private static void readMarkers(Process process, long startTime, AtomicLongArray result) {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.startsWith(MARKER)) {
+                    continue;
+                }
+                String[] parts = line.substring(MARKER.length()).split("=");
+                long elapsed = Long.parseLong(parts[1].trim()) - startTime;
+                switch (parts[0]) {
+                    case "main" -> result.set(0, elapsed);
+                    case "window" -> result.set(1, elapsed);
+                }
+            }
+        } catch (IOException e) {
+            // Поток вывода закрывается при принудительной остановке процесса
+        }
+    }
+
+    private static void store(long[][] samples, int run, long[] result) {
+        samples[0][run] = result[0];
+        samples[1][run] = result[1];
+    }
+
+    private static void report(String name, long[][] samples) {
+        System.out.printf("%s: до main %s (ms), до первого окна %s (ms)%n",
+                name, median(samples[0]), median(samples[1]));
+    }
+
+    private static String median(long[] values) {
+        long[] measured = Arrays.stream(values).filter(value -> value >= 0).sorted().toArray();
+        if (measured.length == 0) {
+            return "н/д";
+        }
+        return String.valueOf(measured[measured.length / 2]);
+    }
+}
@@ -1,11 +1,41 @@
 package com.example.test;
 
+import com.example.controller.BatchGradingResult;
+import com.example.controller.Controller;
+import com.example.model.GradeRecord;
 import com.example.model.Parent;
 import com.example.model.Student;
 import com.example.model.Subject;
 import com.example.model.Teacher;
+import com.example.util.BulkImporter;
+import com.example.util.DatabaseEvent;
+import com.example.util.DatabaseEventBus;
 import com.example.util.DatabaseManager;
+import com.example.util.ImportResult;
+import com.example.util.LatencyHistogram;
 import com.example.util.Logger;
+import com.example.util.NameIndex;
+import com.example.util.RecordFormat;
+import com.example.util.ValidationError;
+import com.example.util.ValidationRule;
+import com.example.util.ValidationUtils;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
 
 public class TestDb {
     private DatabaseManager dbManager;
@@ -36,6 +66,15 @@ public class TestDb {
         this.testUpdateStudent();
         this.testRemoveStudent();
 
+        this.testBatchGrading();
+        this.testConcurrentGrading();
+
+        this.testNameValidation();
+        this.testBulkImport();
+        this.testNameIndex();
+        this.testEventBus();
+        this.testLatencyHistogram();
+
         logger.logInfo("Автотесты завершены");
     }
 
@@ -261,4 +300,357 @@ public class TestDb {
             logger.logInfo("testUpdateStudent FAILED");
         }
     }
+
+    /**
+     * Пакетное выставление оценок на отдельной базе данных во временных файлах, чтобы события
+     * оценивания не попали в рабочий журнал. Дополнительно проверяет, что после удаления студента
+     * и перезагрузки базы история оценок остается у прежних студентов.
+     */
+    public void testBatchGrading() {
+        Path dbFile;
+        Path eventsFile;
+        try {
+            dbFile = Files.createTempFile("test_database", ".txt");
+            eventsFile = Files.createTempFile("test_grade_events", ".txt");
+        } catch (IOException e) {
+            System.out.println("testBatchGrading FAILED");
+            logger.logInfo("testBatchGrading FAILED: " + e.getMessage());
+            return;
+        }
+        try {
+            DatabaseManager testDb = new DatabaseManager(logger, dbFile.toString(), eventsFile.toString());
+            Subject subject = new Subject("Геометрия");
+            testDb.addSubject(subject);
+            Teacher teacher = new Teacher("Пифагор", subject);
+            testDb.addTeacher(teacher);
+            Parent parent = new Parent("Общий родитель");
+            testDb.addParent(parent);
+            Student first = new Student("Первый", 12, "М", parent);
+            Student second = new Student("Вторая", 13, "Ж", parent);
+            testDb.addStudent(first);
+            testDb.addStudent(second);
+
+            int teacherId = testDb.getTeacherId(teacher);
+            int firstId = testDb.getStudentId(first);
+            int secondId = testDb.getStudentId(second);
+
+            BatchGradingResult result = new Controller(logger).assignGradesBatch(testDb, Stream.of(
+                    new GradeRecord(firstId, teacherId, new int[]{5, 5, 5, 5, 5}),
+                    new GradeRecord(secondId, teacherId, new int[]{4, 4, 4, 4, 4}),
+                    new GradeRecord(-1, teacherId, new int[]{3, 3, 3, 3, 3})));
+
+            boolean passed = result.processed() == 2 && result.failed() == 1
+                    && first.getAverageGrade() == 5.0 && second.getAverageGrade() == 4.0
+                    && second.getBonus() == 5000
+                    && testDb.getGradeProjection().getAverageGrade(first.getRecordId()) == 5.0
+                    && testDb.getGradeProjection().getBonus(second.getRecordId()) == 5000;
+
+            // После удаления первого студента второй сдвигается на его место, но журнал ссылается
+            // на постоянный ID, поэтому при воспроизведении оценки второго не достаются никому другому
+            testDb.removeStudent(firstId);
+            DatabaseManager reloaded = new DatabaseManager(logger, dbFile.toString(), eventsFile.toString());
+            Student reloadedSecond = reloaded.getStudentById(1);
+            passed = passed && reloaded.getStudentCount() == 1
+                    && reloadedSecond.getRecordId() == second.getRecordId()
+                    && reloaded.getGradeProjection().getAverageGrade(reloadedSecond.getRecordId()) == 4.0
+                    && reloaded.getGradeProjection().getGradingCount(reloadedSecond.getRecordId()) == 1;
+
+            if (passed) {
+                System.out.println("testBatchGrading PASSED");
+                logger.logInfo("testBatchGrading PASSED");
+            } else {
+                System.out.println("testBatchGrading FAILED");
+                logger.logInfo("testBatchGrading FAILED");
+            }
+        } finally {
+            try {
+                Files.deleteIfExists(dbFile);
+                Files.deleteIfExists(eventsFile);
+            } catch (IOException e) {
+                logger.logError("Не удалось удалить временные файлы теста: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Нагрузочный тест: много потоков одновременно выставляют оценки студентам,
+     * у которых общие родители. После завершения премия каждого студента должна
+     * соответствовать его собственной средней оценке.
+     */
+    public void testConcurrentGrading() {
+        int threadCount = 16;
+        int gradingsPerThread = 50_000;
+        int[][] patterns = {{3, 3, 3, 3, 3}, {4, 4, 4, 4, 4}, {5, 5, 5, 5, 5}};
+
+        Teacher teacher = new Teacher("Нагрузочный", new Subject("Нагрузка"));
+        List<Student> students = new ArrayList<>();
+        for (int p = 0; p < 4; p++) {
+            Parent parent = new Parent("Родитель" + p);
+            for (int c = 0; c < 8; c++) {
+                students.add(new Student("Ребенок" + p + "_" + c, 10, "М", parent));
+            }
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++) {
+            futures.add(executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < gradingsPerThread; i++) {
+                    Student student = students.get(random.nextInt(students.size()));
+                    teacher.setGrades(student, patterns[random.nextInt(patterns.length)]);
+                }
+            }));
+        }
+        executor.shutdown();
+
+        boolean passed = true;
+        try {
+            // get() пробрасывает исключение из потока оценивания, иначе оно бы потерялось
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            passed = false;
+        } catch (ExecutionException | TimeoutException e) {
+            logger.logError("testConcurrentGrading: " + e);
+            passed = false;
+        }
+
+        for (Student student : students) {
+            int pattern = (int) student.getAverageGrade() - 3;
+            if (pattern < 0 || pattern >= patterns.length) {
+                // Студент не оценивался или получил оценку не из набора
+                passed = false;
+                continue;
+            }
+            Parent reference = new Parent("");
+            Student expected = new Student("", 10, "М", reference);
+            teacher.setGrades(expected, patterns[pattern]);
+            if (expected.getBonus() != student.getBonus()) {
+                passed = false;
+            }
+        }
+
+        if (passed) {
+            System.out.println("testConcurrentGrading PASSED");
+            logger.logInfo("testConcurrentGrading PASSED");
+        } else {
+            System.out.println("testConcurrentGrading FAILED");
+            logger.logInfo("testConcurrentGrading FAILED");
+        }
+    }
+
+    /**
+     * Сверяет посимвольную проверку имени с регулярным выражением на всех символах
+     * до U+0500 и на нескольких характерных строках.
+     */
+    public void testNameValidation() {
+        List<String> samples = new ArrayList<>(List.of("", " ", "\t\n", "Иван", "Иван Петров", "John Doe",
+                "Ёжик", "ёжик", "Анна-Мария", "R2D2", " Пётр ", "\u000Bа"));
+        for (char c = 0; c < 0x0500; c++) {
+            samples.add(String.valueOf(c));
+            samples.add("Имя" + c);
+        }
+
+        boolean passed = true;
+        for (String name : samples) {
+            boolean expected = !name.trim().isEmpty() && ValidationUtils.NAME_PATTERN.matcher(name).matches();
+            if (ValidationUtils.isValidName(name) != expected) {
+                System.out.println("Несовпадение проверки имени: " + name);
+                passed = false;
+            }
+        }
+        for (String age : List.of("0", "120", "121", "-0", "+5", "007", "0120", "", "12a", "99999999999")) {
+            boolean expected;
+            try {
+                int value = Integer.parseInt(age);
+                expected = value >= 0 && value <= 120;
+            } catch (NumberFormatException e) {
+                expected = false;
+            }
+            if (ValidationUtils.isValidAge(age) != expected) {
+                System.out.println("Несовпадение проверки возраста: " + age);
+                passed = false;
+            }
+        }
+
+        if (passed && ValidationUtils.validateNames(List.of("Иван", "R2D2", " ")).equals(bits(1, 2))) {
+            System.out.println("testNameValidation PASSED");
+            logger.logInfo("testNameValidation PASSED");
+        } else {
+            System.out.println("testNameValidation FAILED");
+            logger.logInfo("testNameValidation FAILED");
+        }
+    }
+
+    private static BitSet bits(int... indexes) {
+        BitSet bits = new BitSet();
+        for (int index : indexes) {
+            bits.set(index);
+        }
+        return bits;
+    }
+
+    /**
+     * Импортирует небольшой CSV с валидными и невалидными строками и проверяет
+     * количество принятых записей и структуру ошибок. Затем проверяет ссылки на родителей
+     * с одинаковыми именами: по ключу, по неоднозначному имени и с повторным ключом.
+     */
+    public void testBulkImport() {
+        String csv = String.join("\n",
+                "type,name",
+                "PARENT,Импортный родитель,радостный",
+                "STUDENT,Импортный сын,14,М,Импортный родитель,4.5,10000",
+                "STUDENT,Импортная дочь,200,Ж,Импортный родитель,,",
+                "STUDENT,Сирота,10,М,Неизвестный родитель,,",
+                "TEACHER,Учитель,Несуществующий предмет",
+                "PARENT,Родитель с разделителем,a|b");
+        int parentsBefore = dbManager.getAllParents().size();
+        int studentsBefore = dbManager.getAllStudents().size();
+
+        BulkImporter importer = new BulkImporter(dbManager, logger);
+        ImportResult result;
+        ImportResult repeated;
+        ImportResult keyed;
+        try {
+            result = importer.importFrom(new StringReader(csv), RecordFormat.CSV);
+            // Повторный импорт тем же объектом не должен накапливать счетчики прошлого
+            repeated = importer.importFrom(new StringReader("STUDENT,Сирота,10,М,Неизвестный родитель,,"),
+                    RecordFormat.CSV);
+            keyed = importer.importFrom(new StringReader(String.join("\n",
+                    "PARENT,Тезка,радостный,1",
+                    "PARENT,Тезка,хмурый,2",
+                    "STUDENT,Первый сын,10,М,Тезка,,,1",
+                    "STUDENT,Второй сын,11,М,Тезка,,,2",
+                    "STUDENT,Чей сын,12,М,Тезка,,",
+                    "PARENT,Третий тезка,,2")), RecordFormat.CSV);
+        } catch (IOException e) {
+            result = null;
+            repeated = null;
+            keyed = null;
+        }
+        List<Student> students = dbManager.getAllStudents();
+        boolean keyedPassed = keyed != null && keyed.accepted() == 4 && keyed.rejected() == 2
+                && keyed.errors().get(0).equals(new ValidationError(5, "parent", ValidationRule.REFERENCE, "Тезка"))
+                && keyed.errors().get(1).equals(new ValidationError(6, "key", ValidationRule.DUPLICATE_KEY, "2"))
+                && students.get(students.size() - 2).getParent().getMood().equals("радостный")
+                && students.get(students.size() - 1).getParent().getMood().equals("хмурый");
+
+        boolean passed = result != null && result.accepted() == 2 && result.rejected() == 4
+                && result.errors().get(0).equals(new ValidationError(4, "age", ValidationRule.AGE, "200"))
+                && result.errors().get(1).rule() == ValidationRule.REFERENCE
+                && result.errors().get(3).equals(new ValidationError(7, "mood", ValidationRule.MOOD, "a|b"))
+                && repeated.accepted() == 0 && repeated.rejected() == 1 && repeated.errors().size() == 1
+                && keyedPassed
+                && dbManager.getAllStudents().size() == studentsBefore + 3
+                && dbManager.getAllParents().size() == parentsBefore + 3;
+
+        if (passed) {
+            System.out.println("testBulkImport PASSED");
+            logger.logInfo("testBulkImport PASSED");
+        } else {
+            System.out.println("testBulkImport FAILED");
+            logger.logInfo("testBulkImport FAILED");
+        }
+
+        while (dbManager.getAllStudents().size() > studentsBefore) {
+            dbManager.removeStudent(dbManager.getAllStudents().size());
+        }
+        while (dbManager.getAllParents().size() > parentsBefore) {
+            dbManager.removeParent(dbManager.getAllParents().size());
+        }
+    }
+
+    public void testNameIndex() {
+        NameIndex index = NameIndex.build(new String[]{"Петров", "иванов", "Иванова", null, "Ивлев"}, 7);
+        boolean passed = index.count("ив") == 3
+                && index.count("ИВАН") == 2
+                && Arrays.equals(index.search("ив", 2), new int[]{1, 2})
+                && index.search("я", 10).length == 0
+                && index.count("") == 5
+                && index.getVersion() == 7;
+
+        // Индекс базы данных перестраивается после изменения
+        Parent parent = new Parent("Индексируемый родитель");
+        try {
+            int before = dbManager.getParentNameIndex().get().count("индексируемый");
+            dbManager.addParent(parent);
+            NameIndex rebuilt = dbManager.getParentNameIndex().get();
+            passed &= rebuilt.count("индексируемый") == before + 1
+                    && rebuilt.getVersion() == dbManager.getVersion();
+        } catch (Exception e) {
+            passed = false;
+        } finally {
+            dbManager.removeParent(dbManager.getParentId(parent));
+        }
+
+        if (passed) {
+            System.out.println("testNameIndex PASSED");
+            logger.logInfo("testNameIndex PASSED");
+        } else {
+            System.out.println("testNameIndex FAILED");
+            logger.logInfo("testNameIndex FAILED");
+        }
+    }
+
+    public void testEventBus() {
+        List<Runnable> ticks = new ArrayList<>();
+        List<List<DatabaseEvent>> batches = new ArrayList<>();
+        DatabaseEventBus bus = new DatabaseEventBus(ticks::add);
+        bus.addListener(batches::add);
+
+        Parent kept = new Parent("Родитель");
+        Parent dropped = new Parent("Временный родитель");
+        bus.publish(DatabaseEvent.inserted(DatabaseEvent.Entity.PARENT, kept, 1));
+        bus.publish(DatabaseEvent.updated(DatabaseEvent.Entity.PARENT, kept, 1));
+        bus.publish(DatabaseEvent.inserted(DatabaseEvent.Entity.PARENT, dropped, 2));
+        bus.publish(DatabaseEvent.deleted(DatabaseEvent.Entity.PARENT, dropped, 2));
+        bus.publish(DatabaseEvent.reloaded(DatabaseEvent.Entity.STUDENT));
+        bus.publish(DatabaseEvent.inserted(DatabaseEvent.Entity.STUDENT, new Student("Студент", 10, "М", kept), 1));
+        boolean passed = ticks.size() == 1;
+        ticks.forEach(Runnable::run);
+
+        passed &= batches.size() == 1
+                && batches.get(0).equals(List.of(
+                        DatabaseEvent.inserted(DatabaseEvent.Entity.PARENT, kept, 1),
+                        DatabaseEvent.reloaded(DatabaseEvent.Entity.STUDENT)));
+
+        if (passed) {
+            System.out.println("testEventBus PASSED");
+            logger.logInfo("testEventBus PASSED");
+        } else {
+            System.out.println("testEventBus FAILED");
+            logger.logInfo("testEventBus FAILED");
+        }
+    }
+
+    public void testLatencyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value * 1000);
+        }
+        boolean passed = histogram.getCount() == 100_000 && histogram.getMax() == 100_000_000;
+        for (double percentile : new double[]{50, 90, 99, 99.9}) {
+            double expected = percentile * 1000 * 1000;
+            double error = Math.abs(histogram.getValueAtPercentile(percentile) - expected) / expected;
+            passed &= error <= 1.0 / LatencyHistogram.SUB_BUCKETS;
+        }
+        passed &= histogram.getValueAtPercentile(100) == histogram.getMax();
+
+        long before = dbManager.getMetrics().latency("addParent").getCount();
+        Parent parent = new Parent("Измеряемый родитель");
+        dbManager.addParent(parent);
+        dbManager.removeParent(dbManager.getParentId(parent));
+        passed &= dbManager.getMetrics().latency("addParent").getCount() == before + 1;
+
+        if (passed) {
+            System.out.println("testLatencyHistogram PASSED");
+            logger.logInfo("testLatencyHistogram PASSED");
+        } else {
+            System.out.println("testLatencyHistogram FAILED");
+            logger.logInfo("testLatencyHistogram FAILED");
+        }
+    }
 }
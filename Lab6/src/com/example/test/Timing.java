@@ -0,0 +1,105 @@
+package com.example.test;
+
+import java.util.function.Supplier;
+
+/**
+ * Общий замер времени для консольных бенчмарков: прогрев, затем несколько измеряемых
+ * повторов операции с лучшим и средним временем.
+ * <p>
+ * Результаты операций передаются в {@link #consume(Object)}, чтобы JIT не удалил вычисления,
+ * результат которых нигде не используется.
+ * </p>
+ */
+public final class Timing {
+    /**
+     * Количество прогревочных повторов.
+     */
+    public static final int WARMUP_ITERATIONS = 5;
+
+    /**
+     * Количество измеряемых повторов.
+     */
+    public static final int MEASURE_ITERATIONS = 10;
+
+    private static volatile Object sink;
+    private static volatile long longSink;
+
+    private Timing() {
+    }
+
+    /**
+     * Результат замера.
+     *
+     * @param bestNs     лучшее время одного повтора.
+     * @param totalNs    суммарное время измеряемых повторов.
+     * @param lastResult результат последнего вызова операции.
+     */
+    public record Result(long bestNs, long totalNs, Object lastResult) {
+        /**
+         * @return среднее время повтора в миллисекундах.
+         */
+        public double meanMillis() {
+            return totalNs / 1e6 / MEASURE_ITERATIONS;
+        }
+
+        /**
+         * @return лучшее время повтора в миллисекундах.
+         */
+        public double bestMillis() {
+            return bestNs / 1e6;
+        }
+
+        /**
+         * Возвращает лучшее время в пересчете на один элемент.
+         *
+         * @param count количество элементов, обработанных за повтор.
+         * @return время на элемент в наносекундах.
+         */
+        public double bestNanosPer(int count) {
+            return (double) bestNs / Math.max(count, 1);
+        }
+    }
+
+    /**
+     * Прогревает и измеряет операцию.
+     *
+     * @param operation измеряемая операция; ее результат передается в {@link #consume(Object)}.
+     * @return результат замера.
+     */
+    public static Result measure(Supplier<?> operation) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            consume(operation.get());
+        }
+
+        long best = Long.MAX_VALUE;
+        long total = 0;
+        Object last = null;
+        for (int i = 0; i < MEASURE_ITERATIONS; i++) {
+            long startTime = System.nanoTime();
+            last = operation.get();
+            long diff = System.nanoTime() - startTime;
+            best = Math.min(best, diff);
+            total += diff;
+        }
+        consume(last);
+        return new Result(best, total, last);
+    }
+
+    /**
+     * Сохраняет результат операции в общем поле.
+     *
+     * @param value результат операции.
+     */
+    public static void consume(Object value) {
+        sink = value;
+    }
+
+    /**
+     * Сохраняет числовой результат операции без упаковки в объект.
+     *
+     * @param value результат операции.
+     */
+    public static void consume(long value) {
+        longSink += value;
+    }
+}
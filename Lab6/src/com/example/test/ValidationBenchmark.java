@@ -0,0 +1,96 @@
+package com.example.test;
+
+import com.example.util.Logger;
+import com.example.util.ValidationUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+/**
+ * Сравнивает стоимость одной проверки имени и возраста: прежний вызов {@code String.matches}
+ * (компилирует выражение при каждом вызове), заранее скомпилированное выражение
+ * {@link ValidationUtils#NAME_PATTERN} и посимвольную проверку {@link ValidationUtils}.
+ */
+public class ValidationBenchmark {
+    private Logger logger;
+
+    public ValidationBenchmark(Logger logger) {
+        this.logger = logger;
+    }
+
+    /**
+     * Запускает сравнение на указанном количестве случайных значений.
+     * Примерно каждое десятое значение невалидно.
+     *
+     * @param valueCount количество значений
+     */
+    public void run(int valueCount) {
+        Random random = new Random(42);
+        String letters = "абвгдеёжзийклмнопрстуфхцчшщъыьэюяАБВГДabcdefXYZ";
+        List<String> names = new ArrayList<>(valueCount);
+        List<String> ages = new ArrayList<>(valueCount);
+        for (int i = 0; i < valueCount; i++) {
+            StringBuilder name = new StringBuilder();
+            int length = 5 + random.nextInt(20);
+            for (int k = 0; k < length; k++) {
+                name.append(k == length / 2 ? ' ' : letters.charAt(random.nextInt(letters.length())));
+            }
+            if (random.nextInt(10) == 0) {
+                name.append(random.nextInt(10));
+            }
+            names.add(name.toString());
+            ages.add(random.nextInt(10) == 0 ? "н/д" : String.valueOf(random.nextInt(121)));
+        }
+
+        report("Значений: " + valueCount);
+        measure("name: String.matches", names,
+                name -> name != null && !name.trim().isEmpty() && name.matches("[a-zA-Zа-яА-я\\s]+"));
+        measure("name: Pattern", names,
+                name -> name != null && !name.trim().isEmpty() && ValidationUtils.NAME_PATTERN.matcher(name).matches());
+        measure("name: ValidationUtils", names, ValidationUtils::isValidName);
+        measure("age: Integer.parseInt", ages, ValidationBenchmark::isValidAgeByParse);
+        measure("age: ValidationUtils", ages, ValidationUtils::isValidAge);
+
+        long startTime = System.nanoTime();
+        int invalid = ValidationUtils.validateNames(names).cardinality()
+                + ValidationUtils.validateAges(ages).cardinality();
+        report(String.format("Пакетная проверка: %d невалидных, %.2f (ms)",
+                invalid, (System.nanoTime() - startTime) / 1e6));
+    }
+
+    private void measure(String name, List<String> values, Predicate<String> check) {
+        Timing.Result result = Timing.measure(() -> countValid(values, check));
+        report(String.format("%s: валидных %d, среднее %.2f (ms), лучшее %.2f (ms), %.1f (ns/вызов)",
+                name, (Integer) result.lastResult(), result.meanMillis(), result.bestMillis(),
+                result.bestNanosPer(values.size())));
+    }
+
+    private static int countValid(List<String> values, Predicate<String> check) {
+        int count = 0;
+        for (String value : values) {
+            if (check.test(value)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Прежняя проверка возраста через исключение.
+     */
+    private static boolean isValidAgeByParse(String age) {
+        try {
+            int value = Integer.parseInt(age);
+            return value >= 0 && value <= 120;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private void report(String message) {
+        System.out.println(message);
+        logger.logInfo(message);
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.util;
+
+import com.example.model.Parent;
+import com.example.model.Student;
+import com.example.model.Subject;
+import com.example.model.Teacher;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Потоковый экспорт базы данных в файлы CSV или NDJSON.
+ * Записи выводятся в порядке предметы, родители, учителя, студенты, поэтому
+ * результат можно сразу загрузить обратно через {@link BulkImporter}.
+ * Родители выгружаются с ключом, равным постоянному идентификатору записи, а студенты ссылаются
+ * на родителя по этому ключу, поэтому родители с одинаковыми именами не путаются при импорте.
+ * Формат строк описан в {@link RecordFormat}.
+ */
+public class BulkExporter {
+    private final DatabaseManager dbManager;
+    private final Logger logger;
+
+    /**
+     * Создает экспорт для указанной базы данных.
+     *
+     * @param dbManager база данных.
+     * @param logger    логгер для записи итогов экспорта.
+     */
+    public BulkExporter(DatabaseManager dbManager, Logger logger) {
+        this.dbManager = dbManager;
+        this.logger = logger;
+    }
+
+    /**
+     * Экспортирует базу в файл; формат определяется по расширению (см. {@link RecordFormat#forFile(String)}).
+     *
+     * @param filePath путь к файлу; файл записывается в кодировке UTF-8.
+     * @return количество записанных строк.
+     * @throws IOException если файл не удалось записать.
+     */
+    public long exportFile(String filePath) throws IOException {
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(filePath), StandardCharsets.UTF_8)) {
+            return exportTo(writer, RecordFormat.forFile(filePath));
+        }
+    }
+
+    /**
+     * Экспортирует базу в поток символов.
+     *
+     * @param writer приемник строк.
+     * @param format формат строк.
+     * @return количество записанных строк.
+     * @throws IOException если запись не удалась.
+     */
+    public long exportTo(Writer writer, RecordFormat format) throws IOException {
+        long startTime = System.nanoTime();
+        BufferedWriter out = new BufferedWriter(writer, 1 << 16);
+        Map<String, String> record = new HashMap<>();
+        long count = 0;
+
+        for (Subject subject : dbManager.getAllSubjects()) {
+            record.clear();
+            record.put(RecordFormat.TYPE, "SUBJECT");
+            record.put("name", subject.getName());
+            count += write(out, format, record);
+        }
+        List<Parent> parents = dbManager.getAllParents();
+        Map<Parent, String> parentKeys = new IdentityHashMap<>(parents.size());
+        for (Parent parent : parents) {
+            String key = String.valueOf(parent.getRecordId());
+            parentKeys.put(parent, key);
+            record.clear();
+            record.put(RecordFormat.TYPE, "PARENT");
+            record.put("name", parent.getName());
+            record.put("mood", parent.getMood());
+            record.put("key", key);
+            count += write(out, format, record);
+        }
+        for (Teacher teacher : dbManager.getAllTeachers()) {
+            record.clear();
+            record.put(RecordFormat.TYPE, "TEACHER");
+            record.put("name", teacher.getName());
+            record.put("subject", teacher.getSubject().getName());
+            count += write(out, format, record);
+        }
+        for (Student student : dbManager.getAllStudents()) {
+            record.clear();
+            record.put(RecordFormat.TYPE, "STUDENT");
+            record.put("name", student.getName());
+            record.put("age", String.valueOf(student.getAge()));
+            record.put("gender", student.getGender());
+            // Студент без родителя выгружается с пустой ссылкой; при импорте такая строка будет отклонена
+            record.put("parent", student.getParent() == null ? "" : student.getParent().getName());
+            record.put("averageGrade", String.valueOf(student.getAverageGrade()));
+            record.put("bonus", String.valueOf(student.getBonus()));
+            // Родитель, которого нет в базе, выгружается без ключа и при импорте ищется по имени
+            record.put("parentKey", parentKeys.get(student.getParent()));
+            count += write(out, format, record);
+        }
+        out.flush();
+
+        logger.logInfo(String.format("Массовый экспорт: %d строк за %d (ms)",
+                count, (System.nanoTime() - startTime) / 1_000_000));
+        return count;
+    }
+
+    private int write(BufferedWriter out, RecordFormat format, Map<String, String> record) throws IOException {
+        out.write(format.format(record));
+        out.newLine();
+        return 1;
+    }
+}
@@ -0,0 +1,301 @@
+package com.example.util;
+
+import com.example.model.Parent;
+import com.example.model.Student;
+import com.example.model.Subject;
+import com.example.model.Teacher;
+
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Потоковый импорт записей из файлов CSV или NDJSON в базу данных.
+ * <p>
+ * Файл читается построчно, поэтому расход памяти не зависит от размера файла.
+ * Строки собираются в пакеты, каждый пакет разбирается и проверяется параллельно
+ * в {@link ValidationPipeline}. Затем по порядку строк разрешаются ссылки на родителя и предмет.
+ * Родитель студента ищется по ключу ({@code parentKey}) среди родителей этого же файла,
+ * а без ключа — по имени: сначала среди импортированных ранее в этом же файле, затем среди
+ * уже существующих записей. Имена не уникальны, поэтому имя, под которым найдено несколько
+ * родителей, отклоняется как ошибка {@link ValidationRule#REFERENCE}. Предмет ищется по названию
+ * (сначала среди существующих записей). Принятые записи добавляются в базу пакетами через
+ * {@link DatabaseManager#addBatch(List, List, List, List)}, а файл базы сохраняется один раз в конце.
+ * Формат строк описан в {@link RecordFormat}.
+ * Один объект можно использовать для нескольких импортов: счетчики и ссылки сбрасываются в начале каждого.
+ * </p>
+ */
+public class BulkImporter {
+    /**
+     * Размер пакета по умолчанию.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 10_000;
+
+    /**
+     * Максимальное количество ошибок, сохраняемых в отчете.
+     */
+    public static final int MAX_REPORTED_ERRORS = 100;
+
+    private final DatabaseManager dbManager;
+    private final Logger logger;
+    private final int batchSize;
+    private final ValidationPipeline pipeline = new ValidationPipeline();
+
+    private final Map<String, Parent> parentsByKey = new HashMap<>();
+    private final Map<String, Parent> importedParentsByName = new HashMap<>();
+    private final Set<String> ambiguousImportedNames = new HashSet<>();
+    private final Map<String, Parent> existingParentsByName = new HashMap<>();
+    private final Set<String> ambiguousExistingNames = new HashSet<>();
+    private final Map<String, Subject> subjectsByName = new HashMap<>();
+
+    private final List<Subject> pendingSubjects = new ArrayList<>();
+    private final List<Parent> pendingParents = new ArrayList<>();
+    private final List<Teacher> pendingTeachers = new ArrayList<>();
+    private final List<Student> pendingStudents = new ArrayList<>();
+
+    private long accepted;
+    private long rejected;
+    private final List<ValidationError> errors = new ArrayList<>();
+
+    /**
+     * Создает импорт с размером пакета по умолчанию.
+     *
+     * @param dbManager база данных, в которую добавляются записи.
+     * @param logger    логгер для записи итогов импорта.
+     */
+    public BulkImporter(DatabaseManager dbManager, Logger logger) {
+        this(dbManager, logger, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Создает импорт с указанным размером пакета.
+     *
+     * @param dbManager база данных, в которую добавляются записи.
+     * @param logger    логгер для записи итогов импорта.
+     * @param batchSize количество записей в одном пакете.
+     */
+    public BulkImporter(DatabaseManager dbManager, Logger logger, int batchSize) {
+        this.dbManager = dbManager;
+        this.logger = logger;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Импортирует файл; формат определяется по расширению (см. {@link RecordFormat#forFile(String)}).
+     *
+     * @param filePath путь к файлу в кодировке UTF-8.
+     * @return итог импорта.
+     * @throws IOException если файл не удалось прочитать.
+     */
+    public ImportResult importFile(String filePath) throws IOException {
+        try (Reader reader = new InputStreamReader(new FileInputStream(filePath), StandardCharsets.UTF_8)) {
+            return importFrom(reader, RecordFormat.forFile(filePath));
+        }
+    }
+
+    /**
+     * Импортирует записи из потока символов.
+     *
+     * @param reader источник строк.
+     * @param format формат строк.
+     * @return итог импорта.
+     * @throws IOException если поток не удалось прочитать.
+     */
+    public ImportResult importFrom(Reader reader, RecordFormat format) throws IOException {
+        long startTime = System.nanoTime();
+        reset();
+        seedReferences();
+
+        BufferedReader lines = new BufferedReader(reader, 1 << 16);
+        String[] chunk = new String[batchSize];
+        long[] rows = new long[batchSize];
+        int count = 0;
+        String line;
+        long lineNumber = 0;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || (lineNumber == 1 && format.isHeader(line))) {
+                continue;
+            }
+            chunk[count] = line;
+            rows[count] = lineNumber;
+            count++;
+            if (count == batchSize) {
+                processChunk(format, chunk, rows, count);
+                count = 0;
+            }
+        }
+        processChunk(format, chunk, rows, count);
+        dbManager.saveData();
+
+        ImportResult result = new ImportResult(accepted, rejected, List.copyOf(errors), System.nanoTime() - startTime);
+        logger.logInfo("Массовый импорт: " + result);
+        return result;
+    }
+
+    /**
+     * Проверяет пакет строк параллельно, затем по порядку разрешает ссылки
+     * и добавляет валидные записи в базу.
+     */
+    private void processChunk(RecordFormat format, String[] chunk, long[] rows, int count) {
+        if (count == 0) {
+            return;
+        }
+        ValidationPipeline.Batch batch = pipeline.validate(format, chunk, rows, count);
+        for (int i = 0; i < batch.size(); i++) {
+            Map<String, String> record = batch.getRecord(i);
+            ValidationError error = record == null ? null : accept(record, batch.getRow(i));
+            if (record != null && error == null) {
+                accepted++;
+                continue;
+            }
+            rejected++;
+            for (ValidationError rowError : error == null ? batch.getErrors(i) : List.of(error)) {
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    errors.add(rowError);
+                }
+            }
+        }
+        Arrays.fill(chunk, 0, count, null);
+        flush();
+    }
+
+    /**
+     * Разрешает ссылки проверенной записи и добавляет ее в текущий пакет.
+     *
+     * @param record проверенная запись "поле -> значение".
+     * @param row    номер строки.
+     * @return {@code null}, если запись принята, иначе ошибка ссылки.
+     */
+    private ValidationError accept(Map<String, String> record, long row) {
+        String name = record.get("name");
+        switch (record.get(RecordFormat.TYPE)) {
+            case "SUBJECT" -> {
+                Subject subject = new Subject(name);
+                subjectsByName.putIfAbsent(name, subject);
+                pendingSubjects.add(subject);
+            }
+            case "PARENT" -> {
+                Parent parent = new Parent(name);
+                String mood = record.get("mood");
+                if (mood != null && !mood.isEmpty()) {
+                    parent.setMood(mood);
+                }
+                String key = record.get("key");
+                if (key != null && !key.isEmpty() && parentsByKey.putIfAbsent(key, parent) != null) {
+                    return new ValidationError(row, "key", ValidationRule.DUPLICATE_KEY, key);
+                }
+                addByName(importedParentsByName, ambiguousImportedNames, parent);
+                pendingParents.add(parent);
+            }
+            case "TEACHER" -> {
+                Subject subject = subjectsByName.get(record.get("subject"));
+                if (subject == null) {
+                    return new ValidationError(row, "subject", ValidationRule.REFERENCE, record.get("subject"));
+                }
+                pendingTeachers.add(new Teacher(name, subject));
+            }
+            case "STUDENT" -> {
+                String parentKey = record.get("parentKey");
+                Parent parent;
+                if (parentKey != null && !parentKey.isEmpty()) {
+                    parent = parentsByKey.get(parentKey);
+                    if (parent == null) {
+                        return new ValidationError(row, "parentKey", ValidationRule.REFERENCE, parentKey);
+                    }
+                } else {
+                    parent = parentByName(record.get("parent"));
+                    if (parent == null) {
+                        return new ValidationError(row, "parent", ValidationRule.REFERENCE, record.get("parent"));
+                    }
+                }
+                Student student = new Student(name, Integer.parseInt(record.get("age")), record.get("gender"), parent);
+                // Числа уже проверены в ValidationPipeline, поэтому разбор не выбрасывает исключений
+                String averageGrade = record.get("averageGrade");
+                if (averageGrade != null && !averageGrade.isEmpty()) {
+                    student.setAverageGrade(Double.parseDouble(averageGrade.replace(",", ".")));
+                }
+                String bonus = record.get("bonus");
+                if (bonus != null && !bonus.isEmpty()) {
+                    student.setBonus(Integer.parseInt(bonus));
+                }
+                pendingStudents.add(student);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Ищет родителя по имени: сначала среди импортированных в этом файле, затем среди существующих.
+     *
+     * @param name имя родителя.
+     * @return родитель или {@code null}, если имя не найдено или под ним несколько родителей.
+     */
+    private Parent parentByName(String name) {
+        if (ambiguousImportedNames.contains(name)) {
+            return null;
+        }
+        Parent parent = importedParentsByName.get(name);
+        if (parent != null || ambiguousExistingNames.contains(name)) {
+            return parent;
+        }
+        return existingParentsByName.get(name);
+    }
+
+    private static void addByName(Map<String, Parent> byName, Set<String> ambiguous, Parent parent) {
+        if (byName.putIfAbsent(parent.getName(), parent) != null) {
+            ambiguous.add(parent.getName());
+        }
+    }
+
+    private void reset() {
+        parentsByKey.clear();
+        importedParentsByName.clear();
+        ambiguousImportedNames.clear();
+        existingParentsByName.clear();
+        ambiguousExistingNames.clear();
+        subjectsByName.clear();
+        pendingSubjects.clear();
+        pendingParents.clear();
+        pendingTeachers.clear();
+        pendingStudents.clear();
+        accepted = 0;
+        rejected = 0;
+        errors.clear();
+    }
+
+    private void seedReferences() {
+        for (Parent parent : dbManager.getAllParents()) {
+            addByName(existingParentsByName, ambiguousExistingNames, parent);
+        }
+        for (Subject subject : dbManager.getAllSubjects()) {
+            subjectsByName.putIfAbsent(subject.getName(), subject);
+        }
+    }
+
+    private int pendingCount() {
+        return pendingSubjects.size() + pendingParents.size() + pendingTeachers.size() + pendingStudents.size();
+    }
+
+    private void flush() {
+        if (pendingCount() == 0) {
+            return;
+        }
+        dbManager.addBatch(new ArrayList<>(pendingSubjects), new ArrayList<>(pendingParents),
+                new ArrayList<>(pendingTeachers), new ArrayList<>(pendingStudents));
+        pendingSubjects.clear();
+        pendingParents.clear();
+        pendingTeachers.clear();
+        pendingStudents.clear();
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.util;
+
+/**
+ * Изменение данных в {@link DatabaseManager}.
+ *
+ * @param type   вид изменения.
+ * @param entity тип измененной записи.
+ * @param item   измененный объект; {@code null} для {@link Type#RELOAD}.
+ * @param id     ID записи на момент изменения или 0, если он неизвестен.
+ */
+public record DatabaseEvent(Type type, Entity entity, Object item, int id) {
+    /**
+     * Вид изменения.
+     */
+    public enum Type {
+        /**
+         * Запись добавлена (или возвращена при отмене удаления).
+         */
+        INSERT,
+        /**
+         * Поля записи изменены.
+         */
+        UPDATE,
+        /**
+         * Запись удалена.
+         */
+        DELETE,
+        /**
+         * Изменено много записей одного типа; данные нужно перечитать целиком.
+         */
+        RELOAD
+    }
+
+    /**
+     * Тип записи.
+     */
+    public enum Entity {
+        SUBJECT,
+        TEACHER,
+        PARENT,
+        STUDENT
+    }
+
+    public static DatabaseEvent inserted(Entity entity, Object item, int id) {
+        return new DatabaseEvent(Type.INSERT, entity, item, id);
+    }
+
+    public static DatabaseEvent updated(Entity entity, Object item, int id) {
+        return new DatabaseEvent(Type.UPDATE, entity, item, id);
+    }
+
+    public static DatabaseEvent deleted(Entity entity, Object item, int id) {
+        return new DatabaseEvent(Type.DELETE, entity, item, id);
+    }
+
+    public static DatabaseEvent reloaded(Entity entity) {
+        return new DatabaseEvent(Type.RELOAD, entity, null, 0);
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Рассылает подписчикам изменения базы данных ({@link DatabaseEvent}) пакетами.
+ * <p>
+ * События, опубликованные до следующего запуска рассылки, накапливаются и сжимаются:
+ * повторные изменения одного объекта сводятся к одному событию, добавление с последующим
+ * удалением не рассылается вовсе, а {@link DatabaseEvent.Type#RELOAD} заменяет все события
+ * своего типа записей. Рассылка запускается через переданный {@link Executor}; для окон это
+ * {@code SwingUtilities::invokeLater}, поэтому подписчики получают один пакет за такт
+ * очереди событий Swing.
+ * </p>
+ * <p>
+ * Пока подписчиков нет, события не накапливаются.
+ * </p>
+ */
+public class DatabaseEventBus {
+    private final Executor dispatcher;
+    private final List<Consumer<List<DatabaseEvent>>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Накопленные события; удаленные при сжатии события заменяются на {@code null}.
+     */
+    private List<DatabaseEvent> pending;
+    private Map<Object, Integer> pendingIndex;
+    private Set<DatabaseEvent.Entity> reloaded;
+
+    /**
+     * Создает шину.
+     *
+     * @param dispatcher исполнитель, в котором подписчики получают события.
+     */
+    public DatabaseEventBus(Executor dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
+    /**
+     * Подписывает обработчик на изменения базы данных.
+     *
+     * @param listener обработчик, получающий пакет событий в порядке их публикации.
+     */
+    public void addListener(Consumer<List<DatabaseEvent>> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Consumer<List<DatabaseEvent>> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Публикует событие. Может вызываться из любого потока.
+     *
+     * @param event событие.
+     */
+    public void publish(DatabaseEvent event) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        boolean schedule;
+        synchronized (this) {
+            schedule = pending == null;
+            if (schedule) {
+                pending = new ArrayList<>();
+                pendingIndex = new IdentityHashMap<>();
+                reloaded = EnumSet.noneOf(DatabaseEvent.Entity.class);
+            }
+            coalesce(event);
+        }
+        if (schedule) {
+            dispatcher.execute(this::dispatch);
+        }
+    }
+
+    private void coalesce(DatabaseEvent event) {
+        if (reloaded.contains(event.entity())) {
+            // Подписчики все равно перечитают все записи этого типа
+            return;
+        }
+        if (event.type() == DatabaseEvent.Type.RELOAD) {
+            reloaded.add(event.entity());
+            for (int i = 0; i < pending.size(); i++) {
+                DatabaseEvent previous = pending.get(i);
+                if (previous != null && previous.entity() == event.entity()) {
+                    pending.set(i, null);
+                    pendingIndex.remove(previous.item());
+                }
+            }
+            pending.add(event);
+            return;
+        }
+
+        Integer index = pendingIndex.get(event.item());
+        if (index == null) {
+            pendingIndex.put(event.item(), pending.size());
+            pending.add(event);
+            return;
+        }
+        DatabaseEvent previous = pending.get(index);
+        switch (event.type()) {
+            case UPDATE -> {
+                // Добавление или прежнее изменение уже покрывают новое изменение
+            }
+            case DELETE -> {
+                if (previous.type() == DatabaseEvent.Type.INSERT) {
+                    pending.set(index, null);
+                    pendingIndex.remove(event.item());
+                } else {
+                    pending.set(index, event);
+                }
+            }
+            case INSERT -> {
+                // Удаление с последующим восстановлением: подписчики еще показывают объект
+                pending.set(index, previous.type() == DatabaseEvent.Type.DELETE
+                        ? DatabaseEvent.updated(event.entity(), event.item(), event.id())
+                        : event);
+            }
+            default -> throw new IllegalStateException("Неизвестный тип события: " + event.type());
+        }
+    }
+
+    private void dispatch() {
+        List<DatabaseEvent> events;
+        synchronized (this) {
+            events = pending;
+            pending = null;
+            pendingIndex = null;
+            reloaded = null;
+        }
+        events.removeIf(Objects::isNull);
+        if (events.isEmpty()) {
+            return;
+        }
+        List<DatabaseEvent> batch = Collections.unmodifiableList(events);
+        for (Consumer<List<DatabaseEvent>> listener : listeners) {
+            listener.accept(batch);
+        }
+    }
+}
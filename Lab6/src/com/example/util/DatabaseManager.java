@@ -1,16 +1,28 @@
 package com.example.util;
 
+import com.example.model.GradeEvent;
 import com.example.model.Parent;
 import com.example.model.Student;
 import com.example.model.Subject;
 import com.example.model.Teacher;
 
 import java.io.*;
-import java.text.DecimalFormat;
+import java.nio.charset.Charset;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Класс для управления базой данных школьной системы, включающей студентов, учителей, родителей и предметы.
@@ -23,17 +35,52 @@ import java.util.Map;
  *     <li>PARENT: {@code PARENT|ID|name|mood}</li>
  *     <li>SUBJECT: {@code SUBJECT|ID|name}</li>
  * </ul>
+ * ID в файле — постоянный идентификатор записи ({@link Student#getRecordId()} и аналоги), он выдается
+ * при добавлении и не меняется при удалении других записей. Методы с параметром {@code id}
+ * ({@link #getStudentById(int)}, {@link #removeStudent(int)} и другие) принимают номер записи в списке
+ * (позиция + 1), который после удаления сдвигается.
+ * </p>
+ * <p>
+ * Каждое выставление оценок дополнительно записывается в журнал событий {@code grade_events.txt}
+ * (см. {@link GradeEventStore}), по которому строится {@link GradeProjection}. События ссылаются
+ * на постоянные идентификаторы записей, поэтому удаление записей не смещает историю оценок.
+ * </p>
+ * <p>
+ * Изменения публикуются как события {@link DatabaseEvent}; окна подписываются через
+ * {@link #addChangeListener(Consumer)} и получают сжатый пакет событий через исполнитель,
+ * переданный в конструктор (см. {@link DatabaseEventBus}). Окна передают
+ * {@code SwingUtilities::invokeLater} и получают один пакет за такт потока Swing; по умолчанию
+ * подписчики вызываются сразу в потоке, изменившем данные.
+ * </p>
+ * <p>
+ * Длительность операций записывается в {@link Metrics}, а чтение, запись файла и изменения
+ * дополнительно отмечаются событиями JDK Flight Recorder ({@link DbLoadEvent}, {@link DbSaveEvent},
+ * {@link DbMutationEvent}); без активной записи JFR события почти ничего не стоят.
  * </p>
  */
 public class DatabaseManager {
     private Logger logger;
 
     private static final String DB_FILE = "school_database.txt";
+    private static final String EVENTS_FILE = "grade_events.txt";
+    private final String dbFile;
     private List<Student> students;
     private List<Teacher> teachers;
     private List<Parent> parents;
     private Map<Integer, Subject> subjects;
     private int nextId = 1;
+    private StudentTable studentTable;
+    // Сбрасываются в invalidate(), которую могут вызывать и фоновые потоки (журнал оценок, импорт)
+    private volatile CompletableFuture<NameIndex> studentNameIndex;
+    private volatile CompletableFuture<NameIndex> teacherNameIndex;
+    private volatile CompletableFuture<NameIndex> parentNameIndex;
+    private final AtomicLong version = new AtomicLong();
+    private final Metrics metrics = new Metrics();
+    private final DatabaseEventBus eventBus;
+    private GradeEventStore eventStore;
+    private GradeProjection gradeProjection;
+    private final CompletableFuture<Void> ready;
+    private final ThreadLocal<Boolean> saveDeferred = ThreadLocal.withInitial(() -> false);
 
     /**
      * Конструктор класса. Выполняет инициализацию списков данных и загрузку существующих данных из файла.
@@ -41,13 +88,146 @@ public class DatabaseManager {
      * @param logger логгер для записи информации о действиях и ошибках.
      */
     public DatabaseManager(Logger logger) {
+        this(logger, false);
+    }
+
+    /**
+     * Конструктор класса с возможностью отложенной загрузки.
+     * <p>
+     * При {@code lazy == true} конструктор сразу возвращает управление, а данные загружаются
+     * в фоновом потоке. До окончания загрузки остальные методы вызывать нельзя: нужно дождаться
+     * {@link #awaitReady()} или подписаться через {@link #whenReady(Runnable, Consumer)}.
+     * Исключение — {@link #saveData()}, который сам ждет окончания загрузки. Если загрузка
+     * завершилась ошибкой, база данных остается пустой и не сохраняется, чтобы не затереть файл.
+     * </p>
+     *
+     * @param logger логгер для записи информации о действиях и ошибках.
+     * @param lazy   загружать ли данные в фоновом потоке.
+     */
+    public DatabaseManager(Logger logger, boolean lazy) {
+        this(logger, lazy, Runnable::run);
+    }
+
+    /**
+     * Конструктор класса с отложенной загрузкой (см. {@link #DatabaseManager(Logger, boolean)})
+     * и исполнителем, в котором подписчики получают изменения.
+     *
+     * @param logger           логгер для записи информации о действиях и ошибках.
+     * @param lazy             загружать ли данные в фоновом потоке.
+     * @param changeDispatcher исполнитель рассылки изменений, например {@code SwingUtilities::invokeLater}.
+     */
+    public DatabaseManager(Logger logger, boolean lazy, Executor changeDispatcher) {
+        this(logger, lazy, DB_FILE, EVENTS_FILE, changeDispatcher);
+    }
+
+    /**
+     * Конструктор класса с файлами базы данных и журнала оценок в указанных местах.
+     * Используется тестами, чтобы не изменять рабочие файлы.
+     *
+     * @param logger     логгер для записи информации о действиях и ошибках.
+     * @param dbFile     путь к файлу базы данных.
+     * @param eventsFile путь к журналу оценок.
+     */
+    public DatabaseManager(Logger logger, String dbFile, String eventsFile) {
+        this(logger, false, dbFile, eventsFile, Runnable::run);
+    }
+
+    private DatabaseManager(Logger logger, boolean lazy, String dbFile, String eventsFile,
+                            Executor changeDispatcher) {
         this.logger = logger;
+        this.dbFile = dbFile;
+        this.eventBus = new DatabaseEventBus(changeDispatcher);
         logger.logDebug("Инициализация базы данных");
+        metrics.gauge("logger.pendingWrites", logger::getPendingWrites);
+        metrics.gauge("logger.writtenMessages", logger::getWrittenMessages);
         students = new ArrayList<>();
         teachers = new ArrayList<>();
         parents = new ArrayList<>();
         subjects = new HashMap<>();
+        eventStore = new GradeEventStore(eventsFile);
+        gradeProjection = new GradeProjection();
+        if (lazy) {
+            ready = new CompletableFuture<>();
+            Thread loader = new Thread(() -> {
+                try {
+                    load();
+                    ready.complete(null);
+                } catch (RuntimeException e) {
+                    logger.logError("Ошибка при загрузке базы данных: " + e);
+                    ready.completeExceptionally(e);
+                }
+            }, "database-loader");
+            loader.setDaemon(true);
+            loader.start();
+        } else {
+            load();
+            ready = CompletableFuture.completedFuture(null);
+        }
+    }
+
+    private void load() {
+        long startTime = System.nanoTime();
+        DbLoadEvent loadEvent = new DbLoadEvent();
+        loadEvent.begin();
         loadData();
+        int rows = subjects.size() + parents.size() + teachers.size() + students.size();
+        loadEvent.end();
+        if (loadEvent.shouldCommit()) {
+            loadEvent.file = dbFile;
+            loadEvent.rows = rows;
+            loadEvent.commit();
+        }
+        metrics.record("loadData", startTime);
+        metrics.add("rowsRead", rows);
+        long replayStart = System.nanoTime();
+        replayGradeEvents();
+        metrics.record("replayGradeEvents", replayStart);
+        logger.logInfo(String.format("База данных загружена за %d (ms)", (System.nanoTime() - startTime) / 1_000_000));
+    }
+
+    /**
+     * Проверяет, загружены ли данные.
+     *
+     * @return {@code true}, если загрузка завершена успешно.
+     */
+    public boolean isReady() {
+        return ready.isDone() && !ready.isCompletedExceptionally();
+    }
+
+    /**
+     * Проверяет, завершилась ли отложенная загрузка ошибкой.
+     *
+     * @return {@code true}, если данные не удалось загрузить.
+     */
+    public boolean isLoadFailed() {
+        return ready.isCompletedExceptionally();
+    }
+
+    /**
+     * Ожидает окончания загрузки данных.
+     *
+     * @throws java.util.concurrent.CompletionException если загрузка завершилась ошибкой.
+     */
+    public void awaitReady() {
+        ready.join();
+    }
+
+    /**
+     * Выполняет действие после окончания загрузки данных. Если загрузка уже завершена,
+     * обработчик вызывается сразу в текущем потоке, иначе — в потоке загрузки.
+     *
+     * @param action    действие после успешной загрузки.
+     * @param onFailure обработчик ошибки загрузки.
+     */
+    public void whenReady(Runnable action, Consumer<Throwable> onFailure) {
+        ready.whenComplete((result, error) -> {
+            if (error == null) {
+                action.run();
+            } else {
+                onFailure.accept(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error);
+            }
+        });
     }
 
     // Методы для работы с предметами (Subject)
@@ -57,9 +237,11 @@ public class DatabaseManager {
      * @param subject объект предмета для добавления.
      */
     public void addSubject(Subject subject) {
-        subjects.put(nextId++, subject);
+        DbMutationEvent mutation = DbMutationEvent.start("addSubject");
+        int id = nextId++;
+        subjects.put(id, subject);
         logger.logInfo("Добавлен новый предмет: " + subject);
-        saveData();
+        changed(mutation, DatabaseEvent.inserted(DatabaseEvent.Entity.SUBJECT, subject, id));
     }
 
     /**
@@ -68,9 +250,25 @@ public class DatabaseManager {
      * @param id идентификатор предмета.
      */
     public void removeSubject(int id) {
-        subjects.remove(id);
+        DbMutationEvent mutation = DbMutationEvent.start("removeSubject");
+        Subject removed = subjects.remove(id);
         logger.logInfo("Удален предмет с айди: " + id);
-        saveData();
+        if (removed != null) {
+            changed(mutation, DatabaseEvent.deleted(DatabaseEvent.Entity.SUBJECT, removed, id));
+        }
+    }
+
+    /**
+     * Возвращает удаленный предмет под прежним ID. Используется для отмены удаления.
+     *
+     * @param id      прежний идентификатор предмета.
+     * @param subject объект предмета.
+     */
+    public void restoreSubject(int id, Subject subject) {
+        DbMutationEvent mutation = DbMutationEvent.start("restoreSubject");
+        subjects.put(id, subject);
+        logger.logInfo("Восстановлен предмет с айди: " + id);
+        changed(mutation, DatabaseEvent.inserted(DatabaseEvent.Entity.SUBJECT, subject, id));
     }
 
     /**
@@ -80,10 +278,11 @@ public class DatabaseManager {
      * @param subject обновленные данные предмета.
      */
     public void updateSubject(int id, Subject subject) {
+        DbMutationEvent mutation = DbMutationEvent.start("updateSubject");
         if (subjects.containsKey(id)) {
-            subjects.put(id, subject);
+            Subject previous = subjects.put(id, subject);
             logger.logInfo("Обновлен предмет: " + subject);
-            saveData();
+            changed(mutation, replaced(DatabaseEvent.Entity.SUBJECT, previous, subject, id));
         }
     }
 
@@ -93,8 +292,11 @@ public class DatabaseManager {
      * @return список объектов {@link Subject}.
      */
     public List<Subject> getAllSubjects() {
+        long startTime = System.nanoTime();
         logger.logInfo("Произведено получение всех предметов");
-        return new ArrayList<>(subjects.values());
+        List<Subject> result = new ArrayList<>(subjects.values());
+        metrics.record("getAllSubjects", startTime);
+        return result;
     }
 
     /**
@@ -115,9 +317,13 @@ public class DatabaseManager {
      * @param teacher объект учителя для добавления.
      */
     public void addTeacher(Teacher teacher) {
+        DbMutationEvent mutation = DbMutationEvent.start("addTeacher");
+        if (teacher.getRecordId() == 0) {
+            teacher.setRecordId(nextId++);
+        }
         teachers.add(teacher);
         logger.logInfo("Добавлен новый учитель: " + teacher);
-        saveData();
+        changed(mutation, DatabaseEvent.inserted(DatabaseEvent.Entity.TEACHER, teacher, teachers.size()));
     }
 
     /**
@@ -126,10 +332,26 @@ public class DatabaseManager {
      * @param id идентификатор учителя.
      */
     public void removeTeacher(int id) {
+        DbMutationEvent mutation = DbMutationEvent.start("removeTeacher");
         if (id > 0 && id <= teachers.size()) {
-            teachers.remove(id - 1);
+            Teacher removed = teachers.remove(id - 1);
             logger.logInfo("Удален учитель с айди: " + id);
-            saveData();
+            changed(mutation, DatabaseEvent.deleted(DatabaseEvent.Entity.TEACHER, removed, id));
+        }
+    }
+
+    /**
+     * Возвращает удаленного учителя на прежнюю позицию. Используется для отмены удаления.
+     *
+     * @param id      прежний идентификатор учителя.
+     * @param teacher объект учителя.
+     */
+    public void restoreTeacher(int id, Teacher teacher) {
+        DbMutationEvent mutation = DbMutationEvent.start("restoreTeacher");
+        if (id > 0 && id <= teachers.size() + 1) {
+            teachers.add(id - 1, teacher);
+            logger.logInfo("Восстановлен учитель с айди: " + id);
+            changed(mutation, DatabaseEvent.inserted(DatabaseEvent.Entity.TEACHER, teacher, id));
         }
     }
 
@@ -140,10 +362,12 @@ public class DatabaseManager {
      * @param teacher обновленные данные учителя.
      */
     public void updateTeacher(int id, Teacher teacher) {
+        DbMutationEvent mutation = DbMutationEvent.start("updateTeacher");
         if (id > 0 && id <= teachers.size()) {
-            teachers.set(id - 1, teacher);
+            Teacher previous = teachers.set(id - 1, teacher);
+            teacher.setRecordId(previous.getRecordId());
             logger.logInfo("Обновлен учитель: " + teacher);
-            saveData();
+            changed(mutation, replaced(DatabaseEvent.Entity.TEACHER, previous, teacher, id));
         }
     }
 
@@ -153,8 +377,11 @@ public class DatabaseManager {
      * @return список объектов {@link Teacher}.
      */
     public List<Teacher> getAllTeachers() {
+        long startTime = System.nanoTime();
         logger.logInfo("Произведено получение всех учителей");
-        return new ArrayList<>(teachers);
+        List<Teacher> result = new ArrayList<>(teachers);
+        metrics.record("getAllTeachers", startTime);
+        return result;
     }
 
     /**
@@ -168,6 +395,22 @@ public class DatabaseManager {
         return (id > 0 && id <= teachers.size()) ? teachers.get(id - 1) : null;
     }
 
+    /**
+     * Возвращает учителей по списку позиций.
+     *
+     * @param indexes позиции (ID - 1).
+     * @return список в порядке позиций.
+     * @throws IndexOutOfBoundsException если позиция выходит за пределы списка.
+     */
+    public List<Teacher> getTeachers(int[] indexes) {
+        logger.logDebug("Произведено получение учителей по " + indexes.length + " позициям");
+        List<Teacher> result = new ArrayList<>(indexes.length);
+        for (int index : indexes) {
+            result.add(teachers.get(index));
+        }
+        return result;
+    }
+
     // Методы для работы с родителями (Parent)
     /**
      * Добавляет нового родителя в базу данных.
@@ -175,9 +418,13 @@ public class DatabaseManager {
      * @param parent объект родителя для добавления.
      */
     public void addParent(Parent parent) {
+        DbMutationEvent mutation = DbMutationEvent.start("addParent");
+        if (parent.getRecordId() == 0) {
+            parent.setRecordId(nextId++);
+        }
         parents.add(parent);
         logger.logInfo("Добавлен новый родитель: " + parent);
-        saveData();
+        changed(mutation, DatabaseEvent.inserted(DatabaseEvent.Entity.PARENT, parent, parents.size()));
     }
 
     /**
@@ -186,10 +433,26 @@ public class DatabaseManager {
      * @param id идентификатор родителя.
      */
     public void removeParent(int id) {
+        DbMutationEvent mutation = DbMutationEvent.start("removeParent");
         if (id > 0 && id <= parents.size()) {
-            parents.remove(id - 1);
+            Parent removed = parents.remove(id - 1);
             logger.logInfo("Удален родитель с айди: " + id);
-            saveData();
+            changed(mutation, DatabaseEvent.deleted(DatabaseEvent.Entity.PARENT, removed, id));
+        }
+    }
+
+    /**
+     * Возвращает удаленного родителя на прежнюю позицию. Используется для отмены удаления.
+     *
+     * @param id      прежний идентификатор родителя.
+     * @param parent  объект родителя.
+     */
+    public void restoreParent(int id, Parent parent) {
+        DbMutationEvent mutation = DbMutationEvent.start("restoreParent");
+        if (id > 0 && id <= parents.size() + 1) {
+            parents.add(id - 1, parent);
+            logger.logInfo("Восстановлен родитель с айди: " + id);
+            changed(mutation, DatabaseEvent.inserted(DatabaseEvent.Entity.PARENT, parent, id));
         }
     }
 
@@ -200,10 +463,12 @@ public class DatabaseManager {
      * @param parent обновленные данные родителя.
      */
     public void updateParent(int id, Parent parent) {
+        DbMutationEvent mutation = DbMutationEvent.start("updateParent");
         if (id > 0 && id <= parents.size()) {
-            parents.set(id - 1, parent);
+            Parent previous = parents.set(id - 1, parent);
+            parent.setRecordId(previous.getRecordId());
             logger.logInfo("Обновлен родитель: " + parent);
-            saveData();
+            changed(mutation, replaced(DatabaseEvent.Entity.PARENT, previous, parent, id));
         }
     }
 
@@ -213,8 +478,11 @@ public class DatabaseManager {
      * @return список объектов {@link Parent}.
      */
     public List<Parent> getAllParents() {
+        long startTime = System.nanoTime();
         logger.logInfo("Произведено получение всех родителей");
-        return new ArrayList<>(parents);
+        List<Parent> result = new ArrayList<>(parents);
+        metrics.record("getAllParents", startTime);
+        return result;
     }
 
     /**
@@ -228,6 +496,22 @@ public class DatabaseManager {
         return (id > 0 && id <= parents.size()) ? parents.get(id - 1) : null;
     }
 
+    /**
+     * Возвращает родителей по списку позиций.
+     *
+     * @param indexes позиции (ID - 1).
+     * @return список в порядке позиций.
+     * @throws IndexOutOfBoundsException если позиция выходит за пределы списка.
+     */
+    public List<Parent> getParents(int[] indexes) {
+        logger.logDebug("Произведено получение родителей по " + indexes.length + " позициям");
+        List<Parent> result = new ArrayList<>(indexes.length);
+        for (int index : indexes) {
+            result.add(parents.get(index));
+        }
+        return result;
+    }
+
     // Методы для работы со студентами (Student)
     /**
      * Добавляет нового студента в базу данных.
@@ -235,9 +519,14 @@ public class DatabaseManager {
      * @param student объект студента для добавления.
      */
     public void addStudent(Student student) {
+        DbMutationEvent mutation = DbMutationEvent.start("addStudent");
+        if (student.getRecordId() == 0) {
+            student.setRecordId(nextId++);
+        }
         students.add(student);
+        studentTable = null;
         logger.logInfo("Добавлен новый студент: " + student);
-        saveData();
+        changed(mutation, DatabaseEvent.inserted(DatabaseEvent.Entity.STUDENT, student, students.size()));
     }
 
     /**
@@ -246,10 +535,27 @@ public class DatabaseManager {
      * @param id идентификатор студента.
      */
     public void removeStudent(int id) {
+        DbMutationEvent mutation = DbMutationEvent.start("removeStudent");
         if (id > 0 && id <= students.size()) {
-            students.remove(id - 1);
+            Student removed = students.remove(id - 1);
+            studentTable = null;
             logger.logInfo("Удален студент с айди: " + id);
-            saveData();
+            changed(mutation, DatabaseEvent.deleted(DatabaseEvent.Entity.STUDENT, removed, id));
+        }
+    }
+
+    /**
+     * Возвращает удаленного студента на прежнюю позицию. Используется для отмены удаления.
+     *
+     * @param id      прежний идентификатор студента.
+     * @param student объект студента.
+     */
+    public void restoreStudent(int id, Student student) {
+        DbMutationEvent mutation = DbMutationEvent.start("restoreStudent");
+        if (id > 0 && id <= students.size() + 1) {
+            students.add(id - 1, student);
+            logger.logInfo("Восстановлен студент с айди: " + id);
+            changed(mutation, DatabaseEvent.inserted(DatabaseEvent.Entity.STUDENT, student, id));
         }
     }
 
@@ -260,10 +566,13 @@ public class DatabaseManager {
      * @param student обновленные данные студента.
      */
     public void updateStudent(int id, Student student) {
+        DbMutationEvent mutation = DbMutationEvent.start("updateStudent");
         if (id > 0 && id <= students.size()) {
-            students.set(id - 1, student);
+            Student previous = students.set(id - 1, student);
+            student.setRecordId(previous.getRecordId());
+            studentTable = null;
             logger.logInfo("Обновлен студент: " + student);
-            saveData();
+            changed(mutation, replaced(DatabaseEvent.Entity.STUDENT, previous, student, id));
         }
     }
 
@@ -273,8 +582,11 @@ public class DatabaseManager {
      * @return список объектов {@link Student}.
      */
     public List<Student> getAllStudents() {
+        long startTime = System.nanoTime();
         logger.logInfo("Произведено получение всех студентов");
-        return new ArrayList<>(students);
+        List<Student> result = new ArrayList<>(students);
+        metrics.record("getAllStudents", startTime);
+        return result;
     }
 
     /**
@@ -288,25 +600,285 @@ public class DatabaseManager {
         return (id > 0 && id <= students.size()) ? students.get(id - 1) : null;
     }
 
+    /**
+     * Возвращает количество студентов.
+     *
+     * @return количество студентов.
+     */
+    public int getStudentCount() {
+        return students.size();
+    }
+
+    /**
+     * Возвращает студентов из диапазона позиций без копирования всего списка.
+     * Позиция студента равна его ID - 1.
+     *
+     * @param fromIndex начальная позиция (включительно).
+     * @param toIndex   конечная позиция (не включительно).
+     * @return список студентов диапазона.
+     * @throws IndexOutOfBoundsException если диапазон выходит за пределы списка.
+     */
+    public List<Student> getStudents(int fromIndex, int toIndex) {
+        logger.logDebug("Произведено получение студентов с " + fromIndex + " по " + toIndex);
+        return new ArrayList<>(students.subList(fromIndex, toIndex));
+    }
+
+    /**
+     * Возвращает студентов по списку позиций.
+     *
+     * @param indexes позиции студентов (ID - 1).
+     * @return список студентов в порядке позиций.
+     * @throws IndexOutOfBoundsException если позиция выходит за пределы списка.
+     */
+    public List<Student> getStudents(int[] indexes) {
+        logger.logDebug("Произведено получение студентов по " + indexes.length + " позициям");
+        List<Student> result = new ArrayList<>(indexes.length);
+        for (int index : indexes) {
+            result.add(students.get(index));
+        }
+        return result;
+    }
+
+    /**
+     * Возвращает колоночный снимок всех студентов для аналитических запросов.
+     * Снимок строится при первом обращении и переиспользуется до следующего изменения
+     * или сохранения данных.
+     *
+     * @return объект {@link StudentTable}.
+     */
+    public StudentTable getStudentTable() {
+        StudentTable table = studentTable;
+        if (table == null) {
+            table = StudentTable.of(students, parents);
+            studentTable = table;
+        }
+        return table;
+    }
+
+    /**
+     * Возвращает метрики базы данных: длительности операций, количество записанных
+     * строк и байт, состояние логгера.
+     *
+     * @return метрики.
+     */
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Возвращает версию данных. Версия увеличивается при каждом изменении базы данных
+     * и позволяет проверить, не устарел ли результат, полученный в другом потоке.
+     *
+     * @return текущая версия данных.
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Возвращает логгер базы данных, чтобы окна могли записывать свои ошибки в тот же лог.
+     *
+     * @return логгер.
+     */
+    public Logger getLogger() {
+        return logger;
+    }
+
+    // Индексы имен для поиска по префиксу
+    /**
+     * Возвращает индекс имен студентов. Имена копируются в текущем потоке, а сортировка
+     * выполняется в фоне; индекс переиспользуется до следующего изменения данных.
+     * Метод нужно вызывать в том же потоке, который изменяет базу данных.
+     *
+     * @return индекс имен; позиции в нем равны ID - 1.
+     */
+    public CompletableFuture<NameIndex> getStudentNameIndex() {
+        CompletableFuture<NameIndex> index = studentNameIndex;
+        if (index == null) {
+            index = buildNameIndex(students, Student::getName);
+            studentNameIndex = index;
+        }
+        return index;
+    }
+
+    /**
+     * Возвращает индекс имен учителей (см. {@link #getStudentNameIndex()}).
+     *
+     * @return индекс имен; позиции в нем равны ID - 1.
+     */
+    public CompletableFuture<NameIndex> getTeacherNameIndex() {
+        CompletableFuture<NameIndex> index = teacherNameIndex;
+        if (index == null) {
+            index = buildNameIndex(teachers, Teacher::getName);
+            teacherNameIndex = index;
+        }
+        return index;
+    }
+
+    /**
+     * Возвращает индекс имен родителей (см. {@link #getStudentNameIndex()}).
+     *
+     * @return индекс имен; позиции в нем равны ID - 1.
+     */
+    public CompletableFuture<NameIndex> getParentNameIndex() {
+        CompletableFuture<NameIndex> index = parentNameIndex;
+        if (index == null) {
+            index = buildNameIndex(parents, Parent::getName);
+            parentNameIndex = index;
+        }
+        return index;
+    }
+
+    private <T> CompletableFuture<NameIndex> buildNameIndex(List<T> items, Function<T, String> name) {
+        String[] names = new String[items.size()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = name.apply(items.get(i));
+        }
+        long builtVersion = version.get();
+        return CompletableFuture.supplyAsync(() -> {
+            long startTime = System.nanoTime();
+            NameIndex index = NameIndex.build(names, builtVersion);
+            logger.logDebug(String.format("Индекс имен построен: %d записей за %d мс",
+                    names.length, (System.nanoTime() - startTime) / 1_000_000));
+            return index;
+        });
+    }
+
+    // Массовые операции
+    /**
+     * Добавляет пакет записей в базу данных без сохранения в файл.
+     * Используется массовым импортом: файл сохраняется один раз после всех пакетов
+     * вызовом {@link #saveData()}. Предметы, родители и учителя добавляются раньше
+     * студентов, чтобы ссылки внутри пакета были корректными.
+     *
+     * @param newSubjects новые предметы.
+     * @param newParents  новые родители.
+     * @param newTeachers новые учителя.
+     * @param newStudents новые студенты.
+     */
+    public void addBatch(List<Subject> newSubjects, List<Parent> newParents,
+                         List<Teacher> newTeachers, List<Student> newStudents) {
+        long startTime = System.nanoTime();
+        for (Subject subject : newSubjects) {
+            subjects.put(nextId++, subject);
+        }
+        for (Parent parent : newParents) {
+            parent.setRecordId(nextId++);
+        }
+        for (Teacher teacher : newTeachers) {
+            teacher.setRecordId(nextId++);
+        }
+        for (Student student : newStudents) {
+            student.setRecordId(nextId++);
+        }
+        parents.addAll(newParents);
+        teachers.addAll(newTeachers);
+        students.addAll(newStudents);
+        invalidate();
+        // Пакет может содержать сотни тысяч записей, поэтому окна перечитывают данные целиком
+        if (!newSubjects.isEmpty()) {
+            eventBus.publish(DatabaseEvent.reloaded(DatabaseEvent.Entity.SUBJECT));
+        }
+        if (!newParents.isEmpty()) {
+            eventBus.publish(DatabaseEvent.reloaded(DatabaseEvent.Entity.PARENT));
+        }
+        if (!newTeachers.isEmpty()) {
+            eventBus.publish(DatabaseEvent.reloaded(DatabaseEvent.Entity.TEACHER));
+        }
+        if (!newStudents.isEmpty()) {
+            eventBus.publish(DatabaseEvent.reloaded(DatabaseEvent.Entity.STUDENT));
+        }
+        logger.logInfo(String.format("Добавлен пакет: предметов %d, родителей %d, учителей %d, студентов %d",
+                newSubjects.size(), newParents.size(), newTeachers.size(), newStudents.size()));
+        metrics.record("addBatch", startTime);
+    }
+
+    // Методы для работы с журналом оценок
+    /**
+     * Записывает выставление оценок в журнал событий и обновляет проекцию.
+     *
+     * @param student студент, получивший оценки.
+     * @param teacher преподаватель, выставивший оценки.
+     * @param grades  выставленные оценки.
+     */
+    public void recordGrades(Student student, Teacher teacher, int[] grades) {
+        recordGradeEvents(List.of(new GradeEvent(System.currentTimeMillis(),
+                student.getRecordId(), student.getParent().getRecordId(),
+                teacher.getRecordId(), getSubjectId(teacher.getSubject()), grades.clone())));
+    }
+
+    /**
+     * Записывает пакет событий выставления оценок в журнал за одну операцию записи
+     * и применяет их к проекции.
+     *
+     * @param events события выставления оценок.
+     */
+    public void recordGradeEvents(List<GradeEvent> events) {
+        try {
+            eventStore.appendAll(events);
+            events.forEach(gradeProjection::apply);
+            logger.logInfo("Записано событий оценивания: " + events.size());
+            // Оценки меняют средний балл и премиальные студентов
+            invalidate();
+            eventBus.publish(DatabaseEvent.reloaded(DatabaseEvent.Entity.STUDENT));
+        } catch (IOException e) {
+            System.out.println("Ошибка при записи журнала оценок: " + e.getMessage());
+            logger.logError("Ошибка при записи журнала оценок: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Возвращает проекцию журнала оценок: текущие средние оценки, премиальные и настроения родителей.
+     *
+     * @return объект {@link GradeProjection}.
+     */
+    public GradeProjection getGradeProjection() {
+        return gradeProjection;
+    }
+
+    /**
+     * Перестраивает проекцию журнала оценок, воспроизводя все события заново.
+     * Используется, например, после изменения правил оценивания.
+     */
+    public void rebuildGradeProjection() {
+        gradeProjection = new GradeProjection();
+        replayGradeEvents();
+    }
+
+    private void replayGradeEvents() {
+        long startTime = System.nanoTime();
+        try {
+            GradeProjection projection = gradeProjection;
+            long count = eventStore.replay(projection::apply);
+            logger.logInfo(String.format("Воспроизведено событий оценивания: %d за %d (ms)",
+                    count, (System.nanoTime() - startTime) / 1_000_000));
+        } catch (IOException e) {
+            System.out.println("Ошибка при чтении журнала оценок: " + e.getMessage());
+            logger.logError("Ошибка при чтении журнала оценок: " + e.getMessage());
+        }
+    }
+
     // Внутренние методы работы с данными
     /**
      * Загружает данные из файла базы данных.
      */
     private void loadData() {
-        try (BufferedReader reader = new BufferedReader(new FileReader(DB_FILE))) {
+        // Студенты ссылаются на постоянный ID родителя, а не на его позицию в списке
+        Map<Integer, Parent> parentsById = new HashMap<>();
+        try (BufferedReader reader = new BufferedReader(new FileReader(dbFile))) {
             String line;
             while ((line = reader.readLine()) != null) {
                 String[] parts = line.split("\\|");
                 if (parts.length > 0) {
                     switch (parts[0]) {
                         case "STUDENT":
-                            loadStudent(parts);
+                            loadStudent(parts, parentsById);
                             break;
                         case "TEACHER":
                             loadTeacher(parts);
                             break;
                         case "PARENT":
-                            loadParent(parts);
+                            loadParent(parts, parentsById);
                             break;
                         case "SUBJECT":
                             loadSubject(parts);
@@ -320,7 +892,7 @@ public class DatabaseManager {
         }
     }
 
-    private void loadStudent(String[] parts) {
+    private void loadStudent(String[] parts, Map<Integer, Parent> parentsById) {
         // Format: STUDENT|ID|name|age|gender|parentId|averageGrade|bonus
         int id = Integer.parseInt(parts[1]);
         String name = parts[2];
@@ -330,11 +902,12 @@ public class DatabaseManager {
         double averageGrade = Double.parseDouble(parts[6].replace(",", "."));
         int bonus = Integer.parseInt(parts[7]);
 
-        Parent parent = findParentById(parentId);
+        Parent parent = parentsById.get(parentId);
         if (parent != null) {
             Student student = new Student(name, age, gender, parent);
             student.setAverageGrade(averageGrade);
             student.setBonus(bonus);
+            student.setRecordId(id);
             students.add(student);
             nextId = Math.max(nextId, id + 1);
         }
@@ -348,12 +921,14 @@ public class DatabaseManager {
 
         Subject subject = subjects.get(subjectId);
         if (subject != null) {
-            teachers.add(new Teacher(name, subject));
+            Teacher teacher = new Teacher(name, subject);
+            teacher.setRecordId(id);
+            teachers.add(teacher);
         }
         nextId = Math.max(nextId, id + 1);
     }
 
-    private void loadParent(String[] parts) {
+    private void loadParent(String[] parts, Map<Integer, Parent> parentsById) {
         // Format: PARENT|ID|name|mood
         int id = Integer.parseInt(parts[1]);
         String name = parts[2];
@@ -361,7 +936,9 @@ public class DatabaseManager {
 
         Parent parent = new Parent(name);
         parent.setMood(mood);
+        parent.setRecordId(id);
         parents.add(parent);
+        parentsById.put(id, parent);
         nextId = Math.max(nextId, id + 1);
     }
 
@@ -374,45 +951,271 @@ public class DatabaseManager {
         nextId = Math.max(nextId, id + 1);
     }
 
+    /**
+     * Выполняет изменение без сохранения файла после каждой операции. Отложенное сохранение
+     * действует только внутри {@code change} и только в текущем потоке; остальные вызывающие
+     * по-прежнему сохраняют файл сразу. Изменения остаются в памяти, пока не будет вызван
+     * {@link #saveData()} или {@link #writeSnapshot(Snapshot)} (см. {@code DatabaseWriter}).
+     *
+     * @param change изменение данных.
+     */
+    public void withDeferredSave(Runnable change) {
+        if (saveDeferred.get()) {
+            change.run();
+            return;
+        }
+        saveDeferred.set(true);
+        try {
+            change.run();
+        } finally {
+            saveDeferred.remove();
+        }
+    }
+
+    /**
+     * Сообщает, что объект базы данных изменен напрямую через сеттеры.
+     * Сбрасывает снимки и индексы, построенные по прежним данным, и публикует
+     * {@link DatabaseEvent.Type#UPDATE}.
+     *
+     * @param item измененный предмет, учитель, родитель или студент.
+     */
+    public void markModified(Object item) {
+        invalidate();
+        eventBus.publish(DatabaseEvent.updated(entityOf(item), item, 0));
+    }
+
+    // Уведомления об изменениях
+    /**
+     * Подписывает обработчик на изменения базы данных. Обработчик вызывается через исполнитель,
+     * переданный в конструктор, с пакетом накопленных событий (см. {@link DatabaseEventBus}).
+     *
+     * @param listener обработчик пакета событий.
+     */
+    public void addChangeListener(Consumer<List<DatabaseEvent>> listener) {
+        eventBus.addListener(listener);
+    }
+
+    public void removeChangeListener(Consumer<List<DatabaseEvent>> listener) {
+        eventBus.removeListener(listener);
+    }
+
+    private static DatabaseEvent.Entity entityOf(Object item) {
+        return switch (item) {
+            case Subject subject -> DatabaseEvent.Entity.SUBJECT;
+            case Teacher teacher -> DatabaseEvent.Entity.TEACHER;
+            case Parent parent -> DatabaseEvent.Entity.PARENT;
+            case Student student -> DatabaseEvent.Entity.STUDENT;
+            default -> throw new IllegalArgumentException("Объект не хранится в базе данных: " + item);
+        };
+    }
+
+    /**
+     * События замены записи: изменение, если объект тот же, иначе удаление прежнего и добавление нового.
+     */
+    private static DatabaseEvent[] replaced(DatabaseEvent.Entity entity, Object previous, Object item, int id) {
+        if (previous == item) {
+            return new DatabaseEvent[]{DatabaseEvent.updated(entity, item, id)};
+        }
+        return new DatabaseEvent[]{DatabaseEvent.deleted(entity, previous, id), DatabaseEvent.inserted(entity, item, id)};
+    }
+
+    private void invalidate() {
+        studentTable = null;
+        studentNameIndex = null;
+        teacherNameIndex = null;
+        parentNameIndex = null;
+        version.incrementAndGet();
+    }
+
+    /**
+     * Сбрасывает снимки, публикует события, сохраняет файл при автосохранении и записывает
+     * длительность операции вместе с сохранением в метрики и событие JFR.
+     */
+    private void changed(DbMutationEvent mutation, DatabaseEvent... changes) {
+        invalidate();
+        for (DatabaseEvent change : changes) {
+            eventBus.publish(change);
+        }
+        boolean autoSave = !saveDeferred.get();
+        if (autoSave) {
+            saveData();
+        }
+        mutation.end();
+        if (mutation.shouldCommit()) {
+            mutation.entity = changes[0].entity().name();
+            mutation.autoSave = autoSave;
+            mutation.commit();
+        }
+        metrics.record(mutation.operation, mutation.startNanos);
+    }
+
     /**
      * Сохраняет текущие данные в файл базы данных.
      */
     public void saveData() {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(DB_FILE))) {
-            // Save subjects
-            for (Map.Entry<Integer, Subject> entry : subjects.entrySet()) {
-                writer.write(String.format("SUBJECT|%d|%s%n",
-                        entry.getKey(), entry.getValue().getName()));
-            }
+        // До окончания отложенной загрузки файл содержит больше данных, чем память
+        try {
+            awaitReady();
+        } catch (CompletionException e) {
+            logger.logError("Данные не сохранены: база данных не была загружена");
+            return;
+        }
+        long startTime = System.nanoTime();
+        invalidate();
+        try {
+            writeSnapshot(snapshot());
+            metrics.record("saveData", startTime);
+        } catch (IOException e) {
+            System.out.println("Ошибка при сохранении данных: " + e.getMessage());
+            logger.logError("Ошибка при сохранении данных: " + e.getMessage());
+        }
+    }
 
-            // Save parents
-            for (int i = 0; i < parents.size(); i++) {
-                Parent parent = parents.get(i);
-                writer.write(String.format("PARENT|%d|%s|%s%n",
-                        i + 1, parent.getName(), parent.getMood()));
-            }
+    /**
+     * Снимает значения всех записей базы данных для сохранения в другом потоке.
+     * Значения полей копируются в неизменяемые строки снимка, поэтому объекты можно менять
+     * сразу после вызова; снимок нужно создавать в том же потоке, который изменяет базу данных.
+     * Форматирование строк файла выполняется позже, в {@link #writeSnapshot(Snapshot)}.
+     *
+     * @return снимок записей.
+     */
+    public Snapshot snapshot() {
+        List<SubjectRow> subjectRows = new ArrayList<>(subjects.size());
+        Map<Subject, Integer> subjectIds = new IdentityHashMap<>();
+        for (Map.Entry<Integer, Subject> entry : subjects.entrySet()) {
+            subjectIds.putIfAbsent(entry.getValue(), entry.getKey());
+            subjectRows.add(new SubjectRow(entry.getKey(), entry.getValue().getName()));
+        }
 
-            // Save teachers
-            for (int i = 0; i < teachers.size(); i++) {
-                Teacher teacher = teachers.get(i);
-                writer.write(String.format("TEACHER|%d|%s|%d%n",
-                        i + 1, teacher.getName(),
-                        getSubjectId(teacher.getSubject())));
-            }
+        List<ParentRow> parentRows = new ArrayList<>(parents.size());
+        // Родитель, которого нет в базе, записывается как 0, и при загрузке такой студент пропускается
+        Map<Parent, Integer> parentIds = new IdentityHashMap<>();
+        for (Parent parent : parents) {
+            parentIds.putIfAbsent(parent, parent.getRecordId());
+            parentRows.add(new ParentRow(parent.getRecordId(), parent.getName(), parent.getMood()));
+        }
 
-            // Save students
-            for (int i = 0; i < students.size(); i++) {
-                Student student = students.get(i);
-                DecimalFormat df = new DecimalFormat("#.##");
+        List<TeacherRow> teacherRows = new ArrayList<>(teachers.size());
+        for (Teacher teacher : teachers) {
+            teacherRows.add(new TeacherRow(teacher.getRecordId(), teacher.getName(),
+                    subjectIds.getOrDefault(teacher.getSubject(), -1)));
+        }
+
+        List<StudentRow> studentRows = new ArrayList<>(students.size());
+        for (Student student : students) {
+            studentRows.add(new StudentRow(student.getRecordId(), student.getName(), student.getAge(),
+                    student.getGender(), parentIds.getOrDefault(student.getParent(), 0),
+                    student.getAverageGrade(), student.getBonus()));
+        }
+        return new Snapshot(subjectRows, parentRows, teacherRows, studentRows);
+    }
+
+    /**
+     * Записывает снимок в файл базы данных. Файл сначала записывается во временный файл,
+     * который затем заменяет основной, поэтому при ошибке записи прежний файл не повреждается.
+     * Права доступа прежнего файла переносятся на новый. Может вызываться из фонового потока;
+     * одновременные вызовы выполняются по очереди.
+     *
+     * @param snapshot снимок, полученный через {@link #snapshot()}.
+     * @throws IOException если файл не удалось записать.
+     */
+    public synchronized void writeSnapshot(Snapshot snapshot) throws IOException {
+        long startTime = System.nanoTime();
+        DbSaveEvent saveEvent = new DbSaveEvent();
+        saveEvent.begin();
+        Path target = Path.of(dbFile).toAbsolutePath();
+        // Временный файл создается обычным образом (с правами по umask), а не через createTempFile с правами 0600
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temp, Charset.defaultCharset())) {
+            for (SubjectRow row : snapshot.subjects) {
+                writer.write(String.format("SUBJECT|%d|%s%n", row.id(), row.name()));
+            }
+            for (ParentRow row : snapshot.parents) {
+                writer.write(String.format("PARENT|%d|%s|%s%n", row.id(), row.name(), row.mood()));
+            }
+            for (TeacherRow row : snapshot.teachers) {
+                writer.write(String.format("TEACHER|%d|%s|%d%n", row.id(), row.name(), row.subjectId()));
+            }
+            for (StudentRow row : snapshot.students) {
                 writer.write(String.format("STUDENT|%d|%s|%d|%s|%d|%.2f|%d%n",
-                        i + 1, student.getName(), student.getAge(),
-                        student.getGender(), getParentId(student.getParent()),
-                        student.getAverageGrade(), student.getBonus()));
+                        row.id(), row.name(), row.age(), row.gender(), row.parentId(),
+                        row.averageGrade(), row.bonus()));
             }
         } catch (IOException e) {
-            System.out.println("Ошибка при сохранении данных: " + e.getMessage());
-            logger.logError("Ошибка при сохранении данных: " + e.getMessage());
+            Files.deleteIfExists(temp);
+            throw e;
         }
+        copyPermissions(target, temp);
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        int rows = snapshot.rows();
+        long bytes = Files.size(target);
+        saveEvent.end();
+        if (saveEvent.shouldCommit()) {
+            saveEvent.file = dbFile;
+            saveEvent.rows = rows;
+            saveEvent.bytes = bytes;
+            saveEvent.commit();
+        }
+        metrics.record("writeSnapshot", startTime);
+        metrics.add("rowsWritten", rows);
+        metrics.add("bytesWritten", bytes);
+        logger.logDebug(String.format("База данных сохранена за %d (ms)", (System.nanoTime() - startTime) / 1_000_000));
+    }
+
+    private static void copyPermissions(Path from, Path to) throws IOException {
+        if (!Files.exists(from)) {
+            return;
+        }
+        try {
+            Files.setPosixFilePermissions(to, Files.getPosixFilePermissions(from));
+        } catch (UnsupportedOperationException e) {
+            // Файловая система без прав POSIX (например, Windows): права задаются каталогом
+        }
+    }
+
+    /**
+     * Значения записей базы данных на момент вызова {@link #snapshot()}.
+     * Содержит только неизменяемые строки, поэтому его можно передавать в другой поток.
+     */
+    public static final class Snapshot {
+        private final List<SubjectRow> subjects;
+        private final List<ParentRow> parents;
+        private final List<TeacherRow> teachers;
+        private final List<StudentRow> students;
+
+        private Snapshot(List<SubjectRow> subjects, List<ParentRow> parents,
+                         List<TeacherRow> teachers, List<StudentRow> students) {
+            this.subjects = subjects;
+            this.parents = parents;
+            this.teachers = teachers;
+            this.students = students;
+        }
+
+        /**
+         * Возвращает количество записей в снимке.
+         *
+         * @return количество строк файла базы данных.
+         */
+        public int rows() {
+            return subjects.size() + parents.size() + teachers.size() + students.size();
+        }
+    }
+
+    private record SubjectRow(int id, String name) {
+    }
+
+    private record ParentRow(int id, String name, String mood) {
+    }
+
+    private record TeacherRow(int id, String name, int subjectId) {
+    }
+
+    private record StudentRow(int id, String name, int age, String gender, int parentId,
+                              double averageGrade, int bonus) {
     }
 
     // Методы поиска и вспомогательные
@@ -460,11 +1263,4 @@ public class DatabaseManager {
         }
         return -1;
     }
-
-    private Parent findParentById(int id) {
-        if (id > 0 && id <= parents.size()) {
-            return parents.get(id - 1);
-        }
-        return null;
-    }
 }
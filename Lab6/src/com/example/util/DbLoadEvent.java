@@ -0,0 +1,23 @@
+package com.example.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Событие JDK Flight Recorder: чтение файла базы данных при запуске.
+ */
+@Name("com.example.DbLoad")
+@Label("DbLoad")
+@Category({"Lab6", "Database"})
+@Description("Чтение файла базы данных")
+@StackTrace(false)
+public class DbLoadEvent extends jdk.jfr.Event {
+    @Label("Файл")
+    String file;
+
+    @Label("Строк")
+    int rows;
+}
@@ -0,0 +1,47 @@
+package com.example.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Событие JDK Flight Recorder: изменение базы данных вместе с автосохранением.
+ * <p>
+ * Событие начинается в начале операции {@link DatabaseManager} и заканчивается после
+ * сохранения; момент начала используется и для метрик операции.
+ * </p>
+ */
+@Name("com.example.DbMutation")
+@Label("DbMutation")
+@Category({"Lab6", "Database"})
+@Description("Изменение базы данных вместе с автосохранением")
+public class DbMutationEvent extends jdk.jfr.Event {
+    @Label("Операция")
+    String operation;
+
+    @Label("Тип записи")
+    String entity;
+
+    @Label("Автосохранение")
+    boolean autoSave;
+
+    /**
+     * Начало операции по {@link System#nanoTime()}; в запись не попадает.
+     */
+    transient long startNanos;
+
+    /**
+     * Начинает событие операции.
+     *
+     * @param operation название операции, например {@code addStudent}.
+     * @return начатое событие.
+     */
+    static DbMutationEvent start(String operation) {
+        DbMutationEvent event = new DbMutationEvent();
+        event.operation = operation;
+        event.startNanos = System.nanoTime();
+        event.begin();
+        return event;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Событие JDK Flight Recorder: запись файла базы данных ({@link DatabaseManager#writeSnapshot}).
+ */
+@Name("com.example.DbSave")
+@Label("DbSave")
+@Category({"Lab6", "Database"})
+@Description("Запись файла базы данных")
+@StackTrace(false)
+public class DbSaveEvent extends jdk.jfr.Event {
+    @Label("Файл")
+    String file;
+
+    @Label("Строк")
+    int rows;
+
+    @Label("Размер")
+    @DataAmount
+    long bytes;
+}
@@ -0,0 +1,200 @@
+package com.example.util;
+
+import com.example.model.GradingPolicy;
+import com.example.model.Student;
+import com.example.model.Teacher;
+
+import java.util.List;
+
+/**
+ * Массовая аналитика по оценкам студентов: средние оценки, распределение
+ * оценок и сумма премиальных.
+ * <p>
+ * Оценки хранятся по колонкам: {@code columns[k][i]} — это k-я оценка i-го студента.
+ * Благодаря этому основные циклы проходят по непрерывным массивам {@code int} без
+ * ветвлений и векторизуются JIT-компилятором (SIMD) без дополнительных модулей JDK.
+ * Для сравнения оставлена построчная реализация {@link #averagesScalar(int[][])},
+ * повторяющая цикл из {@link Teacher#setGrades(Student, int[])}.
+ * </p>
+ */
+public class GradeAnalytics {
+    /**
+     * Количество оценок у одного студента.
+     */
+    public static final int GRADES_PER_STUDENT = 5;
+
+    /**
+     * Максимальная оценка.
+     */
+    public static final int MAX_GRADE = 5;
+
+    private final int size;
+    private final int[][] columns;
+
+    private GradeAnalytics(int size) {
+        this.size = size;
+        this.columns = new int[GRADES_PER_STUDENT][size];
+    }
+
+    /**
+     * Создает аналитику по массивам оценок студентов.
+     *
+     * @param grades список массивов из 5 оценок, по одному на студента.
+     * @return новый объект аналитики.
+     * @throws IllegalArgumentException если количество оценок не равно 5 или оценка вне диапазона 1..5.
+     */
+    public static GradeAnalytics of(List<int[]> grades) {
+        GradeAnalytics analytics = new GradeAnalytics(grades.size());
+        for (int i = 0; i < grades.size(); i++) {
+            analytics.setRow(i, grades.get(i));
+        }
+        return analytics;
+    }
+
+    /**
+     * Создает аналитику по массивам оценок студентов.
+     *
+     * @param grades массив массивов из 5 оценок, по одному на студента.
+     * @return новый объект аналитики.
+     * @throws IllegalArgumentException если количество оценок не равно 5 или оценка вне диапазона 1..5.
+     */
+    public static GradeAnalytics of(int[][] grades) {
+        return of(List.of(grades));
+    }
+
+    private void setRow(int row, int[] grades) {
+        if (grades.length != GRADES_PER_STUDENT) {
+            throw new IllegalArgumentException("Должно быть ровно 5 оценок.");
+        }
+        for (int k = 0; k < GRADES_PER_STUDENT; k++) {
+            if (grades[k] < 1 || grades[k] > MAX_GRADE) {
+                throw new IllegalArgumentException("Оценка должна быть в диапазоне от 1 до 5.");
+            }
+            columns[k][row] = grades[k];
+        }
+    }
+
+    /**
+     * Возвращает количество студентов.
+     *
+     * @return количество студентов.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Вычисляет сумму оценок каждого студента.
+     *
+     * @return массив сумм оценок.
+     */
+    public int[] sums() {
+        int[] c0 = columns[0], c1 = columns[1], c2 = columns[2], c3 = columns[3], c4 = columns[4];
+        int[] sums = new int[size];
+        for (int i = 0; i < size; i++) {
+            sums[i] = c0[i] + c1[i] + c2[i] + c3[i] + c4[i];
+        }
+        return sums;
+    }
+
+    /**
+     * Вычисляет среднюю оценку каждого студента.
+     *
+     * @return массив средних оценок.
+     */
+    public double[] averages() {
+        int[] sums = sums();
+        double[] averages = new double[size];
+        for (int i = 0; i < size; i++) {
+            averages[i] = sums[i] / (double) GRADES_PER_STUDENT;
+        }
+        return averages;
+    }
+
+    /**
+     * Вычисляет среднюю оценку по всем студентам.
+     *
+     * @return средняя оценка или {@link Double#NaN}, если студентов нет.
+     */
+    public double overallAverage() {
+        if (size == 0) {
+            return Double.NaN;
+        }
+        long total = 0;
+        for (int[] column : columns) {
+            for (int i = 0; i < size; i++) {
+                total += column[i];
+            }
+        }
+        return total / (double) (size * GRADES_PER_STUDENT);
+    }
+
+    /**
+     * Считает количество выставленных оценок каждого значения.
+     *
+     * @return массив, индекс которого равен оценке (0..5), значение — количество таких оценок.
+     */
+    public long[] gradeDistribution() {
+        long[] distribution = new long[MAX_GRADE + 1];
+        for (int grade = 1; grade <= MAX_GRADE; grade++) {
+            long count = 0;
+            for (int[] column : columns) {
+                for (int i = 0; i < size; i++) {
+                    count += column[i] == grade ? 1 : 0;
+                }
+            }
+            distribution[grade] = count;
+        }
+        return distribution;
+    }
+
+    /**
+     * Вычисляет сумму премиальных, которую назначат родители по этим оценкам.
+     * Студенты со средней оценкой ниже 3.0 не меняют настроение родителя и не учитываются.
+     *
+     * @return сумма премиальных.
+     */
+    public long bonusTotal() {
+        int[] bonusBySum = buildBonusTable(GradingPolicy.getCurrent());
+        int[] sums = sums();
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            total += bonusBySum[sums[i]];
+        }
+        return total;
+    }
+
+    /**
+     * Построчно вычисляет средние оценки тем же циклом, что и {@link Teacher#setGrades(Student, int[])}.
+     * Используется как эталон для сравнения производительности.
+     *
+     * @param grades массив массивов оценок, по одному на студента.
+     * @return массив средних оценок.
+     */
+    public static double[] averagesScalar(int[][] grades) {
+        double[] averages = new double[grades.length];
+        for (int i = 0; i < grades.length; i++) {
+            double sum = 0;
+            for (int grade : grades[i]) {
+                sum += grade;
+            }
+            averages[i] = sum / grades[i].length;
+        }
+        return averages;
+    }
+
+    /**
+     * Строит таблицу премиальных по сумме пяти оценок по действующим правилам оценивания.
+     *
+     * @param policy правила оценивания
+     * @return таблица премиальных, индекс которой равен сумме оценок.
+     */
+    private static int[] buildBonusTable(GradingPolicy policy) {
+        int maxSum = GRADES_PER_STUDENT * MAX_GRADE;
+        int[] table = new int[maxSum + 1];
+        for (int sum = GRADES_PER_STUDENT; sum <= maxSum; sum++) {
+            table[sum] = policy.bonusFor(policy.moodForSum(sum));
+        }
+        return table;
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.util;
+
+import com.example.model.GradeEvent;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileNotFoundException;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Журнал событий выставления оценок, в который записи только добавляются.
+ * <p>
+ * Каждое событие хранится отдельной строкой:
+ * {@code GRADE|timestamp|studentId|parentId|teacherId|subjectId|g1,g2,g3,g4,g5}.
+ * Журнал читается потоково, поэтому воспроизведение миллионов событий при запуске
+ * не требует загрузки файла в память целиком.
+ * </p>
+ */
+public class GradeEventStore {
+    private static final String PREFIX = "GRADE|";
+
+    private final String filePath;
+
+    /**
+     * Создает журнал событий в указанном файле.
+     *
+     * @param filePath путь к файлу журнала.
+     */
+    public GradeEventStore(String filePath) {
+        this.filePath = filePath;
+    }
+
+    /**
+     * Добавляет событие в конец журнала.
+     *
+     * @param event событие выставления оценок.
+     * @throws IOException если запись в файл не удалась.
+     */
+    public void append(GradeEvent event) throws IOException {
+        appendAll(List.of(event));
+    }
+
+    /**
+     * Добавляет несколько событий в конец журнала за одну операцию записи.
+     *
+     * @param events события выставления оценок.
+     * @throws IOException если запись в файл не удалась.
+     */
+    public synchronized void appendAll(List<GradeEvent> events) throws IOException {
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filePath, true))) {
+            StringBuilder line = new StringBuilder(64);
+            for (GradeEvent event : events) {
+                line.setLength(0);
+                line.append(PREFIX)
+                        .append(event.timestamp()).append('|')
+                        .append(event.studentId()).append('|')
+                        .append(event.parentId()).append('|')
+                        .append(event.teacherId()).append('|')
+                        .append(event.subjectId()).append('|');
+                int[] grades = event.grades();
+                for (int i = 0; i < grades.length; i++) {
+                    if (i > 0) {
+                        line.append(',');
+                    }
+                    line.append(grades[i]);
+                }
+                line.append(System.lineSeparator());
+                writer.write(line.toString());
+            }
+        }
+    }
+
+    /**
+     * Последовательно передает все события журнала обработчику.
+     * Строки неизвестного формата пропускаются.
+     *
+     * @param consumer обработчик событий.
+     * @return количество прочитанных событий; 0, если журнала еще нет.
+     * @throws IOException если чтение файла не удалось.
+     */
+    public long replay(Consumer<GradeEvent> consumer) throws IOException {
+        long count = 0;
+        try (BufferedReader reader = new BufferedReader(new FileReader(filePath), 1 << 16)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                GradeEvent event = parse(line);
+                if (event != null) {
+                    consumer.accept(event);
+                    count++;
+                }
+            }
+        } catch (FileNotFoundException e) {
+            return 0;
+        }
+        return count;
+    }
+
+    /**
+     * Разбирает строку журнала без регулярных выражений.
+     *
+     * @param line строка журнала.
+     * @return событие или {@code null}, если строка не является событием оценивания.
+     */
+    private GradeEvent parse(String line) {
+        if (!line.startsWith(PREFIX)) {
+            return null;
+        }
+        try {
+            int[] bounds = new int[5];
+            int position = PREFIX.length();
+            for (int i = 0; i < 5; i++) {
+                int end = line.indexOf('|', position);
+                bounds[i] = end;
+                position = end + 1;
+            }
+            int start = PREFIX.length();
+            long timestamp = Long.parseLong(line, start, bounds[0], 10);
+            int studentId = Integer.parseInt(line, bounds[0] + 1, bounds[1], 10);
+            int parentId = Integer.parseInt(line, bounds[1] + 1, bounds[2], 10);
+            int teacherId = Integer.parseInt(line, bounds[2] + 1, bounds[3], 10);
+            int subjectId = Integer.parseInt(line, bounds[3] + 1, bounds[4], 10);
+
+            int gradeCount = 1;
+            for (int i = bounds[4] + 1; i < line.length(); i++) {
+                if (line.charAt(i) == ',') {
+                    gradeCount++;
+                }
+            }
+            int[] grades = new int[gradeCount];
+            position = bounds[4] + 1;
+            for (int i = 0; i < gradeCount; i++) {
+                int end = line.indexOf(',', position);
+                if (end < 0) {
+                    end = line.length();
+                }
+                grades[i] = Integer.parseInt(line, position, end, 10);
+                position = end + 1;
+            }
+            return new GradeEvent(timestamp, studentId, parentId, teacherId, subjectId, grades);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.util;
+
+import com.example.model.GradeEvent;
+import com.example.model.GradingPolicy;
+import com.example.model.Mood;
+
+import java.util.Arrays;
+
+/**
+ * Материализованное представление журнала оценок: текущая средняя оценка,
+ * премиальные и количество оцениваний каждого студента, а также настроение
+ * каждого родителя.
+ * <p>
+ * Представление обновляется инкрементально методом {@link #apply(GradeEvent)}
+ * и может быть полностью перестроено воспроизведением журнала
+ * {@link GradeEventStore#replay(java.util.function.Consumer)}. Правила перехода
+ * "оценка -> настроение -> премия" берутся из {@link GradingPolicy}, как и в
+ * {@link com.example.model.Teacher#setGrades}. Студенты и родители адресуются постоянными
+ * идентификаторами записей ({@link com.example.model.Student#getRecordId()}).
+ * </p>
+ */
+public class GradeProjection {
+    private double[] averages = new double[16];
+    private int[] bonuses = new int[16];
+    private int[] gradingCounts = new int[16];
+    private Mood[] parentMoods = new Mood[16];
+    private long eventCount;
+
+    /**
+     * Применяет событие к представлению.
+     *
+     * @param event событие выставления оценок.
+     */
+    public synchronized void apply(GradeEvent event) {
+        int studentId = event.studentId();
+        int parentId = event.parentId();
+        if (studentId < 0 || parentId < 0 || event.grades().length == 0) {
+            return;
+        }
+        ensureStudent(studentId);
+        ensureParent(parentId);
+
+        int sum = 0;
+        for (int grade : event.grades()) {
+            sum += grade;
+        }
+        GradingPolicy policy = GradingPolicy.getCurrent();
+        Mood mood = event.grades().length == 5
+                ? policy.moodForSum(sum)
+                : policy.moodFor((double) sum / event.grades().length);
+        if (mood != null) {
+            parentMoods[parentId] = mood;
+        }
+
+        averages[studentId] = (double) sum / event.grades().length;
+        bonuses[studentId] = policy.bonusFor(parentMoods[parentId]);
+        gradingCounts[studentId]++;
+        eventCount++;
+    }
+
+    /**
+     * Возвращает последнюю среднюю оценку студента.
+     *
+     * @param studentId идентификатор студента.
+     * @return средняя оценка или {@link Double#NaN}, если студент не оценивался.
+     */
+    public synchronized double getAverageGrade(int studentId) {
+        return getGradingCount(studentId) == 0 ? Double.NaN : averages[studentId];
+    }
+
+    /**
+     * Возвращает премиальные студента после последнего оценивания.
+     *
+     * @param studentId идентификатор студента.
+     * @return сумма премиальных или 0, если студент не оценивался.
+     */
+    public synchronized int getBonus(int studentId) {
+        return getGradingCount(studentId) == 0 ? 0 : bonuses[studentId];
+    }
+
+    /**
+     * Возвращает количество оцениваний студента.
+     *
+     * @param studentId идентификатор студента.
+     * @return количество событий для студента.
+     */
+    public synchronized int getGradingCount(int studentId) {
+        return studentId >= 0 && studentId < gradingCounts.length ? gradingCounts[studentId] : 0;
+    }
+
+    /**
+     * Возвращает настроение родителя после последнего оценивания его студентов.
+     *
+     * @param parentId идентификатор родителя.
+     * @return настроение или {@code null}, если оно еще не определялось оценками.
+     */
+    public synchronized Mood getParentMood(int parentId) {
+        return parentId >= 0 && parentId < parentMoods.length ? parentMoods[parentId] : null;
+    }
+
+    /**
+     * Возвращает количество примененных событий.
+     *
+     * @return количество событий.
+     */
+    public synchronized long getEventCount() {
+        return eventCount;
+    }
+
+    private void ensureStudent(int studentId) {
+        if (studentId >= averages.length) {
+            int capacity = Math.max(studentId + 1, averages.length * 2);
+            averages = Arrays.copyOf(averages, capacity);
+            bonuses = Arrays.copyOf(bonuses, capacity);
+            gradingCounts = Arrays.copyOf(gradingCounts, capacity);
+        }
+    }
+
+    private void ensureParent(int parentId) {
+        if (parentId >= parentMoods.length) {
+            parentMoods = Arrays.copyOf(parentMoods, Math.max(parentId + 1, parentMoods.length * 2));
+        }
+    }
+}
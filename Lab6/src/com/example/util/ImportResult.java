@@ -0,0 +1,32 @@
+package com.example.util;
+
+import java.util.List;
+
+/**
+ * Итог массового импорта.
+ *
+ * @param accepted     количество добавленных записей
+ * @param rejected     количество отклоненных записей
+ * @param errors       первые ошибки проверки (не более {@link BulkImporter#MAX_REPORTED_ERRORS})
+ * @param elapsedNanos общее время импорта, включая сохранение, в наносекундах
+ */
+public record ImportResult(long accepted, long rejected, List<ValidationError> errors, long elapsedNanos) {
+
+    /**
+     * Возвращает скорость импорта.
+     *
+     * @return количество обработанных строк в секунду
+     */
+    public double rowsPerSecond() {
+        if (elapsedNanos == 0) {
+            return 0;
+        }
+        return (accepted + rejected) * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Добавлено: %d, отклонено: %d, время: %d (ms), %.0f строк/с",
+                accepted, rejected, elapsedNanos / 1_000_000, rowsPerSecond());
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Гистограмма задержек с логарифмическими интервалами, по образцу HdrHistogram.
+ * <p>
+ * Каждая степень двойки делится на {@link #SUB_BUCKETS} равных интервалов, поэтому
+ * относительная погрешность процентиля не больше 1/{@value #SUB_BUCKETS} (около 3%)
+ * во всем диапазоне от наносекунд до минут. Память фиксирована (около 16 КБ),
+ * запись — несколько атомарных операций без блокировок, поэтому гистограмму можно
+ * заполнять из любого потока и одновременно читать в окне метрик.
+ * </p>
+ */
+public class LatencyHistogram {
+    /**
+     * Количество интервалов внутри одной степени двойки.
+     */
+    public static final int SUB_BUCKETS = 32;
+    private static final int SUB_BUCKET_BITS = Integer.numberOfTrailingZeros(SUB_BUCKETS);
+    private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Записывает значение.
+     *
+     * @param nanos длительность в наносекундах; отрицательные значения считаются нулем.
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        counts.incrementAndGet(indexOf(value));
+        count.incrementAndGet();
+        total.addAndGet(value);
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Возвращает среднее значение.
+     *
+     * @return среднее в наносекундах или 0, если значений нет.
+     */
+    public double getMean() {
+        long n = count.get();
+        return n == 0 ? 0 : (double) total.get() / n;
+    }
+
+    /**
+     * Возвращает значение процентиля.
+     *
+     * @param percentile процентиль от 0 до 100.
+     * @return верхняя граница интервала, в который попал процентиль, в наносекундах
+     * (но не больше максимума), или 0, если значений нет.
+     */
+    public long getValueAtPercentile(double percentile) {
+        long n = count.get();
+        if (n == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * n));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(upperBound(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * Сбрасывает все значения.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+        count.set(0);
+        total.set(0);
+        max.set(0);
+    }
+
+    /**
+     * Значения меньше {@link #SUB_BUCKETS} хранятся точно; для больших значений
+     * номер степени двойки задает группу, а следующие биты — интервал внутри нее.
+     */
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long upperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long subBucket = index % SUB_BUCKETS + SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Событие JDK Flight Recorder: запись сообщения в лог-файл ({@link Logger#log(String)}).
+ */
+@Name("com.example.LogWrite")
+@Label("LogWrite")
+@Category({"Lab6", "Logger"})
+@Description("Запись сообщения в лог-файл")
+@StackTrace(false)
+public class LogWriteEvent extends jdk.jfr.Event {
+    @Label("Файл")
+    String file;
+
+    @Label("Длина сообщения")
+    int length;
+
+    @Label("Ожидающих записей")
+    int pendingWrites;
+}
@@ -5,7 +5,8 @@ import java.io.IOException;
 import java.io.PrintWriter;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Класс для записи сообщений в лог-файл. Поддерживает различные уровни логирования: информационные сообщения,
@@ -13,12 +14,20 @@ import java.util.Objects;
  * <p>
  * Логирование выполняется в файл, указанный в параметрах конструктора. Сообщения записываются с отметкой времени.
  * Уровень логирования управляется через объект {@link PropertiesReader}, например, настройкой "debug".
+ * Логгер подписан на изменения настроек, поэтому переключение отладки действует без перезапуска.
+ * </p>
+ * <p>
+ * Запись выполняется в вызывающем потоке; количество потоков, ожидающих записи в файл,
+ * и количество записанных сообщений доступны для метрик ({@link #getPendingWrites()}).
+ * Каждая запись в файл отмечается событием JFR {@link LogWriteEvent}.
  * </p>
  */
 public class Logger {
     private String filePath;
     private DateTimeFormatter dateTimeFormatter;
-    private PropertiesReader properties;
+    private volatile boolean debug;
+    private final AtomicInteger pendingWrites = new AtomicInteger();
+    private final LongAdder writtenMessages = new LongAdder();
 
     /**
      * Конструктор класса. Инициализирует объект логгера с заданным файлом для записи и параметрами конфигурации.
@@ -28,8 +37,9 @@ public class Logger {
      */
     public Logger(String filePath, PropertiesReader properties) {
         this.filePath = filePath;
-        this.properties = properties;
         this.dateTimeFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+        this.debug = properties.isDebug();
+        properties.addListener(settings -> debug = settings.isDebug());
     }
 
     /**
@@ -42,20 +52,51 @@ public class Logger {
      * @param message текст сообщения для записи.
      */
     public void log(String message) {
-        if (!Objects.equals(properties.getProperty("debug"), "true")){
+        if (!debug){
             return;
         }
+        LogWriteEvent event = new LogWriteEvent();
+        event.begin();
+        int pending = pendingWrites.incrementAndGet();
         try (FileWriter fileWriter = new FileWriter(filePath, true);
              PrintWriter printWriter = new PrintWriter(fileWriter)) {
             // Получаем текущее время в нужном формате
             String timestamp = LocalDateTime.now().format(dateTimeFormatter);
             // Записываем сообщение в формате "время - сообщение"
             printWriter.println(timestamp + " - " + message);
+            writtenMessages.increment();
         } catch (IOException e) {
             System.err.println("Ошибка при записи в лог-файл: " + e.getMessage());
+        } finally {
+            pendingWrites.decrementAndGet();
+            event.end();
+            if (event.shouldCommit()) {
+                event.file = filePath;
+                event.length = message == null ? 0 : message.length();
+                event.pendingWrites = pending;
+                event.commit();
+            }
         }
     }
 
+    /**
+     * Возвращает количество сообщений, которые сейчас записываются в файл.
+     *
+     * @return количество незавершенных записей.
+     */
+    public int getPendingWrites() {
+        return pendingWrites.get();
+    }
+
+    /**
+     * Возвращает количество сообщений, записанных в файл.
+     *
+     * @return количество записанных сообщений.
+     */
+    public long getWrittenMessages() {
+        return writtenMessages.sum();
+    }
+
     /**
      * Записывает сообщение об ошибке в лог-файл.
      * <p>
@@ -0,0 +1,144 @@
+package com.example.util;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Набор метрик приложения: гистограммы задержек операций, счетчики и текущие значения.
+ * <p>
+ * Метрики создаются при первом обращении по имени, поэтому новую операцию достаточно
+ * начать записывать. Запись потокобезопасна и не блокирует вызывающий поток.
+ * Метрики показываются в окне {@code MetricsWindow} и периодически записываются в лог
+ * (см. {@link #startDump(Logger, long)}).
+ * </p>
+ */
+public class Metrics {
+    private final Map<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+    private ScheduledExecutorService dumper;
+    private long dumpPeriodSeconds;
+
+    /**
+     * Записывает длительность операции, начатой в момент {@code startTime}.
+     *
+     * @param operation название операции.
+     * @param startTime значение {@link System#nanoTime()} в начале операции.
+     */
+    public void record(String operation, long startTime) {
+        latency(operation).record(System.nanoTime() - startTime);
+    }
+
+    /**
+     * Возвращает гистограмму задержек операции, создавая ее при необходимости.
+     *
+     * @param operation название операции.
+     * @return гистограмма задержек.
+     */
+    public LatencyHistogram latency(String operation) {
+        return latencies.computeIfAbsent(operation, key -> new LatencyHistogram());
+    }
+
+    /**
+     * Увеличивает счетчик.
+     *
+     * @param counter название счетчика.
+     * @param amount  величина увеличения.
+     */
+    public void add(String counter, long amount) {
+        counters.computeIfAbsent(counter, key -> new LongAdder()).add(amount);
+    }
+
+    /**
+     * Регистрирует текущее значение, которое вычисляется при каждом чтении метрик.
+     *
+     * @param name  название значения.
+     * @param value источник значения.
+     */
+    public void gauge(String name, LongSupplier value) {
+        gauges.put(name, value);
+    }
+
+    /**
+     * Возвращает гистограммы задержек, упорядоченные по названию операции.
+     *
+     * @return гистограммы задержек.
+     */
+    public Map<String, LatencyHistogram> getLatencies() {
+        return new TreeMap<>(latencies);
+    }
+
+    /**
+     * Возвращает значения счетчиков и текущих значений, упорядоченные по названию.
+     *
+     * @return значения счетчиков.
+     */
+    public Map<String, Long> getValues() {
+        Map<String, Long> values = new TreeMap<>();
+        counters.forEach((name, counter) -> values.put(name, counter.sum()));
+        gauges.forEach((name, gauge) -> values.put(name, gauge.getAsLong()));
+        return values;
+    }
+
+    /**
+     * Сбрасывает гистограммы задержек. Счетчики не сбрасываются.
+     */
+    public void resetLatencies() {
+        latencies.values().forEach(LatencyHistogram::reset);
+    }
+
+    /**
+     * Формирует текстовый отчет по всем метрикам.
+     *
+     * @return отчет; по строке на операцию и на счетчик.
+     */
+    public String report() {
+        StringBuilder report = new StringBuilder("Метрики:");
+        getLatencies().forEach((operation, histogram) -> report.append(String.format(
+                "%n  %s: n=%d, p50=%.3f, p90=%.3f, p99=%.3f, max=%.3f (ms)", operation, histogram.getCount(),
+                histogram.getValueAtPercentile(50) / 1e6, histogram.getValueAtPercentile(90) / 1e6,
+                histogram.getValueAtPercentile(99) / 1e6, histogram.getMax() / 1e6)));
+        getValues().forEach((name, value) -> report.append(String.format("%n  %s=%d", name, value)));
+        return report.toString();
+    }
+
+    /**
+     * Запускает периодическую запись отчета в лог в фоновом потоке.
+     * Повторный вызов с тем же периодом не создает второй поток, а с другим периодом
+     * перезапускает запись (например, после изменения настроек).
+     *
+     * @param logger        логгер.
+     * @param periodSeconds период записи в секундах.
+     */
+    public synchronized void startDump(Logger logger, long periodSeconds) {
+        if (dumper != null) {
+            if (dumpPeriodSeconds == periodSeconds) {
+                return;
+            }
+            stopDump();
+        }
+        dumpPeriodSeconds = periodSeconds;
+        dumper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-dump");
+            thread.setDaemon(true);
+            return thread;
+        });
+        dumper.scheduleAtFixedRate(() -> logger.logInfo(report()), periodSeconds, periodSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Останавливает периодическую запись отчета.
+     */
+    public synchronized void stopDump() {
+        if (dumper != null) {
+            dumper.shutdown();
+            dumper = null;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.util;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Отсортированный индекс имен для поиска по префиксу.
+ * <p>
+ * Индекс хранит имена в нижнем регистре в отсортированном массиве вместе с позициями
+ * записей в списке базы данных (ID - 1). Поиск по префиксу — это двоичный поиск
+ * первого подходящего имени и проход вперед, поэтому первая страница результатов
+ * возвращается за время порядка {@code log n}, независимо от размера базы.
+ * </p>
+ * <p>
+ * Индекс неизменяем и может читаться из любого потока. Позиции соответствуют
+ * состоянию базы на момент построения ({@link #getVersion()}).
+ * </p>
+ */
+public final class NameIndex {
+    private final String[] keys;
+    private final int[] positions;
+    private final long version;
+
+    private NameIndex(String[] keys, int[] positions, long version) {
+        this.keys = keys;
+        this.positions = positions;
+        this.version = version;
+    }
+
+    /**
+     * Строит индекс по массиву имен.
+     *
+     * @param names   имена; индекс массива — позиция записи в списке базы данных.
+     * @param version версия базы данных, по которой собраны имена.
+     * @return новый индекс.
+     */
+    public static NameIndex build(String[] names, long version) {
+        Entry[] entries = new Entry[names.length];
+        for (int i = 0; i < names.length; i++) {
+            entries[i] = new Entry(normalize(names[i]), i);
+        }
+        Arrays.parallelSort(entries);
+
+        String[] keys = new String[entries.length];
+        int[] positions = new int[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            keys[i] = entries[i].key();
+            positions[i] = entries[i].position();
+        }
+        return new NameIndex(keys, positions, version);
+    }
+
+    /**
+     * Находит записи, имя которых начинается с префикса (без учета регистра).
+     *
+     * @param prefix префикс имени.
+     * @param limit  максимальное количество результатов.
+     * @return позиции найденных записей в порядке имен.
+     */
+    public int[] search(String prefix, int limit) {
+        String key = normalize(prefix);
+        int from = lowerBound(key);
+        int to = from;
+        while (to < keys.length && to - from < limit && keys[to].startsWith(key)) {
+            to++;
+        }
+        return Arrays.copyOfRange(positions, from, to);
+    }
+
+    /**
+     * Считает записи, имя которых начинается с префикса (без учета регистра).
+     *
+     * @param prefix префикс имени.
+     * @return количество найденных записей.
+     */
+    public int count(String prefix) {
+        String key = normalize(prefix);
+        return lowerBound(key + Character.MAX_VALUE) - lowerBound(key);
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * Возвращает версию базы данных, по которой построен индекс.
+     *
+     * @return версия базы данных.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (keys[middle].compareTo(key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static String normalize(String name) {
+        return name == null ? "" : name.toLowerCase(Locale.ROOT);
+    }
+
+    private record Entry(String key, int position) implements Comparable<Entry> {
+        @Override
+        public int compareTo(Entry other) {
+            int result = key.compareTo(other.key);
+            return result != 0 ? result : Integer.compare(position, other.position);
+        }
+    }
+}
@@ -3,14 +3,34 @@ package com.example.util;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 /**
  * Класс для чтения и управления данными из .properties файлов.
  * Использует класс {@link Properties} для загрузки пары ключ-значение.
+ * <p>
+ * Текущие настройки хранятся в виде неизменяемого снимка {@link Settings}, который
+ * заменяется целиком, поэтому чтение настройки — это одно чтение volatile-поля.
+ * После вызова {@link #startWatching()} файл отслеживается через {@link WatchService}:
+ * при изменении файла настройки перечитываются, а подписчики ({@link #addListener(Consumer)})
+ * получают новый снимок. Если новый файл не удалось прочитать, остается прежний снимок.
+ * </p>
  */
 public class PropertiesReader {
-    private Properties properties;
+    private final Path path;
+    private volatile Settings settings;
+    private final List<Consumer<Settings>> listeners = new CopyOnWriteArrayList<>();
+    private WatchService watchService;
 
     /**
      * Создает новый экземпляр PropertiesReader и загружает свойства из указанного .properties файла.
@@ -19,27 +39,55 @@ public class PropertiesReader {
      * @throws IllegalArgumentException если файл не найден или произошла ошибка при его чтении.
      */
     public PropertiesReader(String filePath) {
-        properties = new Properties();
-        try (InputStream input = new FileInputStream(filePath)) {
-            properties.load(input);
+        path = Path.of(filePath).toAbsolutePath();
+        Properties properties = new Properties();
+        try {
+            properties = load();
         } catch (IOException e) {
             System.err.println("Ошибка при чтении файла: " + e.getMessage());
         }
-        checkProperty();
+        settings = new Settings(properties);
+        checkProperty(settings);
     }
 
-    private void checkProperty(){
+    private Properties load() throws IOException {
+        Properties properties = new Properties();
+        try (InputStream input = new FileInputStream(path.toFile())) {
+            properties.load(input);
+        }
+        return properties;
+    }
+
+    private void checkProperty(Settings settings){
         try {
-            assert getProperty("login")!=null;
-            assert getProperty("password")!=null;
-            assert getProperty("group").equals("user") || getProperty("group").equals("root");
-            assert getProperty("user")!=null;
-            assert getProperty("user")!=null;
+            assert settings.getProperty("login")!=null;
+            assert settings.getProperty("password")!=null;
+            assert settings.getProperty("group").equals("user") || settings.getProperty("group").equals("root");
+            assert settings.getProperty("user")!=null;
+            assert settings.getProperty("user")!=null;
         } catch (Exception e){
             throw new RuntimeException();
         }
     }
 
+    /**
+     * Возвращает текущий снимок настроек.
+     *
+     * @return неизменяемый снимок настроек.
+     */
+    public Settings getSettings() {
+        return settings;
+    }
+
+    /**
+     * Проверяет, включен ли режим отладки.
+     *
+     * @return {@code true}, если свойство "debug" равно "true".
+     */
+    public boolean isDebug() {
+        return settings.isDebug();
+    }
+
     /**
      * Возвращает значение свойства, соответствующее указанному ключу.
      *
@@ -47,16 +95,16 @@ public class PropertiesReader {
      * @return значение свойства, связанное с указанным ключом, или {@code null}, если ключ не найден.
      */
     public String getProperty(String key) {
-        return properties.getProperty(key);
+        return settings.getProperty(key);
     }
 
     /**
-     * Задает значение свойства, соответствующее указанному ключу.
+     * Переключает режим отладки. Изменение действует до следующего перечитывания файла.
      */
-    public void switchDebug(){
-        switch (properties.getProperty("debug")){
-            case "true" -> properties.setProperty("debug", "false");
-            case "false" -> properties.setProperty("debug", "true");
+    public synchronized void switchDebug(){
+        switch (settings.getProperty("debug")){
+            case "true" -> publish(settings.with("debug", "false"));
+            case "false" -> publish(settings.with("debug", "true"));
             default -> throw new RuntimeException();
         }
     }
@@ -70,7 +118,7 @@ public class PropertiesReader {
      * @return значение свойства, связанное с указанным ключом, или {@code defaultValue}, если ключ не найден.
      */
     public String getProperty(String key, String defaultValue) {
-        return properties.getProperty(key, defaultValue);
+        return settings.getProperty(key, defaultValue);
     }
 
     /**
@@ -80,7 +128,109 @@ public class PropertiesReader {
      * @return {@code true}, если указанный ключ присутствует; {@code false} в противном случае.
      */
     public boolean containsKey(String key) {
-        return properties.containsKey(key);
+        return settings.containsKey(key);
+    }
+
+    /**
+     * Подписывает обработчик на изменение настроек. Обработчик вызывается
+     * в потоке, который заменил снимок.
+     *
+     * @param listener обработчик, получающий новый снимок настроек.
+     */
+    public void addListener(Consumer<Settings> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Consumer<Settings> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Перечитывает файл настроек и уведомляет подписчиков.
+     *
+     * @return {@code true}, если файл прочитан и снимок заменен.
+     */
+    public synchronized boolean reload() {
+        Settings loaded;
+        try {
+            Properties properties = load();
+            if (properties.isEmpty()) {
+                // Файл может быть пустым в момент перезаписи редактором; дождемся следующего события
+                return false;
+            }
+            loaded = new Settings(properties);
+            checkProperty(loaded);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Ошибка при чтении файла: " + e.getMessage());
+            return false;
+        }
+        publish(loaded);
+        return true;
+    }
+
+    private void publish(Settings next) {
+        settings = next;
+        for (Consumer<Settings> listener : listeners) {
+            listener.accept(next);
+        }
     }
-}
 
+    /**
+     * Запускает фоновое отслеживание файла настроек.
+     * Повторный вызов не создает второй поток.
+     *
+     * @throws IOException если не удалось зарегистрировать каталог файла.
+     */
+    public synchronized void startWatching() throws IOException {
+        if (watchService != null) {
+            return;
+        }
+        WatchService service = FileSystems.getDefault().newWatchService();
+        path.getParent().register(service,
+                StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_CREATE);
+        watchService = service;
+
+        Thread watcher = new Thread(() -> watch(service), "settings-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    /**
+     * Останавливает отслеживание файла настроек.
+     */
+    public synchronized void stopWatching() {
+        if (watchService == null) {
+            return;
+        }
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            System.err.println("Ошибка при остановке отслеживания настроек: " + e.getMessage());
+        }
+        watchService = null;
+    }
+
+    private void watch(WatchService service) {
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (path.getFileName().equals(event.context())) {
+                        changed = true;
+                    }
+                }
+                if (changed) {
+                    reload();
+                }
+                if (!key.reset()) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // Отслеживание остановлено через stopWatching()
+        }
+    }
+}
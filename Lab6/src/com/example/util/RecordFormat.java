@@ -0,0 +1,339 @@
+package com.example.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Формат строк для массового импорта и экспорта базы данных.
+ * Каждая строка файла содержит одну запись; первое поле {@code type} задает тип сущности.
+ * <p>
+ * Поля записей по типам:
+ * <ul>
+ *     <li>SUBJECT: {@code name}</li>
+ *     <li>PARENT: {@code name, mood, key} — ключ записи в файле</li>
+ *     <li>TEACHER: {@code name, subject} — название предмета</li>
+ *     <li>STUDENT: {@code name, age, gender, parent, averageGrade, bonus, parentKey} — имя и ключ родителя</li>
+ * </ul>
+ * В CSV поля идут в этом порядке после типа ({@code STUDENT,Иван,15,М,Петр,4.2,5000,7}),
+ * в NDJSON записываются объектом ({@code {"type":"STUDENT","name":"Иван",...}}).
+ * Поля ключей необязательны: если ключ родителя не указан, родитель ищется по имени.
+ * Ключи добавлены последними полями, поэтому файлы без них читаются как прежде.
+ * </p>
+ */
+public enum RecordFormat {
+    CSV {
+        @Override
+        public Map<String, String> parse(String line) {
+            String[] values = splitCsv(line);
+            Map<String, String> record = new LinkedHashMap<>();
+            record.put(TYPE, values[0]);
+            String[] names = fieldsOf(values[0]);
+            if (names != null) {
+                for (int i = 0; i < names.length && i + 1 < values.length; i++) {
+                    record.put(names[i], values[i + 1]);
+                }
+            }
+            return record;
+        }
+
+        @Override
+        public String format(Map<String, String> record) {
+            StringBuilder line = new StringBuilder(64);
+            String type = record.get(TYPE);
+            line.append(quoteCsv(type));
+            for (String name : fieldsOf(type)) {
+                String value = record.get(name);
+                line.append(',').append(value == null ? "" : quoteCsv(value));
+            }
+            return line.toString();
+        }
+
+        @Override
+        public boolean isHeader(String line) {
+            return line.startsWith(TYPE + ",");
+        }
+    },
+
+    NDJSON {
+        @Override
+        public Map<String, String> parse(String line) {
+            return parseJsonObject(line);
+        }
+
+        @Override
+        public String format(Map<String, String> record) {
+            StringBuilder line = new StringBuilder(96);
+            String type = record.get(TYPE);
+            line.append("{\"").append(TYPE).append("\":");
+            appendJsonString(line, type);
+            for (String name : fieldsOf(type)) {
+                String value = record.get(name);
+                if (value == null) {
+                    continue;
+                }
+                line.append(",\"").append(name).append("\":");
+                if (NUMERIC_FIELDS.contains(name)) {
+                    line.append(value);
+                } else {
+                    appendJsonString(line, value);
+                }
+            }
+            return line.append('}').toString();
+        }
+
+        @Override
+        public boolean isHeader(String line) {
+            return false;
+        }
+    };
+
+    /**
+     * Имя поля с типом записи.
+     */
+    public static final String TYPE = "type";
+
+    private static final String[] SUBJECT_FIELDS = {"name"};
+    private static final String[] PARENT_FIELDS = {"name", "mood", "key"};
+    private static final String[] TEACHER_FIELDS = {"name", "subject"};
+    private static final String[] STUDENT_FIELDS = {"name", "age", "gender", "parent", "averageGrade", "bonus",
+            "parentKey"};
+    private static final Set<String> NUMERIC_FIELDS = Set.of("age", "averageGrade", "bonus");
+
+    /**
+     * Разбирает строку файла в запись "поле -> значение".
+     *
+     * @param line строка файла.
+     * @return запись; для неизвестного типа содержит только поле {@code type}.
+     * @throws IllegalArgumentException если строка синтаксически некорректна.
+     */
+    public abstract Map<String, String> parse(String line);
+
+    /**
+     * Форматирует запись в строку файла.
+     *
+     * @param record запись "поле -> значение" с заполненным полем {@code type}.
+     * @return строка файла без перевода строки.
+     */
+    public abstract String format(Map<String, String> record);
+
+    /**
+     * Проверяет, является ли строка заголовком, который нужно пропустить.
+     *
+     * @param line строка файла.
+     * @return {@code true} для строки заголовка.
+     */
+    public abstract boolean isHeader(String line);
+
+    /**
+     * Определяет формат по расширению файла: {@code .ndjson} и {@code .jsonl} — NDJSON, остальные — CSV.
+     *
+     * @param filePath путь к файлу.
+     * @return формат файла.
+     */
+    public static RecordFormat forFile(String filePath) {
+        String lower = filePath.toLowerCase();
+        return lower.endsWith(".ndjson") || lower.endsWith(".jsonl") ? NDJSON : CSV;
+    }
+
+    /**
+     * Возвращает порядок полей для типа записи.
+     *
+     * @param type тип записи.
+     * @return массив имен полей или {@code null} для неизвестного типа.
+     */
+    public static String[] fieldsOf(String type) {
+        if (type == null) {
+            return null;
+        }
+        return switch (type) {
+            case "SUBJECT" -> SUBJECT_FIELDS;
+            case "PARENT" -> PARENT_FIELDS;
+            case "TEACHER" -> TEACHER_FIELDS;
+            case "STUDENT" -> STUDENT_FIELDS;
+            default -> null;
+        };
+    }
+
+    private static String[] splitCsv(String line) {
+        if (line.indexOf('"') < 0) {
+            return line.split(",", -1);
+        }
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        value.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Незакрытая кавычка");
+        }
+        values.add(value.toString());
+        return values.toArray(new String[0]);
+    }
+
+    private static String quoteCsv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Разбирает плоский JSON-объект, значения которого — строки, числа, логические значения или {@code null}.
+     */
+    private static Map<String, String> parseJsonObject(String line) {
+        Map<String, String> record = new LinkedHashMap<>();
+        JsonCursor cursor = new JsonCursor(line);
+        cursor.expect('{');
+        if (cursor.peek() == '}') {
+            cursor.expect('}');
+            return record;
+        }
+        do {
+            String name = cursor.readString();
+            cursor.expect(':');
+            String value = cursor.readValue();
+            if (value != null) {
+                record.put(name, value);
+            }
+        } while (cursor.tryConsume(','));
+        cursor.expect('}');
+        return record;
+    }
+
+    private static void appendJsonString(StringBuilder line, String value) {
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> line.append("\\\"");
+                case '\\' -> line.append("\\\\");
+                case '\n' -> line.append("\\n");
+                case '\r' -> line.append("\\r");
+                case '\t' -> line.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        line.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        line.append(c);
+                    }
+                }
+            }
+        }
+        line.append('"');
+    }
+
+    /**
+     * Позиция чтения внутри строки JSON.
+     */
+    private static class JsonCursor {
+        private final String text;
+        private int position;
+
+        JsonCursor(String text) {
+            this.text = text;
+        }
+
+        char peek() {
+            skipWhitespace();
+            if (position >= text.length()) {
+                throw new IllegalArgumentException("Неожиданный конец строки");
+            }
+            return text.charAt(position);
+        }
+
+        void expect(char expected) {
+            if (peek() != expected) {
+                throw new IllegalArgumentException("Ожидался символ '" + expected + "' в позиции " + position);
+            }
+            position++;
+        }
+
+        boolean tryConsume(char c) {
+            if (peek() == c) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        String readValue() {
+            char c = peek();
+            if (c == '"') {
+                return readString();
+            }
+            int start = position;
+            while (position < text.length() && ",}] \t".indexOf(text.charAt(position)) < 0) {
+                position++;
+            }
+            String literal = text.substring(start, position);
+            if (literal.isEmpty()) {
+                throw new IllegalArgumentException("Пустое значение в позиции " + start);
+            }
+            return literal.equals("null") ? null : literal;
+        }
+
+        String readString() {
+            expect('"');
+            StringBuilder value = new StringBuilder();
+            while (position < text.length()) {
+                char c = text.charAt(position++);
+                if (c == '"') {
+                    return value.toString();
+                }
+                if (c != '\\') {
+                    value.append(c);
+                    continue;
+                }
+                if (position >= text.length()) {
+                    break;
+                }
+                char escaped = text.charAt(position++);
+                switch (escaped) {
+                    case 'n' -> value.append('\n');
+                    case 'r' -> value.append('\r');
+                    case 't' -> value.append('\t');
+                    case 'b' -> value.append('\b');
+                    case 'f' -> value.append('\f');
+                    case 'u' -> {
+                        if (position + 4 > text.length()) {
+                            throw new IllegalArgumentException("Некорректная escape-последовательность");
+                        }
+                        value.append((char) Integer.parseInt(text, position, position + 4, 16));
+                        position += 4;
+                    }
+                    default -> value.append(escaped);
+                }
+            }
+            throw new IllegalArgumentException("Незакрытая строка");
+        }
+
+        private void skipWhitespace() {
+            while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+                position++;
+            }
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.util;
+
+import com.example.model.GradingPolicy;
+import com.example.model.Mood;
+
+import java.util.Properties;
+
+/**
+ * Неизменяемый снимок настроек приложения.
+ * <p>
+ * Часто используемые значения ({@code debug}, {@code autotests}, {@code group}, {@code lazyLoad}) разбираются
+ * один раз при создании снимка, поэтому их чтение не требует сравнения строк.
+ * Остальные ключи доступны через {@link #getProperty(String)}.
+ * </p>
+ * <p>
+ * Ключи правил оценивания (значения по умолчанию совпадают с {@link GradingPolicy#defaultPolicy()}):
+ * <ul>
+ *     <li>{@code grading.gloomy.min=3.0}, {@code grading.gloomy.inclusive=true}</li>
+ *     <li>{@code grading.satisfied.min=4.0}, {@code grading.satisfied.inclusive=true}</li>
+ *     <li>{@code grading.joyful.min=4.5}, {@code grading.joyful.inclusive=false}</li>
+ *     <li>{@code grading.bonus.gloomy=0}, {@code grading.bonus.satisfied=5000}, {@code grading.bonus.joyful=10000}</li>
+ * </ul>
+ * </p>
+ * <p>
+ * Период записи метрик базы данных в лог задается ключом {@code metrics.dumpSeconds}
+ * (по умолчанию 0 — запись выключена).
+ * </p>
+ */
+public final class Settings {
+    /**
+     * Группа пользователя из настройки {@code group}.
+     */
+    public enum Group {
+        USER,
+        ROOT
+    }
+
+    private final Properties properties;
+    private final boolean debug;
+    private final boolean autotests;
+    private final boolean lazyLoad;
+    private final Group group;
+    private final String login;
+
+    /**
+     * Создает снимок по набору свойств. Свойства копируются.
+     *
+     * @param source исходные свойства.
+     */
+    public Settings(Properties source) {
+        properties = new Properties();
+        properties.putAll(source);
+        debug = "true".equals(properties.getProperty("debug"));
+        autotests = "true".equals(properties.getProperty("autotests"));
+        lazyLoad = "true".equals(properties.getProperty("lazyLoad"));
+        group = "root".equals(properties.getProperty("group")) ? Group.ROOT : Group.USER;
+        login = properties.getProperty("login");
+    }
+
+    /**
+     * Возвращает новый снимок, в котором одно свойство заменено.
+     *
+     * @param key   ключ свойства.
+     * @param value новое значение.
+     * @return новый снимок настроек.
+     */
+    public Settings with(String key, String value) {
+        Properties copy = new Properties();
+        copy.putAll(properties);
+        copy.setProperty(key, value);
+        return new Settings(copy);
+    }
+
+    public boolean isDebug() {
+        return debug;
+    }
+
+    public boolean isAutotests() {
+        return autotests;
+    }
+
+    /**
+     * Проверяет, нужно ли загружать базу данных в фоне после показа главного окна.
+     *
+     * @return {@code true}, если свойство "lazyLoad" равно "true".
+     */
+    public boolean isLazyLoad() {
+        return lazyLoad;
+    }
+
+    public Group getGroup() {
+        return group;
+    }
+
+    /**
+     * Проверяет, относится ли пользователь к группе {@code root}.
+     *
+     * @return {@code true} для группы {@code root}.
+     */
+    public boolean isRoot() {
+        return group == Group.ROOT;
+    }
+
+    public String getLogin() {
+        return login;
+    }
+
+    /**
+     * Компилирует правила оценивания из настроек. Отсутствующие ключи берутся из правил по умолчанию.
+     *
+     * @return скомпилированные правила.
+     * @throws IllegalArgumentException если значение настройки не является числом.
+     */
+    public GradingPolicy getGradingPolicy() {
+        GradingPolicy defaults = GradingPolicy.defaultPolicy();
+        Mood[] moods = Mood.values();
+        double[] minAverage = new double[moods.length];
+        boolean[] inclusive = new boolean[moods.length];
+        int[] bonus = new int[moods.length];
+        for (Mood mood : moods) {
+            int i = mood.ordinal();
+            String key = mood.name().toLowerCase();
+            try {
+                minAverage[i] = Double.parseDouble(properties.getProperty(
+                        "grading." + key + ".min", String.valueOf(defaults.minAverageFor(mood))));
+                bonus[i] = Integer.parseInt(properties.getProperty(
+                        "grading.bonus." + key, String.valueOf(defaults.bonusFor(mood))));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Некорректное правило оценивания для " + key + ": " + e.getMessage());
+            }
+            inclusive[i] = Boolean.parseBoolean(properties.getProperty(
+                    "grading." + key + ".inclusive", String.valueOf(defaults.isInclusive(mood))));
+        }
+        return GradingPolicy.of(minAverage, inclusive, bonus);
+    }
+
+    /**
+     * Возвращает период записи метрик базы данных в лог.
+     *
+     * @return период в секундах; 0, если запись выключена или ключ не задан.
+     * @throws IllegalArgumentException если значение не является неотрицательным целым числом.
+     */
+    public long getMetricsDumpSeconds() {
+        String value = properties.getProperty("metrics.dumpSeconds", "0").trim();
+        long seconds;
+        try {
+            seconds = Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Некорректный период записи метрик: " + value);
+        }
+        if (seconds < 0) {
+            throw new IllegalArgumentException("Некорректный период записи метрик: " + value);
+        }
+        return seconds;
+    }
+
+    /**
+     * Возвращает значение свойства.
+     *
+     * @param key ключ свойства.
+     * @return значение свойства или {@code null}, если ключ не найден.
+     */
+    public String getProperty(String key) {
+        return properties.getProperty(key);
+    }
+
+    /**
+     * Возвращает значение свойства или значение по умолчанию.
+     *
+     * @param key          ключ свойства.
+     * @param defaultValue значение по умолчанию.
+     * @return значение свойства или {@code defaultValue}, если ключ не найден.
+     */
+    public String getProperty(String key, String defaultValue) {
+        return properties.getProperty(key, defaultValue);
+    }
+
+    /**
+     * Проверяет, содержится ли ключ в настройках.
+     *
+     * @param key ключ свойства.
+     * @return {@code true}, если ключ присутствует.
+     */
+    public boolean containsKey(String key) {
+        return properties.containsKey(key);
+    }
+}
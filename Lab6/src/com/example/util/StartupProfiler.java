@@ -0,0 +1,55 @@
+package com.example.util;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Замеряет длительность этапов запуска приложения.
+ * <p>
+ * Каждый вызов {@link #mark(String)} завершает текущий этап и запоминает его длительность.
+ * Этапы могут отмечаться из разных потоков (главный поток, поток Swing, поток загрузки базы),
+ * поэтому методы синхронизированы. Итоги записываются в лог методом {@link #report(Logger)}.
+ * </p>
+ */
+public class StartupProfiler {
+    private final long startTime = System.nanoTime();
+    private long lastMark = startTime;
+    private final List<String> phases = new ArrayList<>();
+    private final List<Long> durations = new ArrayList<>();
+
+    /**
+     * Завершает текущий этап.
+     *
+     * @param phase название этапа.
+     */
+    public synchronized void mark(String phase) {
+        long now = System.nanoTime();
+        phases.add(phase);
+        durations.add(now - lastMark);
+        lastMark = now;
+    }
+
+    /**
+     * Возвращает время от создания профилировщика до текущего момента.
+     *
+     * @return время в миллисекундах.
+     */
+    public long elapsedMillis() {
+        return (System.nanoTime() - startTime) / 1_000_000;
+    }
+
+    /**
+     * Записывает в лог длительность всех отмеченных этапов, общее время
+     * и время работы JVM (включая загрузку классов до вызова {@code main}).
+     *
+     * @param logger логгер для записи.
+     */
+    public synchronized void report(Logger logger) {
+        for (int i = 0; i < phases.size(); i++) {
+            logger.logInfo(String.format("Запуск: %s — %.1f (ms)", phases.get(i), durations.get(i) / 1e6));
+        }
+        logger.logInfo(String.format("Запуск: всего %d (ms), с момента старта JVM %d (ms)",
+                elapsedMillis(), ManagementFactory.getRuntimeMXBean().getUptime()));
+    }
+}
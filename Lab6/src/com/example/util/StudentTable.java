@@ -0,0 +1,200 @@
+package com.example.util;
+
+import com.example.model.Parent;
+import com.example.model.Student;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Колоночное представление студентов для аналитических запросов.
+ * Каждое поле хранится в отдельном массиве примитивов, а имена и пол
+ * кодируются через словарь, поэтому проходы по одной колонке
+ * (например, средняя оценка по возрасту) идут по непрерывной памяти.
+ * <p>
+ * Таблица является снимком: изменения студентов после построения в неё не попадают.
+ * Получить актуальный снимок можно через {@link DatabaseManager#getStudentTable()}.
+ * </p>
+ */
+public class StudentTable {
+    private final int size;
+    private final int[] nameIds;
+    private final int[] ages;
+    private final int[] genderIds;
+    private final double[] grades;
+    private final int[] bonuses;
+    private final int[] parentIds;
+
+    private final String[] nameDictionary;
+    private final String[] genderDictionary;
+    private final Parent[] parents;
+
+    private StudentTable(List<Student> students, List<Parent> parentList) {
+        size = students.size();
+        nameIds = new int[size];
+        ages = new int[size];
+        genderIds = new int[size];
+        grades = new double[size];
+        bonuses = new int[size];
+        parentIds = new int[size];
+
+        Map<Parent, Integer> parentIndex = new IdentityHashMap<>();
+        for (int i = 0; i < parentList.size(); i++) {
+            parentIndex.put(parentList.get(i), i + 1);
+        }
+
+        Dictionary names = new Dictionary();
+        Dictionary genders = new Dictionary();
+        for (int i = 0; i < size; i++) {
+            Student student = students.get(i);
+            nameIds[i] = names.encode(student.getName());
+            ages[i] = student.getAge();
+            genderIds[i] = genders.encode(student.getGender());
+            grades[i] = student.getAverageGrade();
+            bonuses[i] = student.getBonus();
+            parentIds[i] = parentIndex.getOrDefault(student.getParent(), 0);
+        }
+
+        nameDictionary = names.toArray();
+        genderDictionary = genders.toArray();
+        parents = parentList.toArray(new Parent[0]);
+    }
+
+    /**
+     * Строит колоночную таблицу по спискам студентов и родителей.
+     *
+     * @param students список студентов.
+     * @param parents  список родителей; идентификатор родителя равен его позиции + 1.
+     * @return новая таблица.
+     */
+    public static StudentTable of(List<Student> students, List<Parent> parents) {
+        return new StudentTable(students, parents);
+    }
+
+    /**
+     * Возвращает количество строк в таблице.
+     *
+     * @return количество студентов.
+     */
+    public int size() {
+        return size;
+    }
+
+    public String getName(int row) {
+        return nameDictionary[nameIds[row]];
+    }
+
+    public int getAge(int row) {
+        return ages[row];
+    }
+
+    public String getGender(int row) {
+        return genderDictionary[genderIds[row]];
+    }
+
+    public double getAverageGrade(int row) {
+        return grades[row];
+    }
+
+    public int getBonus(int row) {
+        return bonuses[row];
+    }
+
+    /**
+     * Возвращает идентификатор родителя студента.
+     *
+     * @param row номер строки.
+     * @return ID родителя или 0, если родитель не найден в базе.
+     */
+    public int getParentId(int row) {
+        return parentIds[row];
+    }
+
+    public Parent getParent(int row) {
+        int parentId = parentIds[row];
+        return parentId > 0 ? parents[parentId - 1] : null;
+    }
+
+    /**
+     * Вычисляет среднюю оценку студентов для каждого возраста.
+     * Студенты с отрицательным возрастом (например, из поврежденного файла) не учитываются.
+     *
+     * @return массив, индекс которого равен возрасту; для отсутствующих возрастов значение {@link Double#NaN}.
+     */
+    public double[] averageGradeByAge() {
+        int maxAge = 0;
+        for (int i = 0; i < size; i++) {
+            maxAge = Math.max(maxAge, ages[i]);
+        }
+
+        double[] sums = new double[maxAge + 1];
+        int[] counts = new int[maxAge + 1];
+        for (int i = 0; i < size; i++) {
+            int age = ages[i];
+            if (age < 0) {
+                continue;
+            }
+            sums[age] += grades[i];
+            counts[age]++;
+        }
+
+        for (int age = 0; age <= maxAge; age++) {
+            sums[age] = counts[age] == 0 ? Double.NaN : sums[age] / counts[age];
+        }
+        return sums;
+    }
+
+    /**
+     * Вычисляет среднюю оценку по всем студентам.
+     *
+     * @return средняя оценка или {@link Double#NaN}, если таблица пуста.
+     */
+    public double averageGrade() {
+        if (size == 0) {
+            return Double.NaN;
+        }
+        double sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += grades[i];
+        }
+        return sum / size;
+    }
+
+    /**
+     * Вычисляет сумму премиальных всех студентов.
+     *
+     * @return сумма премиальных.
+     */
+    public long totalBonus() {
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += bonuses[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Словарь строк: каждой уникальной строке присваивается порядковый номер.
+     */
+    private static class Dictionary {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int encode(String value) {
+            Integer id = ids.get(value);
+            if (id == null) {
+                id = values.size();
+                ids.put(value, id);
+                values.add(value);
+            }
+            return id;
+        }
+
+        String[] toArray() {
+            return values.toArray(new String[0]);
+        }
+    }
+}
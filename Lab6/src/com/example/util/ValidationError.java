@@ -0,0 +1,17 @@
+package com.example.util;
+
+/**
+ * Ошибка проверки одного поля записи.
+ *
+ * @param row   номер строки файла (начиная с 1)
+ * @param field имя поля; для ошибок всей строки — {@link RecordFormat#TYPE}
+ * @param rule  нарушенное правило
+ * @param value значение поля, не прошедшее проверку
+ */
+public record ValidationError(long row, String field, ValidationRule rule, String value) {
+
+    @Override
+    public String toString() {
+        return "Строка " + row + ", поле " + field + ": " + rule.getDescription() + " (" + value + ")";
+    }
+}
@@ -0,0 +1,246 @@
+package com.example.util;
+
+import com.example.model.Gender;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Этап проверки записей для массовой загрузки.
+ * <p>
+ * Пакет строк разбирается и проверяется параллельно в {@link ForkJoinPool}: пакет делится
+ * пополам, пока части не станут меньше {@link #THRESHOLD} строк. Проверяются только поля самой
+ * записи (имя, возраст, пол, настроение, числа), поэтому строки независимы друг от друга. Ссылки на
+ * родителей и предметы зависят от порядка строк и проверяются последовательно в {@link BulkImporter}.
+ * </p>
+ * <p>
+ * Ошибки возвращаются списком {@link ValidationError} для каждой строки; исключения
+ * используются только для синтаксических ошибок разбора строки.
+ * </p>
+ */
+public class ValidationPipeline {
+    /**
+     * Количество строк, которое проверяется в одной задаче без деления.
+     */
+    public static final int THRESHOLD = 2048;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Создает этап проверки, использующий общий пул {@link ForkJoinPool#commonPool()}.
+     */
+    public ValidationPipeline() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Создает этап проверки, использующий указанный пул.
+     *
+     * @param pool пул потоков для проверки.
+     */
+    public ValidationPipeline(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Разбирает и проверяет пакет строк.
+     *
+     * @param format формат строк.
+     * @param lines  строки файла; используются первые {@code count} элементов.
+     * @param rows   номера строк в файле для каждого элемента {@code lines}.
+     * @param count  количество строк в пакете.
+     * @return результат проверки пакета.
+     */
+    public Batch validate(RecordFormat format, String[] lines, long[] rows, int count) {
+        Batch batch = new Batch(rows, count);
+        pool.invoke(new ValidateTask(format, lines, batch, 0, count));
+        return batch;
+    }
+
+    /**
+     * Проверяет поля одной записи.
+     *
+     * @param record запись "поле -> значение".
+     * @param row    номер строки.
+     * @return список ошибок; пустой, если запись валидна.
+     */
+    public static List<ValidationError> validateRecord(Map<String, String> record, long row) {
+        List<ValidationError> errors = new ArrayList<>(0);
+        String type = record.get(RecordFormat.TYPE);
+        if (RecordFormat.fieldsOf(type) == null) {
+            errors.add(new ValidationError(row, RecordFormat.TYPE, ValidationRule.UNKNOWN_TYPE, type));
+            return errors;
+        }
+
+        String name = record.get("name");
+        if (!ValidationUtils.isValidName(name)) {
+            errors.add(new ValidationError(row, "name", ValidationRule.NAME, name));
+        }
+        if (type.equals("PARENT")) {
+            // Настроение записывается в файл базы данных без экранирования, поэтому разделители недопустимы
+            String mood = record.get("mood");
+            if (!isEmpty(mood) && !ValidationUtils.isValidName(mood)) {
+                errors.add(new ValidationError(row, "mood", ValidationRule.MOOD, mood));
+            }
+        }
+        if (type.equals("STUDENT")) {
+            String age = record.get("age");
+            if (!ValidationUtils.isValidAge(age)) {
+                errors.add(new ValidationError(row, "age", ValidationRule.AGE, age));
+            }
+            String gender = record.get("gender");
+            if (Gender.fromTitle(gender) == null) {
+                errors.add(new ValidationError(row, "gender", ValidationRule.GENDER, gender));
+            }
+            String averageGrade = record.get("averageGrade");
+            if (!isEmpty(averageGrade) && !isDecimal(averageGrade)) {
+                errors.add(new ValidationError(row, "averageGrade", ValidationRule.NUMBER, averageGrade));
+            }
+            String bonus = record.get("bonus");
+            if (!isEmpty(bonus) && !isInteger(bonus)) {
+                errors.add(new ValidationError(row, "bonus", ValidationRule.NUMBER, bonus));
+            }
+        }
+        return errors;
+    }
+
+    private static boolean isEmpty(String value) {
+        return value == null || value.isEmpty();
+    }
+
+    /**
+     * Проверяет десятичное число вида {@code [-]цифры[(.|,)цифры]}.
+     */
+    private static boolean isDecimal(String value) {
+        int i = value.charAt(0) == '-' ? 1 : 0;
+        int digits = 0;
+        boolean separator = false;
+        for (; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits++;
+            } else if ((c == '.' || c == ',') && !separator && digits > 0) {
+                separator = true;
+            } else {
+                return false;
+            }
+        }
+        return digits > 0 && value.charAt(value.length() - 1) != '.' && value.charAt(value.length() - 1) != ',';
+    }
+
+    /**
+     * Проверяет целое число вида {@code [-]цифры}, не более 9 цифр, чтобы оно помещалось в {@code int}.
+     */
+    private static boolean isInteger(String value) {
+        int start = value.charAt(0) == '-' ? 1 : 0;
+        int length = value.length() - start;
+        if (length == 0 || length > 9) {
+            return false;
+        }
+        for (int i = start; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Результат проверки пакета: для каждой строки либо разобранная запись, либо список ошибок.
+     */
+    public static class Batch {
+        private final long[] rows;
+        private final int size;
+        private final Map<String, String>[] records;
+        private final List<ValidationError>[] errors;
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private Batch(long[] rows, int size) {
+            this.rows = rows;
+            this.size = size;
+            this.records = new Map[size];
+            this.errors = new List[size];
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public long getRow(int index) {
+            return rows[index];
+        }
+
+        /**
+         * Возвращает разобранную запись.
+         *
+         * @param index индекс строки в пакете.
+         * @return запись или {@code null}, если строка не прошла проверку.
+         */
+        public Map<String, String> getRecord(int index) {
+            return errors[index] == null ? records[index] : null;
+        }
+
+        /**
+         * Возвращает ошибки строки.
+         *
+         * @param index индекс строки в пакете.
+         * @return список ошибок; пустой, если строка валидна.
+         */
+        public List<ValidationError> getErrors(int index) {
+            return errors[index] == null ? List.of() : errors[index];
+        }
+    }
+
+    /**
+     * Задача, проверяющая диапазон строк пакета.
+     */
+    private static class ValidateTask extends RecursiveAction {
+        private final RecordFormat format;
+        private final String[] lines;
+        private final Batch batch;
+        private final int from;
+        private final int to;
+
+        ValidateTask(RecordFormat format, String[] lines, Batch batch, int from, int to) {
+            this.format = format;
+            this.lines = lines;
+            this.batch = batch;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    validateLine(i);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ValidateTask(format, lines, batch, from, middle),
+                    new ValidateTask(format, lines, batch, middle, to));
+        }
+
+        private void validateLine(int index) {
+            long row = batch.rows[index];
+            Map<String, String> record;
+            try {
+                record = format.parse(lines[index]);
+            } catch (IllegalArgumentException e) {
+                batch.errors[index] = List.of(new ValidationError(row, RecordFormat.TYPE, ValidationRule.SYNTAX, e.getMessage()));
+                return;
+            }
+            List<ValidationError> errors = validateRecord(record, row);
+            if (errors.isEmpty()) {
+                batch.records[index] = record;
+            } else {
+                batch.errors[index] = errors;
+            }
+        }
+    }
+}
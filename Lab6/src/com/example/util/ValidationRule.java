@@ -0,0 +1,31 @@
+package com.example.util;
+
+/**
+ * Правила проверки записей при массовой загрузке.
+ */
+public enum ValidationRule {
+    SYNTAX("некорректный формат строки"),
+    UNKNOWN_TYPE("неизвестный тип записи"),
+    NAME("допустимы только буквы и пробелы"),
+    AGE("возраст должен быть числом от 0 до 120"),
+    GENDER("пол должен быть М или Ж"),
+    MOOD("настроение может содержать только буквы и пробелы"),
+    NUMBER("ожидается число"),
+    REFERENCE("запись, на которую указывает ссылка, не найдена или не единственна"),
+    DUPLICATE_KEY("ключ записи уже встречался в файле");
+
+    private final String description;
+
+    ValidationRule(String description) {
+        this.description = description;
+    }
+
+    /**
+     * Возвращает описание правила.
+     *
+     * @return описание правила
+     */
+    public String getDescription() {
+        return description;
+    }
+}
@@ -1,9 +1,24 @@
 package com.example.util;
 
+import java.util.BitSet;
+import java.util.List;
+import java.util.regex.Pattern;
+
 /**
  * Утилитный класс для проверки валидности различных данных.
+ * <p>
+ * Проверки выполняются без создания объектов: имя проверяется посимвольно,
+ * а возраст разбирается без исключений для коротких строк из цифр. Поэтому
+ * проверки можно вызывать на каждое изменение поля ввода и для каждой строки
+ * массового импорта.
+ * </p>
  */
 public class ValidationUtils {
+    /**
+     * Регулярное выражение для имени. Оставлено как эталон: {@link #isValidName(String)}
+     * проверяет те же символы без регулярного выражения.
+     */
+    public static final Pattern NAME_PATTERN = Pattern.compile("[a-zA-Zа-яА-я\\s]+");
 
     /**
      * Проверяет, является ли имя допустимым.
@@ -16,7 +31,20 @@ public class ValidationUtils {
      * @return {@code true}, если имя валидно, иначе {@code false}.
      */
     public static boolean isValidName(String name) {
-        return name != null && !name.trim().isEmpty() && name.matches("[a-zA-Zа-яА-я\\s]+");
+        if (name == null) {
+            return false;
+        }
+        boolean hasLetter = false;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (isNameLetter(c)) {
+                hasLetter = true;
+            } else if (!isNameSpace(c)) {
+                return false;
+            }
+        }
+        // Строка только из пробелов соответствует выражению, но пуста после trim()
+        return hasLetter;
     }
 
     /**
@@ -29,6 +57,28 @@ public class ValidationUtils {
      * @return {@code true}, если возраст валиден, иначе {@code false}.
      */
     public static boolean isValidAge(String age) {
+        if (age != null && !age.isEmpty() && age.length() <= 3) {
+            int value = 0;
+            int i = 0;
+            while (i < age.length() && age.charAt(i) >= '0' && age.charAt(i) <= '9') {
+                value = value * 10 + (age.charAt(i) - '0');
+                i++;
+            }
+            if (i == age.length()) {
+                return value <= 120;
+            }
+        }
+        // Знаки, ведущие нули и цифры других алфавитов разбирает Integer.parseInt,
+        // строки с другими символами отклоняются сразу, без исключения
+        if (age == null || age.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < age.length(); i++) {
+            char c = age.charAt(i);
+            if (Character.digit(c, 10) < 0 && !(i == 0 && (c == '+' || c == '-'))) {
+                return false;
+            }
+        }
         try {
             int value = Integer.parseInt(age);
             return value >= 0 && value <= 120;
@@ -36,4 +86,50 @@ public class ValidationUtils {
             return false;
         }
     }
+
+    /**
+     * Проверяет список имен.
+     *
+     * @param names имена для проверки.
+     * @return множество индексов невалидных имен; пустое, если все имена валидны.
+     */
+    public static BitSet validateNames(List<String> names) {
+        BitSet invalid = new BitSet();
+        for (int i = 0; i < names.size(); i++) {
+            if (!isValidName(names.get(i))) {
+                invalid.set(i);
+            }
+        }
+        return invalid;
+    }
+
+    /**
+     * Проверяет список возрастов.
+     *
+     * @param ages возраста для проверки.
+     * @return множество индексов невалидных возрастов; пустое, если все возраста валидны.
+     */
+    public static BitSet validateAges(List<String> ages) {
+        BitSet invalid = new BitSet();
+        for (int i = 0; i < ages.size(); i++) {
+            if (!isValidAge(ages.get(i))) {
+                invalid.set(i);
+            }
+        }
+        return invalid;
+    }
+
+    /**
+     * Буквы из выражения {@code [a-zA-Zа-яА-я]}; диапазон {@code А-я} охватывает U+0410..U+044F.
+     */
+    private static boolean isNameLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= 'А' && c <= 'я');
+    }
+
+    /**
+     * Пробельные символы {@code \s}: пробел и символы 0x09..0x0D (\t, \n, VT, \f, \r).
+     */
+    private static boolean isNameSpace(char c) {
+        return c == ' ' || (c >= '\t' && c <= '\r');
+    }
 }
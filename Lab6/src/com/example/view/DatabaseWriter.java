@@ -0,0 +1,132 @@
+package com.example.view;
+
+import com.example.util.DatabaseManager;
+
+import javax.swing.*;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сохраняет изменения базы данных в отдельном потоке, чтобы окна не ждали записи файла.
+ * <p>
+ * Изменение применяется к данным в памяти сразу в потоке Swing (интерфейс обновляется
+ * оптимистично), а файл записывается единственным фоновым потоком. Пока идет запись,
+ * следующие изменения накапливаются и сохраняются одной записью. Если запись не удалась,
+ * все несохраненные изменения отменяются в обратном порядке, и пользователь видит сообщение.
+ * Изменения и их отмены выполняются через {@link DatabaseManager#withDeferredSave(Runnable)},
+ * поэтому автосохранение отключается только для них, а не для других пользователей базы данных.
+ * </p>
+ * <p>
+ * Все методы, кроме {@link #close()}, вызываются только в потоке Swing; там же хранится
+ * состояние очереди, поэтому синхронизация не нужна.
+ * </p>
+ */
+public class DatabaseWriter {
+    private final DatabaseManager dbManager;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "database-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Отмены изменений, которые сейчас записываются.
+     */
+    private List<Runnable> inFlight;
+
+    /**
+     * Отмены изменений, ожидающих записи.
+     */
+    private List<Runnable> queued;
+
+    /**
+     * Создает фоновую запись для базы данных.
+     *
+     * @param dbManager база данных.
+     */
+    public DatabaseWriter(DatabaseManager dbManager) {
+        this.dbManager = dbManager;
+    }
+
+    /**
+     * Применяет изменение и ставит сохранение в очередь.
+     *
+     * @param change   изменение данных и интерфейса; выполняется сразу.
+     * @param rollback отмена изменения; выполняется в потоке Swing, если сохранение не удалось.
+     */
+    public void execute(Runnable change, Runnable rollback) {
+        dbManager.withDeferredSave(change);
+        if (queued == null) {
+            queued = new ArrayList<>();
+        }
+        queued.add(rollback);
+        if (inFlight == null) {
+            startWrite();
+        }
+    }
+
+    private void startWrite() {
+        inFlight = queued;
+        queued = null;
+        // Снимок создается в потоке Swing, который изменяет данные
+        DatabaseManager.Snapshot snapshot = dbManager.snapshot();
+        executor.execute(() -> {
+            IOException error = null;
+            try {
+                dbManager.writeSnapshot(snapshot);
+            } catch (IOException e) {
+                error = e;
+            }
+            IOException result = error;
+            SwingUtilities.invokeLater(() -> writeFinished(result));
+        });
+    }
+
+    private void writeFinished(IOException error) {
+        if (error == null) {
+            inFlight = null;
+            if (queued != null) {
+                startWrite();
+            }
+            return;
+        }
+
+        // Ожидающие изменения сделаны поверх несохраненных, поэтому отменяются первыми
+        dbManager.withDeferredSave(() -> {
+            rollback(queued);
+            rollback(inFlight);
+        });
+        queued = null;
+        inFlight = null;
+        JOptionPane.showMessageDialog(null,
+                "Не удалось сохранить изменения, они отменены: " + error.getMessage(),
+                "Ошибка", JOptionPane.ERROR_MESSAGE);
+    }
+
+    private static void rollback(List<Runnable> rollbacks) {
+        if (rollbacks == null) {
+            return;
+        }
+        for (int i = rollbacks.size() - 1; i >= 0; i--) {
+            rollbacks.get(i).run();
+        }
+    }
+
+    /**
+     * Дожидается окончания текущей записи и останавливает фоновый поток.
+     * Изменения, ожидающие записи, не сохраняются: после вызова нужно сохранить
+     * данные через {@link DatabaseManager#saveData()}.
+     */
+    public void close() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -11,6 +11,7 @@ import java.awt.event.*;
  */
 public class MainWindow extends JFrame {
     private DatabaseManager dbManager;
+    private DatabaseWriter writer;
 
     /**
      * Создает главное окно приложения.
@@ -19,35 +20,68 @@ public class MainWindow extends JFrame {
      */
     public MainWindow(DatabaseManager dbManager) {
         this.dbManager = dbManager;
+        // Окна управления сохраняют изменения в фоне через один общий поток записи
+        this.writer = new DatabaseWriter(dbManager);
         setTitle("School Management System");
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setSize(600, 400);
         setLocationRelativeTo(null);
 
-        JPanel mainPanel = new JPanel(new GridLayout(2, 2, 10, 10));
+        JPanel mainPanel = new JPanel(new GridLayout(3, 2, 10, 10));
         mainPanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
 
         JButton studentsBtn = new JButton("Students");
         JButton teachersBtn = new JButton("Teachers");
         JButton parentsBtn = new JButton("Parents");
         JButton subjectsBtn = new JButton("Subjects");
+        JButton metricsBtn = new JButton("Metrics");
 
-        studentsBtn.addActionListener(e -> new StudentManagementWindow(dbManager, this));
-        teachersBtn.addActionListener(e -> new TeacherManagementWindow(dbManager, this));
-        parentsBtn.addActionListener(e -> new ParentManagementWindow(dbManager, this));
-        subjectsBtn.addActionListener(e -> new SubjectManagementWindow(dbManager, this));
+        studentsBtn.addActionListener(e -> new StudentManagementWindow(dbManager, writer, this));
+        teachersBtn.addActionListener(e -> new TeacherManagementWindow(dbManager, writer, this));
+        parentsBtn.addActionListener(e -> new ParentManagementWindow(dbManager, writer, this));
+        subjectsBtn.addActionListener(e -> new SubjectManagementWindow(dbManager, writer, this));
+        metricsBtn.addActionListener(e -> new MetricsWindow(dbManager.getMetrics(), this));
 
         mainPanel.add(studentsBtn);
         mainPanel.add(teachersBtn);
         mainPanel.add(parentsBtn);
         mainPanel.add(subjectsBtn);
+        mainPanel.add(metricsBtn);
 
         add(mainPanel);
 
+        // При отложенной загрузке окна управления открываются только после загрузки базы данных
+        if (!dbManager.isReady()) {
+            JButton[] buttons = {studentsBtn, teachersBtn, parentsBtn, subjectsBtn};
+            JLabel statusLabel = new JLabel("Загрузка базы данных...", SwingConstants.CENTER);
+            add(statusLabel, BorderLayout.SOUTH);
+            for (JButton button : buttons) {
+                button.setEnabled(false);
+            }
+            dbManager.whenReady(() -> SwingUtilities.invokeLater(() -> {
+                for (JButton button : buttons) {
+                    button.setEnabled(true);
+                }
+                remove(statusLabel);
+                revalidate();
+            }), error -> SwingUtilities.invokeLater(() -> {
+                // Кнопки остаются недоступны: окна управления работали бы с пустой базой
+                statusLabel.setText("Ошибка загрузки базы данных: " + error.getMessage());
+                statusLabel.setForeground(Color.RED);
+                JOptionPane.showMessageDialog(this,
+                        "Не удалось загрузить базу данных: " + error.getMessage(),
+                        "Ошибка", JOptionPane.ERROR_MESSAGE);
+            }));
+        }
+
         addWindowListener(new WindowAdapter() {
             @Override
             public void windowClosing(WindowEvent e) {
-                dbManager.saveData();
+                // Пока база данных загружается или если загрузка не удалась, изменений в ней быть не может
+                writer.close();
+                if (dbManager.isReady()) {
+                    dbManager.saveData();
+                }
                 System.exit(0);
             }
         });
@@ -0,0 +1,173 @@
+package com.example.view;
+
+import com.example.util.LatencyHistogram;
+import com.example.util.Metrics;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Окно с метриками базы данных: задержки операций по процентилям, счетчики записанных
+ * строк и байт, состояние логгера. Значения обновляются раз в {@link #REFRESH_MS} мс.
+ * Окно не модальное, поэтому метрики можно наблюдать во время работы в других окнах.
+ */
+public class MetricsWindow extends JDialog {
+    /**
+     * Период обновления окна, мс.
+     */
+    public static final int REFRESH_MS = 1000;
+
+    private static final String[] LATENCY_COLUMNS = {"Операция", "Вызовов", "Среднее", "p50", "p90", "p99",
+            "p99.9", "Максимум"};
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final Metrics metrics;
+    private final LatencyModel latencyModel = new LatencyModel();
+    private final ValueModel valueModel = new ValueModel();
+
+    /**
+     * Создает и показывает окно метрик.
+     *
+     * @param metrics метрики для отображения.
+     * @param parent  родительское окно {@link JFrame}, из которого вызывается это окно.
+     */
+    public MetricsWindow(Metrics metrics, JFrame parent) {
+        super(parent, "Metrics", false);
+        this.metrics = metrics;
+
+        setSize(800, 450);
+        setLocationRelativeTo(parent);
+        setDefaultCloseOperation(DISPOSE_ON_CLOSE);
+
+        JPanel mainPanel = new JPanel(new BorderLayout(10, 10));
+        mainPanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+
+        JTable latencyTable = new JTable(latencyModel);
+        JTable valueTable = new JTable(valueModel);
+        JSplitPane tablesPane = new JSplitPane(JSplitPane.VERTICAL_SPLIT,
+                new JScrollPane(latencyTable), new JScrollPane(valueTable));
+        tablesPane.setResizeWeight(0.7);
+
+        JPanel buttonsPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
+        JButton resetButton = new JButton("Сбросить задержки");
+        resetButton.addActionListener(e -> {
+            metrics.resetLatencies();
+            refresh();
+        });
+        buttonsPanel.add(new JLabel("Задержки в миллисекундах"));
+        buttonsPanel.add(resetButton);
+
+        mainPanel.add(tablesPane, BorderLayout.CENTER);
+        mainPanel.add(buttonsPanel, BorderLayout.SOUTH);
+        add(mainPanel);
+
+        Timer timer = new Timer(REFRESH_MS, e -> refresh());
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                timer.stop();
+            }
+        });
+        refresh();
+        timer.start();
+        setVisible(true);
+    }
+
+    private void refresh() {
+        latencyModel.update(metrics.getLatencies());
+        valueModel.update(metrics.getValues());
+    }
+
+    /**
+     * Строки таблицы задержек: название операции и ее гистограмма.
+     */
+    private static class LatencyModel extends AbstractTableModel {
+        private final List<String> operations = new ArrayList<>();
+        private final List<LatencyHistogram> histograms = new ArrayList<>();
+
+        void update(Map<String, LatencyHistogram> latencies) {
+            operations.clear();
+            histograms.clear();
+            latencies.forEach((operation, histogram) -> {
+                operations.add(operation);
+                histograms.add(histogram);
+            });
+            fireTableDataChanged();
+        }
+
+        @Override
+        public int getRowCount() {
+            return operations.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return LATENCY_COLUMNS.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return LATENCY_COLUMNS[column];
+        }
+
+        @Override
+        public Object getValueAt(int row, int column) {
+            LatencyHistogram histogram = histograms.get(row);
+            return switch (column) {
+                case 0 -> operations.get(row);
+                case 1 -> histogram.getCount();
+                case 2 -> millis(histogram.getMean());
+                case 7 -> millis(histogram.getMax());
+                default -> millis(histogram.getValueAtPercentile(PERCENTILES[column - 3]));
+            };
+        }
+
+        private static String millis(double nanos) {
+            return String.format("%.3f", nanos / 1e6);
+        }
+    }
+
+    /**
+     * Строки таблицы счетчиков: название и значение.
+     */
+    private static class ValueModel extends AbstractTableModel {
+        private final List<String> names = new ArrayList<>();
+        private final List<Long> values = new ArrayList<>();
+
+        void update(Map<String, Long> current) {
+            names.clear();
+            values.clear();
+            current.forEach((name, value) -> {
+                names.add(name);
+                values.add(value);
+            });
+            fireTableDataChanged();
+        }
+
+        @Override
+        public int getRowCount() {
+            return names.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return 2;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return column == 0 ? "Счетчик" : "Значение";
+        }
+
+        @Override
+        public Object getValueAt(int row, int column) {
+            return column == 0 ? names.get(row) : values.get(row);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.view;
+
+import com.example.util.DatabaseEvent;
+
+import javax.swing.*;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Применяет события {@link DatabaseEvent} к моделям списков и выпадающих списков,
+ * чтобы окна обновлялись по изменениям, а не перечитывали все записи.
+ * <p>
+ * Добавление уже показанного объекта пропускается, поэтому повторное событие не создает дубликатов.
+ * Позиция вставки берется из ID события; для предметов ID не связан с позицией,
+ * и они добавляются в конец.
+ * </p>
+ */
+final class ModelUpdater {
+    private ModelUpdater() {
+    }
+
+    /**
+     * Применяет событие к модели списка.
+     *
+     * @param model  модель списка.
+     * @param event  событие для записей этой модели.
+     * @param type   класс записей модели.
+     * @param reload источник всех записей для {@link DatabaseEvent.Type#RELOAD}.
+     */
+    static <T> void apply(DefaultListModel<T> model, DatabaseEvent event, Class<T> type, Supplier<List<T>> reload) {
+        switch (event.type()) {
+            case INSERT -> {
+                T item = type.cast(event.item());
+                if (!model.contains(item)) {
+                    model.add(insertIndex(event, model.getSize()), item);
+                }
+            }
+            case UPDATE -> {
+                int index = model.indexOf(event.item());
+                if (index >= 0) {
+                    // Повторная установка того же объекта перерисовывает строку и сохраняет выделение
+                    model.set(index, model.get(index));
+                }
+            }
+            case DELETE -> model.removeElement(event.item());
+            case RELOAD -> {
+                model.clear();
+                model.addAll(reload.get());
+            }
+        }
+    }
+
+    /**
+     * Применяет событие к модели выпадающего списка. Изменение полей объекта модель
+     * не затрагивает: выпадающий список нужно перерисовать.
+     *
+     * @param model  модель выпадающего списка.
+     * @param event  событие для записей этой модели.
+     * @param type   класс записей модели.
+     * @param reload источник всех записей для {@link DatabaseEvent.Type#RELOAD}.
+     */
+    static <T> void apply(DefaultComboBoxModel<T> model, DatabaseEvent event, Class<T> type, Supplier<List<T>> reload) {
+        switch (event.type()) {
+            case INSERT -> {
+                T item = type.cast(event.item());
+                if (model.getIndexOf(item) < 0) {
+                    model.insertElementAt(item, insertIndex(event, model.getSize()));
+                }
+            }
+            case UPDATE -> {
+            }
+            case DELETE -> model.removeElement(event.item());
+            case RELOAD -> {
+                Object selected = model.getSelectedItem();
+                model.removeAllElements();
+                model.addAll(reload.get());
+                if (selected != null && model.getIndexOf(selected) >= 0) {
+                    model.setSelectedItem(selected);
+                }
+            }
+        }
+    }
+
+    private static int insertIndex(DatabaseEvent event, int size) {
+        if (event.entity() == DatabaseEvent.Entity.SUBJECT || event.id() <= 0) {
+            return size;
+        }
+        return Math.min(event.id() - 1, size);
+    }
+}
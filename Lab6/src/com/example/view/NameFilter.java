@@ -0,0 +1,153 @@
+package com.example.view;
+
+import com.example.util.DatabaseManager;
+import com.example.util.NameIndex;
+
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Фильтр по началу имени для окон управления.
+ * <p>
+ * Поиск запускается через {@link #DELAY_MS} мс после последнего нажатия клавиши.
+ * Индекс имен ({@link NameIndex}) строится и опрашивается вне потока Swing, а результат
+ * передается обработчику в потоке Swing. Если за время поиска пользователь изменил запрос
+ * или данные базы, устаревший результат отбрасывается. Ошибка поиска записывается в лог
+ * базы данных и показывается в подписи окна.
+ * </p>
+ */
+public class NameFilter {
+    /**
+     * Задержка перед поиском после последнего изменения запроса, мс.
+     */
+    public static final int DELAY_MS = 200;
+
+    /**
+     * Обработчик результата поиска.
+     */
+    public interface Listener {
+        /**
+         * Вызывается в потоке Swing.
+         *
+         * @param positions позиции найденных записей (ID - 1) или {@code null}, если запрос пуст.
+         * @param total     общее количество найденных записей.
+         */
+        void filtered(int[] positions, int total);
+    }
+
+    private final JTextField field;
+    private final JLabel status;
+    private final DatabaseManager dbManager;
+    private final Supplier<CompletableFuture<NameIndex>> index;
+    private final int limit;
+    private final Listener listener;
+    private final Timer timer;
+    private int generation;
+    private boolean active;
+
+    /**
+     * Подключает фильтр к полю поиска.
+     *
+     * @param field     поле ввода запроса.
+     * @param status    подпись, в которой показывается ошибка поиска.
+     * @param dbManager база данных; по ее версии отбрасываются устаревшие результаты.
+     * @param index     источник индекса имен, например {@link DatabaseManager#getTeacherNameIndex()}.
+     * @param limit     максимальное количество возвращаемых позиций.
+     * @param listener  обработчик результата.
+     */
+    public NameFilter(JTextField field, JLabel status, DatabaseManager dbManager,
+                      Supplier<CompletableFuture<NameIndex>> index, int limit, Listener listener) {
+        this.field = field;
+        this.status = status;
+        this.dbManager = dbManager;
+        this.index = index;
+        this.limit = limit;
+        this.listener = listener;
+
+        timer = new Timer(DELAY_MS, e -> search());
+        timer.setRepeats(false);
+        field.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                timer.restart();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                timer.restart();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                timer.restart();
+            }
+        });
+    }
+
+    /**
+     * Повторяет поиск после изменения данных. Без активного запроса ничего не делает.
+     */
+    public void refresh() {
+        if (active || timer.isRunning()) {
+            timer.stop();
+            search();
+        }
+    }
+
+    private void search() {
+        int current = ++generation;
+        String prefix = field.getText().trim();
+        if (prefix.isEmpty()) {
+            if (active) {
+                active = false;
+                listener.filtered(null, 0);
+            }
+            return;
+        }
+
+        // Индекс запрашивается в потоке Swing, где изменяется база; поиск идет в фоне
+        index.get()
+                .thenApplyAsync(nameIndex -> new Result(nameIndex.getVersion(),
+                        nameIndex.search(prefix, limit), nameIndex.count(prefix)))
+                .whenComplete((result, error) -> SwingUtilities.invokeLater(() -> finished(current, result, error)));
+    }
+
+    private void finished(int current, Result result, Throwable error) {
+        if (current != generation) {
+            return;
+        }
+        if (error != null) {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause() : error;
+            dbManager.getLogger().logError("Ошибка при поиске: " + cause);
+            status.setText("Ошибка при поиске: " + cause.getMessage());
+            return;
+        }
+        if (result.version() != dbManager.getVersion()) {
+            search();
+            return;
+        }
+        active = true;
+        listener.filtered(result.positions(), result.total());
+    }
+
+    /**
+     * Формирует подпись с количеством найденных записей.
+     *
+     * @param total общее количество найденных записей.
+     * @param shown количество показанных записей.
+     * @return текст подписи.
+     */
+    public static String describe(int total, int shown) {
+        return shown < total
+                ? String.format("Найдено: %d, показаны первые %d", total, shown)
+                : "Найдено: " + total;
+    }
+
+    private record Result(long version, int[] positions, int total) {
+    }
+}
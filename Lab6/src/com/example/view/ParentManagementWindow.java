@@ -1,33 +1,48 @@
 package com.example.view;
 
 import com.example.model.Parent;
+import com.example.util.DatabaseEvent;
 import com.example.util.DatabaseManager;
 import com.example.util.NameVerifier;
 import com.example.util.ValidationUtils;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Окно для управления родителями в системе.
  * Предоставляет функции добавления, обновления, удаления и просмотра данных о родителях.
  */
 public class ParentManagementWindow extends JDialog {
+    /**
+     * Максимальное количество записей, показываемых по запросу поиска.
+     */
+    private static final int FILTER_LIMIT = 500;
+
     private DatabaseManager dbManager;
+    private DatabaseWriter writer;
+    private final Consumer<List<DatabaseEvent>> changeListener = this::databaseChanged;
     private JTextField nameField;
     private JComboBox<String> moodCombo;
     private JList<Parent> parentList;
     private DefaultListModel<Parent> listModel;
+    private NameFilter nameFilter;
 
     /**
      * Создает новое окно для управления родителями.
      *
      * @param dbManager объект {@link DatabaseManager} для взаимодействия с базой данных.
+     * @param writer    фоновая запись изменений в файл базы данных.
      * @param parent    родительское окно {@link JFrame}, из которого вызывается это окно.
      */
-    public ParentManagementWindow(DatabaseManager dbManager, JFrame parent) {
+    public ParentManagementWindow(DatabaseManager dbManager, DatabaseWriter writer, JFrame parent) {
         super(parent, "Parent Management", true);
         this.dbManager = dbManager;
+        this.writer = writer;
 
         setSize(400, 500);
         setLocationRelativeTo(parent);
@@ -65,8 +80,33 @@ public class ParentManagementWindow extends JDialog {
         parentList = new JList<>(listModel);
         JScrollPane scrollPane = new JScrollPane(parentList);
 
+        // Search Panel
+        JTextField searchField = new JTextField(20);
+        JLabel foundLabel = new JLabel(" ");
+        JPanel searchPanel = new JPanel(new BorderLayout(5, 5));
+        searchPanel.add(new JLabel("Поиск:"), BorderLayout.WEST);
+        searchPanel.add(searchField, BorderLayout.CENTER);
+        searchPanel.add(foundLabel, BorderLayout.SOUTH);
+        nameFilter = new NameFilter(searchField, foundLabel, dbManager,
+                dbManager::getParentNameIndex, FILTER_LIMIT,
+                (positions, total) -> {
+                    if (positions == null) {
+                        parentList.setModel(listModel);
+                        foundLabel.setText(" ");
+                    } else {
+                        DefaultListModel<Parent> found = new DefaultListModel<>();
+                        found.addAll(dbManager.getParents(positions));
+                        parentList.setModel(found);
+                        foundLabel.setText(NameFilter.describe(total, positions.length));
+                    }
+                });
+
+        JPanel listPanel = new JPanel(new BorderLayout(5, 5));
+        listPanel.add(searchPanel, BorderLayout.NORTH);
+        listPanel.add(scrollPane, BorderLayout.CENTER);
+
         mainPanel.add(formPanel, BorderLayout.NORTH);
-        mainPanel.add(scrollPane, BorderLayout.CENTER);
+        mainPanel.add(listPanel, BorderLayout.CENTER);
         mainPanel.add(buttonsPanel, BorderLayout.SOUTH);
 
         // Add action listeners
@@ -84,6 +124,16 @@ public class ParentManagementWindow extends JDialog {
             }
         });
 
+        // Пока окно открыто, списки обновляются по событиям базы данных
+        dbManager.addChangeListener(changeListener);
+        setDefaultCloseOperation(DISPOSE_ON_CLOSE);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                dbManager.removeChangeListener(changeListener);
+            }
+        });
+
         add(mainPanel);
         setVisible(true);
     }
@@ -95,8 +145,8 @@ public class ParentManagementWindow extends JDialog {
         if (validateFields()) {
             Parent parent = new Parent(nameField.getText());
 
-            dbManager.addParent(parent);
-            listModel.addElement(parent);
+            writer.execute(() -> dbManager.addParent(parent),
+                    () -> dbManager.removeParent(dbManager.getParentId(parent)));
             clearFields();
         }
     }
@@ -120,11 +170,18 @@ public class ParentManagementWindow extends JDialog {
     private void updateParent() {
         Parent selected = parentList.getSelectedValue();
         if (selected != null && validateFields()) {
-            selected.setName(nameField.getText());
-            selected.setMood(moodCombo.getSelectedItem().toString());
-
-            parentList.repaint();
-            dbManager.saveData();
+            String oldName = selected.getName();
+            String oldMood = selected.getMood();
+
+            writer.execute(() -> {
+                selected.setName(nameField.getText());
+                selected.setMood(moodCombo.getSelectedItem().toString());
+                dbManager.markModified(selected);
+            }, () -> {
+                selected.setName(oldName);
+                selected.setMood(oldMood);
+                dbManager.markModified(selected);
+            });
         }
     }
 
@@ -141,8 +198,8 @@ public class ParentManagementWindow extends JDialog {
                 return;
             }
 
-            dbManager.removeParent(parentId);
-            listModel.removeElement(selected);
+            writer.execute(() -> dbManager.removeParent(parentId),
+                    () -> dbManager.restoreParent(parentId, selected));
             clearFields();
         }
     }
@@ -174,4 +231,23 @@ public class ParentManagementWindow extends JDialog {
     private void showError(String message) {
         JOptionPane.showMessageDialog(this, message, "Ошибка", JOptionPane.ERROR_MESSAGE);
     }
+
+    /**
+     * Применяет изменения базы данных к списку родителей.
+     *
+     * @param events пакет событий.
+     */
+    private void databaseChanged(List<DatabaseEvent> events) {
+        boolean parentsChanged = false;
+        for (DatabaseEvent event : events) {
+            if (event.entity() == DatabaseEvent.Entity.PARENT) {
+                ModelUpdater.apply(listModel, event, Parent.class, dbManager::getAllParents);
+                parentsChanged = true;
+            }
+        }
+        if (parentsChanged) {
+            parentList.repaint();
+            nameFilter.refresh();
+        }
+    }
 }
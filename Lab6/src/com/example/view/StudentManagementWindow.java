@@ -2,10 +2,19 @@ package com.example.view;
 
 import com.example.model.Parent;
 import com.example.model.Student;
+import com.example.util.DatabaseEvent;
 import com.example.util.DatabaseManager;
 
 import javax.swing.*;
+import javax.swing.table.TableColumn;
+import javax.swing.table.TableColumnModel;
 import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.List;
+import java.util.function.Consumer;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
 
 /**
  * Окно для управления студентами в системе.
@@ -13,24 +22,30 @@ import java.awt.*;
  */
 public class StudentManagementWindow extends JDialog {
     private DatabaseManager dbManager;
+    private DatabaseWriter writer;
+    private final Consumer<List<DatabaseEvent>> changeListener = this::databaseChanged;
     private JTextField nameField;
     private JTextField ageField;
     private JComboBox<String> genderCombo;
     private JComboBox<Parent> parentCombo;
-    private JList<Student> studentList;
-    private DefaultListModel<Student> listModel;
+    private DefaultComboBoxModel<Parent> parentModel;
+    private JTable studentTable;
+    private StudentTableModel tableModel;
+    private NameFilter nameFilter;
 
     /**
      * Создает новое окно для управления студентами.
      *
      * @param dbManager объект {@link DatabaseManager} для взаимодействия с базой данных.
+     * @param writer    фоновая запись изменений в файл базы данных.
      * @param parent    родительское окно {@link JFrame}, из которого вызывается это окно.
      */
-    public StudentManagementWindow(DatabaseManager dbManager, JFrame parent) {
+    public StudentManagementWindow(DatabaseManager dbManager, DatabaseWriter writer, JFrame parent) {
         super(parent, "Student Management", true);
         this.dbManager = dbManager;
+        this.writer = writer;
 
-        setSize(500, 600);
+        setSize(700, 600);
         setLocationRelativeTo(parent);
 
         JPanel mainPanel = new JPanel(new BorderLayout(10, 10));
@@ -42,7 +57,8 @@ public class StudentManagementWindow extends JDialog {
         nameField = new JTextField(20);
         ageField = new JTextField(20);
         genderCombo = new JComboBox<>(new String[]{"М", "Ж"});
-        parentCombo = new JComboBox<>(dbManager.getAllParents().toArray(new Parent[0]));
+        parentModel = new DefaultComboBoxModel<>(dbManager.getAllParents().toArray(new Parent[0]));
+        parentCombo = new JComboBox<>(parentModel);
 
         formPanel.add(new JLabel("Имя:"));
         formPanel.add(nameField);
@@ -65,15 +81,53 @@ public class StudentManagementWindow extends JDialog {
         buttonsPanel.add(deleteButton);
         buttonsPanel.add(clearButton);
 
-        // List Panel
-        listModel = new DefaultListModel<>();
-        dbManager.getAllStudents().forEach(listModel::addElement);
-        studentList = new JList<>(listModel);
-        JScrollPane scrollPane = new JScrollPane(studentList);
+        // Table Panel
+        // Модель загружает студентов постранично, только для видимых строк
+        tableModel = new StudentTableModel(dbManager);
+        studentTable = new JTable(tableModel);
+        studentTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        studentTable.getTableHeader().addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int column = studentTable.columnAtPoint(e.getPoint());
+                if (column >= 0) {
+                    Student selected = getSelectedStudent();
+                    tableModel.sortBy(studentTable.convertColumnIndexToModel(column));
+                    // Столбцы не пересоздаются, поэтому стрелка сортировки обновляется вручную
+                    TableColumnModel columns = studentTable.getColumnModel();
+                    for (int i = 0; i < columns.getColumnCount(); i++) {
+                        TableColumn tableColumn = columns.getColumn(i);
+                        tableColumn.setHeaderValue(tableModel.getColumnName(tableColumn.getModelIndex()));
+                    }
+                    studentTable.getTableHeader().repaint();
+                    selectStudent(selected);
+                }
+            }
+        });
+        JScrollPane scrollPane = new JScrollPane(studentTable);
+
+        // Search Panel
+        // Таблица постраничная, поэтому фильтр возвращает все совпадения, а не первую страницу
+        JTextField searchField = new JTextField(20);
+        JLabel foundLabel = new JLabel(" ");
+        JPanel searchPanel = new JPanel(new BorderLayout(5, 5));
+        searchPanel.add(new JLabel("Поиск:"), BorderLayout.WEST);
+        searchPanel.add(searchField, BorderLayout.CENTER);
+        searchPanel.add(foundLabel, BorderLayout.SOUTH);
+        nameFilter = new NameFilter(searchField, foundLabel, dbManager,
+                dbManager::getStudentNameIndex, Integer.MAX_VALUE,
+                (positions, total) -> {
+                    tableModel.setFilter(positions);
+                    foundLabel.setText(positions == null ? " " : NameFilter.describe(total, positions.length));
+                });
+
+        JPanel tablePanel = new JPanel(new BorderLayout(5, 5));
+        tablePanel.add(searchPanel, BorderLayout.NORTH);
+        tablePanel.add(scrollPane, BorderLayout.CENTER);
 
         // Add components to main panel
         mainPanel.add(formPanel, BorderLayout.NORTH);
-        mainPanel.add(scrollPane, BorderLayout.CENTER);
+        mainPanel.add(tablePanel, BorderLayout.CENTER);
         mainPanel.add(buttonsPanel, BorderLayout.SOUTH);
 
         // Add action listeners
@@ -82,15 +136,25 @@ public class StudentManagementWindow extends JDialog {
         deleteButton.addActionListener(e -> deleteStudent());
         clearButton.addActionListener(e -> clearFields());
 
-        studentList.addListSelectionListener(e -> {
+        studentTable.getSelectionModel().addListSelectionListener(e -> {
             if (!e.getValueIsAdjusting()) {
-                Student selected = studentList.getSelectedValue();
+                Student selected = getSelectedStudent();
                 if (selected != null) {
                     populateFields(selected);
                 }
             }
         });
 
+        // Пока окно открыто, списки обновляются по событиям базы данных
+        dbManager.addChangeListener(changeListener);
+        setDefaultCloseOperation(DISPOSE_ON_CLOSE);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                dbManager.removeChangeListener(changeListener);
+            }
+        });
+
         add(mainPanel);
         setVisible(true);
     }
@@ -108,8 +172,8 @@ public class StudentManagementWindow extends JDialog {
                         (Parent) parentCombo.getSelectedItem()
                 );
 
-                dbManager.addStudent(student);
-                listModel.addElement(student);
+                writer.execute(() -> dbManager.addStudent(student),
+                        () -> dbManager.removeStudent(dbManager.getStudentId(student)));
                 clearFields();
             } catch (NumberFormatException ex) {
                 JOptionPane.showMessageDialog(this,
@@ -159,19 +223,48 @@ public class StudentManagementWindow extends JDialog {
         JOptionPane.showMessageDialog(this, message, "Ошибка", JOptionPane.ERROR_MESSAGE);
     }
 
+    /**
+     * Возвращает студента из выделенной строки таблицы.
+     *
+     * @return выбранный студент или {@code null}, если ничего не выбрано.
+     */
+    private Student getSelectedStudent() {
+        int row = studentTable.getSelectedRow();
+        return row < 0 ? null : tableModel.getStudentAt(row);
+    }
+
+    private void selectStudent(Student student) {
+        int row = student == null ? -1 : tableModel.rowOf(student);
+        if (row >= 0) {
+            studentTable.setRowSelectionInterval(row, row);
+            studentTable.scrollRectToVisible(studentTable.getCellRect(row, 0, true));
+        }
+    }
+
     /**
      * Обновляет данные о выбранном студенте.
      */
     private void updateStudent() {
-        Student selected = studentList.getSelectedValue();
+        Student selected = getSelectedStudent();
         if (selected != null && validateFields()) {
-            selected.setName(nameField.getText());
-            selected.setAge(Integer.parseInt(ageField.getText()));
-            selected.setGender(genderCombo.getSelectedItem().toString());
-            selected.setParent((Parent) parentCombo.getSelectedItem());
+            String oldName = selected.getName();
+            int oldAge = selected.getAge();
+            String oldGender = selected.getGender();
+            Parent oldParent = selected.getParent();
 
-            studentList.repaint();
-            dbManager.saveData();
+            writer.execute(() -> {
+                selected.setName(nameField.getText());
+                selected.setAge(Integer.parseInt(ageField.getText()));
+                selected.setGender(genderCombo.getSelectedItem().toString());
+                selected.setParent((Parent) parentCombo.getSelectedItem());
+                dbManager.markModified(selected);
+            }, () -> {
+                selected.setName(oldName);
+                selected.setAge(oldAge);
+                selected.setGender(oldGender);
+                selected.setParent(oldParent);
+                dbManager.markModified(selected);
+            });
         }
     }
 
@@ -179,11 +272,11 @@ public class StudentManagementWindow extends JDialog {
      * Удаляет выбранного студента из базы данных и списка.
      */
     private void deleteStudent() {
-        Student selected = studentList.getSelectedValue();
+        Student selected = getSelectedStudent();
         if (selected != null) {
             int studentId = dbManager.getStudentId(selected);
-            dbManager.removeStudent(studentId);
-            listModel.removeElement(selected);
+            writer.execute(() -> dbManager.removeStudent(studentId),
+                    () -> dbManager.restoreStudent(studentId, selected));
             clearFields();
         }
     }
@@ -200,7 +293,7 @@ public class StudentManagementWindow extends JDialog {
         } catch (Exception e) {
             parentCombo.setSelectedIndex(-1);
         }
-        studentList.clearSelection();
+        studentTable.clearSelection();
     }
 
     /**
@@ -214,4 +307,37 @@ public class StudentManagementWindow extends JDialog {
         genderCombo.setSelectedItem(student.getGender());
         parentCombo.setSelectedItem(student.getParent());
     }
+
+    /**
+     * Применяет изменения базы данных к таблице студентов и списку родителей.
+     * Таблица перечитывает количество строк и порядок сортировки один раз на пакет событий,
+     * а выделенный студент остается выделенным.
+     *
+     * @param events пакет событий.
+     */
+    private void databaseChanged(List<DatabaseEvent> events) {
+        boolean studentsChanged = false;
+        boolean parentsChanged = false;
+        for (DatabaseEvent event : events) {
+            switch (event.entity()) {
+                case STUDENT -> studentsChanged = true;
+                case PARENT -> {
+                    ModelUpdater.apply(parentModel, event, Parent.class, dbManager::getAllParents);
+                    parentsChanged = true;
+                }
+                default -> {
+                }
+            }
+        }
+        if (studentsChanged || parentsChanged) {
+            // Столбец "Родитель" показывает имя родителя, поэтому его изменение тоже перечитывает таблицу
+            Student selected = getSelectedStudent();
+            tableModel.refresh();
+            selectStudent(selected);
+            parentCombo.repaint();
+        }
+        if (studentsChanged) {
+            nameFilter.refresh();
+        }
+    }
 }
@@ -0,0 +1,233 @@
+package com.example.view;
+
+import com.example.model.Parent;
+import com.example.model.Student;
+import com.example.util.DatabaseManager;
+import com.example.util.StudentTable;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Модель таблицы студентов, читающая данные из {@link DatabaseManager} постранично.
+ * <p>
+ * {@link javax.swing.JTable} запрашивает значения только для видимых строк, поэтому модель
+ * загружает страницу из {@link #PAGE_SIZE} студентов при первом обращении к ней и хранит
+ * не больше {@link #MAX_CACHED_PAGES} последних страниц. Сортировка выполняется по колоночному
+ * снимку {@link StudentTable} и хранится как перестановка позиций, а не как копия списка,
+ * вместе с обратной перестановкой для поиска строки студента.
+ * </p>
+ * <p>
+ * Фильтр ({@link #setFilter(int[])}) задается списком позиций студентов, например результатом
+ * поиска по {@link com.example.util.NameIndex}; сортировка тогда применяется только к ним.
+ * После изменения студентов в базе нужно вызвать {@link #refresh()}.
+ * </p>
+ */
+public class StudentTableModel extends AbstractTableModel {
+    /**
+     * Количество студентов на одной странице.
+     */
+    public static final int PAGE_SIZE = 256;
+
+    /**
+     * Максимальное количество страниц в кэше.
+     */
+    public static final int MAX_CACHED_PAGES = 32;
+
+    private static final String[] COLUMNS = {"Имя", "Возраст", "Пол", "Родитель", "Средняя оценка", "Премиальные"};
+    private static final Class<?>[] COLUMN_CLASSES = {String.class, Integer.class, String.class, String.class,
+            Double.class, Integer.class};
+
+    private final DatabaseManager dbManager;
+    private final Map<Integer, List<Student>> pages = new LinkedHashMap<>(MAX_CACHED_PAGES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<Student>> eldest) {
+            return size() > MAX_CACHED_PAGES;
+        }
+    };
+
+    private int rowCount;
+    private int sortColumn = -1;
+    private boolean ascending = true;
+    private int[] order;
+    private int[] rowByPosition;
+    private int[] filter;
+
+    /**
+     * Создает модель для студентов базы данных.
+     *
+     * @param dbManager база данных.
+     */
+    public StudentTableModel(DatabaseManager dbManager) {
+        this.dbManager = dbManager;
+        this.rowCount = dbManager.getStudentCount();
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        String name = COLUMNS[column];
+        if (column == sortColumn) {
+            name += ascending ? " ▲" : " ▼";
+        }
+        return name;
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return COLUMN_CLASSES[column];
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        Student student = getStudentAt(row);
+        return switch (column) {
+            case 0 -> student.getName();
+            case 1 -> student.getAge();
+            case 2 -> student.getGender();
+            case 3 -> student.getParent() == null ? "" : student.getParent().getName();
+            case 4 -> student.getAverageGrade();
+            case 5 -> student.getBonus();
+            default -> null;
+        };
+    }
+
+    /**
+     * Возвращает студента, показанного в строке таблицы.
+     *
+     * @param row номер строки с учетом сортировки.
+     * @return студент.
+     */
+    public Student getStudentAt(int row) {
+        int pageNumber = row / PAGE_SIZE;
+        List<Student> page = pages.get(pageNumber);
+        if (page == null) {
+            page = loadPage(pageNumber);
+            pages.put(pageNumber, page);
+        }
+        return page.get(row % PAGE_SIZE);
+    }
+
+    /**
+     * Находит строку таблицы, в которой показан студент.
+     *
+     * @param student студент.
+     * @return номер строки или -1, если студент не найден.
+     */
+    public int rowOf(Student student) {
+        int index = dbManager.getStudentId(student) - 1;
+        if (index < 0 || order == null) {
+            return index;
+        }
+        return index < rowByPosition.length ? rowByPosition[index] : -1;
+    }
+
+    private List<Student> loadPage(int pageNumber) {
+        int from = pageNumber * PAGE_SIZE;
+        int to = Math.min(from + PAGE_SIZE, rowCount);
+        if (order == null) {
+            return dbManager.getStudents(from, to);
+        }
+        return dbManager.getStudents(Arrays.copyOfRange(order, from, to));
+    }
+
+    /**
+     * Сортирует таблицу по столбцу. Повторный вызов для того же столбца меняет направление.
+     * Столбцы таблицы не пересоздаются, поэтому заголовок с направлением сортировки
+     * ({@link #getColumnName(int)}) нужно обновить в самой таблице.
+     *
+     * @param column номер столбца.
+     */
+    public void sortBy(int column) {
+        ascending = column != sortColumn || !ascending;
+        sortColumn = column;
+        updateOrder();
+        pages.clear();
+        fireTableDataChanged();
+    }
+
+    /**
+     * Показывает только студентов с указанными позициями.
+     *
+     * @param positions позиции студентов (ID - 1) в порядке показа или {@code null}, чтобы показать всех.
+     */
+    public void setFilter(int[] positions) {
+        filter = positions;
+        refresh();
+    }
+
+    /**
+     * Перечитывает количество студентов и порядок сортировки после изменения базы данных.
+     */
+    public void refresh() {
+        int count = dbManager.getStudentCount();
+        if (filter != null) {
+            // Позиции удаленных студентов отбрасываются до обновления фильтра
+            filter = Arrays.stream(filter).filter(position -> position < count).toArray();
+        }
+        rowCount = filter == null ? count : filter.length;
+        updateOrder();
+        pages.clear();
+        fireTableDataChanged();
+    }
+
+    private void updateOrder() {
+        order = buildOrder();
+        if (order == null) {
+            rowByPosition = null;
+            return;
+        }
+        rowByPosition = new int[dbManager.getStudentCount()];
+        Arrays.fill(rowByPosition, -1);
+        for (int row = 0; row < order.length; row++) {
+            rowByPosition[order[row]] = row;
+        }
+    }
+
+    private int[] buildOrder() {
+        if (sortColumn < 0) {
+            return filter;
+        }
+        StudentTable table = dbManager.getStudentTable();
+        Comparator<Integer> comparator = switch (sortColumn) {
+            case 0 -> Comparator.comparing(table::getName, Comparator.nullsFirst(Comparator.naturalOrder()));
+            case 1 -> Comparator.comparingInt(table::getAge);
+            case 2 -> Comparator.comparing(table::getGender, Comparator.nullsFirst(Comparator.naturalOrder()));
+            case 3 -> Comparator.comparing(row -> parentName(table.getParent(row)));
+            case 4 -> Comparator.comparingDouble(table::getAverageGrade);
+            default -> Comparator.comparingInt(table::getBonus);
+        };
+        if (!ascending) {
+            comparator = comparator.reversed();
+        }
+
+        Integer[] rows = new Integer[filter == null ? table.size() : filter.length];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = filter == null ? i : filter[i];
+        }
+        Arrays.sort(rows, comparator);
+
+        int[] result = new int[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            result[i] = rows[i];
+        }
+        return result;
+    }
+
+    private static String parentName(Parent parent) {
+        return parent == null ? "" : parent.getName();
+    }
+}
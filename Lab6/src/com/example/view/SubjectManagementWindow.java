@@ -1,12 +1,17 @@
 package com.example.view;
 
 import com.example.model.Subject;
+import com.example.util.DatabaseEvent;
 import com.example.util.DatabaseManager;
 import com.example.util.NameVerifier;
 import com.example.util.ValidationUtils;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Окно для управления предметами.
@@ -14,6 +19,8 @@ import java.awt.*;
  */
 public class SubjectManagementWindow extends JDialog {
     private DatabaseManager dbManager;
+    private DatabaseWriter writer;
+    private final Consumer<List<DatabaseEvent>> changeListener = this::databaseChanged;
     private JTextField nameField;
     private JList<Subject> subjectList;
     private DefaultListModel<Subject> listModel;
@@ -22,11 +29,13 @@ public class SubjectManagementWindow extends JDialog {
      * Создает новое окно для управления предметами.
      *
      * @param dbManager объект {@link DatabaseManager} для взаимодействия с базой данных.
+     * @param writer    фоновая запись изменений в файл базы данных.
      * @param parent    родительское окно {@link JFrame}, из которого вызывается это окно.
      */
-    public SubjectManagementWindow(DatabaseManager dbManager, JFrame parent) {
+    public SubjectManagementWindow(DatabaseManager dbManager, DatabaseWriter writer, JFrame parent) {
         super(parent, "Subject Management", true);
         this.dbManager = dbManager;
+        this.writer = writer;
 
         setSize(350, 400);
         setLocationRelativeTo(parent);
@@ -80,6 +89,16 @@ public class SubjectManagementWindow extends JDialog {
             }
         });
 
+        // Пока окно открыто, списки обновляются по событиям базы данных
+        dbManager.addChangeListener(changeListener);
+        setDefaultCloseOperation(DISPOSE_ON_CLOSE);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                dbManager.removeChangeListener(changeListener);
+            }
+        });
+
         add(mainPanel);
         setVisible(true);
     }
@@ -90,8 +109,8 @@ public class SubjectManagementWindow extends JDialog {
     private void addSubject() {
         if (validateFields()) {
             Subject subject = new Subject(nameField.getText());
-            dbManager.addSubject(subject);
-            listModel.addElement(subject);
+            writer.execute(() -> dbManager.addSubject(subject),
+                    () -> dbManager.removeSubject(dbManager.getSubjectId(subject)));
             clearFields();
         }
     }
@@ -115,10 +134,15 @@ public class SubjectManagementWindow extends JDialog {
     private void updateSubject() {
         Subject selected = subjectList.getSelectedValue();
         if (selected != null && validateFields()) {
-            selected.setName(nameField.getText());
-
-            subjectList.repaint();
-            dbManager.saveData();
+            String oldName = selected.getName();
+
+            writer.execute(() -> {
+                selected.setName(nameField.getText());
+                dbManager.markModified(selected);
+            }, () -> {
+                selected.setName(oldName);
+                dbManager.markModified(selected);
+            });
         }
     }
 
@@ -129,8 +153,8 @@ public class SubjectManagementWindow extends JDialog {
         Subject selected = subjectList.getSelectedValue();
         if (selected != null) {
             int subjectId = dbManager.getSubjectId(selected);
-            dbManager.removeSubject(subjectId);
-            listModel.removeElement(selected);
+            writer.execute(() -> dbManager.removeSubject(subjectId),
+                    () -> dbManager.restoreSubject(subjectId, selected));
             clearFields();
         }
     }
@@ -160,4 +184,17 @@ public class SubjectManagementWindow extends JDialog {
     private void showError(String message) {
         JOptionPane.showMessageDialog(this, message, "Ошибка", JOptionPane.ERROR_MESSAGE);
     }
-}
\ No newline at end of file
+
+    /**
+     * Применяет изменения базы данных к списку предметов.
+     *
+     * @param events пакет событий.
+     */
+    private void databaseChanged(List<DatabaseEvent> events) {
+        for (DatabaseEvent event : events) {
+            if (event.entity() == DatabaseEvent.Entity.SUBJECT) {
+                ModelUpdater.apply(listModel, event, Subject.class, dbManager::getAllSubjects);
+            }
+        }
+    }
+}
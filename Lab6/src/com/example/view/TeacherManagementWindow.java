@@ -2,33 +2,49 @@ package com.example.view;
 
 import com.example.model.Subject;
 import com.example.model.Teacher;
+import com.example.util.DatabaseEvent;
 import com.example.util.DatabaseManager;
 import com.example.util.NameVerifier;
 import com.example.util.ValidationUtils;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Окно для управления преподавателями.
  * Предоставляет функции добавления, обновления, удаления и просмотра данных о преподавателях.
  */
 public class TeacherManagementWindow extends JDialog {
+    /**
+     * Максимальное количество записей, показываемых по запросу поиска.
+     */
+    private static final int FILTER_LIMIT = 500;
+
     private DatabaseManager dbManager;
+    private DatabaseWriter writer;
+    private final Consumer<List<DatabaseEvent>> changeListener = this::databaseChanged;
     private JTextField nameField;
     private JComboBox<Subject> subjectCombo;
+    private DefaultComboBoxModel<Subject> subjectModel;
     private JList<Teacher> teacherList;
     private DefaultListModel<Teacher> listModel;
+    private NameFilter nameFilter;
 
     /**
      * Создает новое окно для управления преподавателями.
      *
      * @param dbManager объект {@link DatabaseManager} для взаимодействия с базой данных.
+     * @param writer    фоновая запись изменений в файл базы данных.
      * @param parent    родительское окно {@link JFrame}, из которого вызывается это окно.
      */
-    public TeacherManagementWindow(DatabaseManager dbManager, JFrame parent) {
+    public TeacherManagementWindow(DatabaseManager dbManager, DatabaseWriter writer, JFrame parent) {
         super(parent, "Teacher Management", true);
         this.dbManager = dbManager;
+        this.writer = writer;
 
         setSize(400, 500);
         setLocationRelativeTo(parent);
@@ -41,7 +57,8 @@ public class TeacherManagementWindow extends JDialog {
 
         nameField = new JTextField(20);
         nameField.setInputVerifier(new NameVerifier());
-        subjectCombo = new JComboBox<>(dbManager.getAllSubjects().toArray(new Subject[0]));
+        subjectModel = new DefaultComboBoxModel<>(dbManager.getAllSubjects().toArray(new Subject[0]));
+        subjectCombo = new JComboBox<>(subjectModel);
 
         formPanel.add(new JLabel("Имя:"));
         formPanel.add(nameField);
@@ -66,8 +83,33 @@ public class TeacherManagementWindow extends JDialog {
         teacherList = new JList<>(listModel);
         JScrollPane scrollPane = new JScrollPane(teacherList);
 
+        // Search Panel
+        JTextField searchField = new JTextField(20);
+        JLabel foundLabel = new JLabel(" ");
+        JPanel searchPanel = new JPanel(new BorderLayout(5, 5));
+        searchPanel.add(new JLabel("Поиск:"), BorderLayout.WEST);
+        searchPanel.add(searchField, BorderLayout.CENTER);
+        searchPanel.add(foundLabel, BorderLayout.SOUTH);
+        nameFilter = new NameFilter(searchField, foundLabel, dbManager,
+                dbManager::getTeacherNameIndex, FILTER_LIMIT,
+                (positions, total) -> {
+                    if (positions == null) {
+                        teacherList.setModel(listModel);
+                        foundLabel.setText(" ");
+                    } else {
+                        DefaultListModel<Teacher> found = new DefaultListModel<>();
+                        found.addAll(dbManager.getTeachers(positions));
+                        teacherList.setModel(found);
+                        foundLabel.setText(NameFilter.describe(total, positions.length));
+                    }
+                });
+
+        JPanel listPanel = new JPanel(new BorderLayout(5, 5));
+        listPanel.add(searchPanel, BorderLayout.NORTH);
+        listPanel.add(scrollPane, BorderLayout.CENTER);
+
         mainPanel.add(formPanel, BorderLayout.NORTH);
-        mainPanel.add(scrollPane, BorderLayout.CENTER);
+        mainPanel.add(listPanel, BorderLayout.CENTER);
         mainPanel.add(buttonsPanel, BorderLayout.SOUTH);
 
         // Add action listeners
@@ -85,6 +127,16 @@ public class TeacherManagementWindow extends JDialog {
             }
         });
 
+        // Пока окно открыто, списки обновляются по событиям базы данных
+        dbManager.addChangeListener(changeListener);
+        setDefaultCloseOperation(DISPOSE_ON_CLOSE);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                dbManager.removeChangeListener(changeListener);
+            }
+        });
+
         add(mainPanel);
         setVisible(true);
     }
@@ -99,8 +151,8 @@ public class TeacherManagementWindow extends JDialog {
                     (Subject) subjectCombo.getSelectedItem()
             );
 
-            dbManager.addTeacher(teacher);
-            listModel.addElement(teacher);
+            writer.execute(() -> dbManager.addTeacher(teacher),
+                    () -> dbManager.removeTeacher(dbManager.getTeacherId(teacher)));
             clearFields();
         }
     }
@@ -130,11 +182,18 @@ public class TeacherManagementWindow extends JDialog {
     private void updateTeacher() {
         Teacher selected = teacherList.getSelectedValue();
         if (selected != null && validateFields()) {
-            selected.setName(nameField.getText());
-            selected.setSubject((Subject) subjectCombo.getSelectedItem());
+            String oldName = selected.getName();
+            Subject oldSubject = selected.getSubject();
 
-            teacherList.repaint();
-            dbManager.saveData();
+            writer.execute(() -> {
+                selected.setName(nameField.getText());
+                selected.setSubject((Subject) subjectCombo.getSelectedItem());
+                dbManager.markModified(selected);
+            }, () -> {
+                selected.setName(oldName);
+                selected.setSubject(oldSubject);
+                dbManager.markModified(selected);
+            });
         }
     }
 
@@ -145,8 +204,8 @@ public class TeacherManagementWindow extends JDialog {
         Teacher selected = teacherList.getSelectedValue();
         if (selected != null) {
             int teacherId = dbManager.getTeacherId(selected);
-            dbManager.removeTeacher(teacherId);
-            listModel.removeElement(selected);
+            writer.execute(() -> dbManager.removeTeacher(teacherId),
+                    () -> dbManager.restoreTeacher(teacherId, selected));
             clearFields();
         }
     }
@@ -182,4 +241,30 @@ public class TeacherManagementWindow extends JDialog {
     private void showError(String message) {
         JOptionPane.showMessageDialog(this, message, "Ошибка", JOptionPane.ERROR_MESSAGE);
     }
-}
\ No newline at end of file
+
+    /**
+     * Применяет изменения базы данных к списку преподавателей и списку предметов.
+     *
+     * @param events пакет событий.
+     */
+    private void databaseChanged(List<DatabaseEvent> events) {
+        boolean teachersChanged = false;
+        for (DatabaseEvent event : events) {
+            switch (event.entity()) {
+                case TEACHER -> {
+                    ModelUpdater.apply(listModel, event, Teacher.class, dbManager::getAllTeachers);
+                    teachersChanged = true;
+                }
+                case SUBJECT -> ModelUpdater.apply(subjectModel, event, Subject.class, dbManager::getAllSubjects);
+                default -> {
+                }
+            }
+        }
+        // Строки преподавателей содержат название предмета, а результаты поиска — отдельная модель
+        teacherList.repaint();
+        subjectCombo.repaint();
+        if (teachersChanged) {
+            nameFilter.refresh();
+        }
+    }
+}
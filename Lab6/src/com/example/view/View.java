@@ -5,11 +5,20 @@ import com.example.model.Parent;
 import com.example.model.Student;
 import com.example.model.Subject;
 import com.example.model.Teacher;
+import com.example.test.FootprintReport;
+import com.example.test.GradeAnalyticsBenchmark;
 import com.example.test.TestDb;
+import com.example.test.NameIndexBenchmark;
+import com.example.test.ValidationBenchmark;
+import com.example.util.BulkExporter;
+import com.example.util.BulkImporter;
 import com.example.util.DatabaseManager;
+import com.example.util.ImportResult;
 import com.example.util.Logger;
 import com.example.util.PropertiesReader;
+import com.example.util.ValidationError;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Scanner;
 
@@ -29,7 +38,7 @@ public class View {
     }
 
     public void showStartMessage(){
-        if (property.getProperty("autotests").equals("true")) {
+        if (property.getSettings().isAutotests()) {
             testDb.startTests();
         }
         logger.logInfo("Программа стартует с логином " + property.getProperty("login"));
@@ -43,9 +52,16 @@ public class View {
             System.out.println("2. Управление преподавателями");
             System.out.println("3. Управление родителями");
             System.out.println("4. Управление студентами");
-            if (property.getProperty("group").equals("root")){
+            if (property.getSettings().isRoot()){
                 System.out.println("5. Отладка");
                 System.out.println("6. Автотесты");
+                System.out.println("7. Отчет о расходе памяти");
+                System.out.println("8. Бенчмарк аналитики оценок");
+                System.out.println("9. Импорт данных из файла");
+                System.out.println("10. Экспорт данных в файл");
+                System.out.println("11. Бенчмарк проверки данных");
+                System.out.println("12. Бенчмарк поиска по имени");
+                System.out.println("13. Метрики базы данных");
             }
             System.out.println("0. Выход");
 
@@ -66,19 +82,68 @@ public class View {
                     showStudentMenu();
                     break;
                 case "5":
-                    if (property.getProperty("group").equals("root")){
+                    if (property.getSettings().isRoot()){
                         property.switchDebug();
                     } else {
                         System.out.println("Неверный выбор. Попробуйте снова.");
                     }
                     break;
                 case "6":
-                    if (property.getProperty("group").equals("root")){
+                    if (property.getSettings().isRoot()){
                         testDb.startTests();
                     } else {
                         System.out.println("Неверный выбор. Попробуйте снова.");
                     }
                     break;
+                case "7":
+                    if (property.getSettings().isRoot()){
+                        new FootprintReport(logger).run(1_000_000);
+                    } else {
+                        System.out.println("Неверный выбор. Попробуйте снова.");
+                    }
+                    break;
+                case "8":
+                    if (property.getSettings().isRoot()){
+                        new GradeAnalyticsBenchmark(logger).run(1_000_000);
+                    } else {
+                        System.out.println("Неверный выбор. Попробуйте снова.");
+                    }
+                    break;
+                case "9":
+                    if (property.getSettings().isRoot()){
+                        importData();
+                    } else {
+                        System.out.println("Неверный выбор. Попробуйте снова.");
+                    }
+                    break;
+                case "10":
+                    if (property.getSettings().isRoot()){
+                        exportData();
+                    } else {
+                        System.out.println("Неверный выбор. Попробуйте снова.");
+                    }
+                    break;
+                case "11":
+                    if (property.getSettings().isRoot()){
+                        new ValidationBenchmark(logger).run(1_000_000);
+                    } else {
+                        System.out.println("Неверный выбор. Попробуйте снова.");
+                    }
+                    break;
+                case "12":
+                    if (property.getSettings().isRoot()){
+                        new NameIndexBenchmark(logger).run(1_000_000);
+                    } else {
+                        System.out.println("Неверный выбор. Попробуйте снова.");
+                    }
+                    break;
+                case "13":
+                    if (property.getSettings().isRoot()){
+                        System.out.println(dbManager.getMetrics().report());
+                    } else {
+                        System.out.println("Неверный выбор. Попробуйте снова.");
+                    }
+                    break;
                 case "0":
                     logger.logInfo("Программа завершает свою работу");
                     return;
@@ -88,6 +153,34 @@ public class View {
         }
     }
 
+    // Массовый импорт и экспорт
+    private void importData() {
+        System.out.print("Введите путь к файлу (.csv или .ndjson): ");
+        String path = scanner.nextLine();
+        try {
+            ImportResult result = new BulkImporter(dbManager, logger).importFile(path);
+            System.out.println(result);
+            for (ValidationError error : result.errors()) {
+                System.out.println(error);
+            }
+        } catch (IOException e) {
+            System.out.println("Ошибка при импорте данных: " + e.getMessage());
+            logger.logError("Ошибка при импорте данных: " + e.getMessage());
+        }
+    }
+
+    private void exportData() {
+        System.out.print("Введите путь к файлу (.csv или .ndjson): ");
+        String path = scanner.nextLine();
+        try {
+            long count = new BulkExporter(dbManager, logger).exportFile(path);
+            System.out.println("Экспортировано записей: " + count);
+        } catch (IOException e) {
+            System.out.println("Ошибка при экспорте данных: " + e.getMessage());
+            logger.logError("Ошибка при экспорте данных: " + e.getMessage());
+        }
+    }
+
     // Меню предметов
     private void showSubjectMenu() {
         while (true) {
@@ -515,7 +608,9 @@ public class View {
             int[] grades = getGradesInput();
 
             Controller controller = new Controller(logger);
-            controller.assignGrades(teacher, student, grades);
+            if (controller.assignGrades(teacher, student, grades)) {
+                dbManager.recordGrades(student, teacher, grades);
+            }
 
             dbManager.updateStudent(studentId, student);
             System.out.println("Оценки успешно выставлены.");
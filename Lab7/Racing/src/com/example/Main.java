@@ -5,6 +5,8 @@ import com.example.model.RaceModel;
 import com.example.view.RaceView;
 
 import javax.swing.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 
 /**
  * Главный класс приложения для запуска гонок кнопок.
@@ -12,12 +14,26 @@ import javax.swing.*;
  */
 public class Main {
     public static void main(String[] args) {
+        // Метки для замера времени запуска (см. README, раздел про AppCDS)
+        boolean benchmark = Boolean.getBoolean("startup.benchmark");
+        if (benchmark) {
+            System.out.println("STARTUP main=" + System.currentTimeMillis());
+        }
         SwingUtilities.invokeLater(() -> {
             RaceModel model = new RaceModel(5, 700); // 5 кнопок, трек шириной 700
             RaceView view = new RaceView(model);
             RaceController controller = new RaceController(model, view);
 
             view.setController(controller);
+            if (benchmark) {
+                view.addWindowListener(new WindowAdapter() {
+                    @Override
+                    public void windowOpened(WindowEvent e) {
+                        System.out.println("STARTUP window=" + System.currentTimeMillis());
+                        System.exit(0);
+                    }
+                });
+            }
             view.setVisible(true);
 
             // Автоматический старт первой гонки